@@ -40,6 +40,10 @@
 package org.eclipse.ecsp.serializer;
 
 import org.eclipse.ecsp.entities.IgniteBlobEvent;
+import org.eclipse.ecsp.transform.buffer.PooledBuffer;
+import org.eclipse.ecsp.transform.buffer.SerializationBufferPool;
+
+import java.nio.ByteBuffer;
 
 /**
  * This Interface provides methods for IngestionSerialization.
@@ -55,6 +59,22 @@ public interface IngestionSerializer {
      */
     byte[] serialize(IgniteBlobEvent obj);
 
+    /**
+     * Serialize the given IgniteBlobEvent object into a buffer leased from the given pool. The caller releases
+     * the returned buffer once its bytes have been sent. The default implementation copies the byte[] returned
+     * by {@link #serialize(IgniteBlobEvent)}.
+     *
+     * @param obj the IgniteBlobEvent obj
+     * @param pool the SerializationBufferPool the buffer is leased from
+     * @return the PooledBuffer holding the serialized object
+     */
+    default PooledBuffer serialize(IgniteBlobEvent obj, SerializationBufferPool pool) {
+        byte[] bytes = serialize(obj);
+        PooledBuffer buffer = pool.acquire(bytes.length);
+        buffer.write(bytes, 0, bytes.length);
+        return buffer;
+    }
+
     /**
      * Deserialize the given byte array into IgniteBlobEvent.
      *
@@ -63,6 +83,20 @@ public interface IngestionSerializer {
      */
     IgniteBlobEvent deserialize(byte[] b);
 
+    /**
+     * Deserialize the remaining bytes of the given buffer into IgniteBlobEvent, heap, direct and memory-mapped
+     * buffers alike. The position of the given buffer is not modified. The default implementation copies the
+     * bytes into an array and delegates to {@link #deserialize(byte[])}.
+     *
+     * @param buffer the ByteBuffer
+     * @return the IgniteBlobEvent
+     */
+    default IgniteBlobEvent deserialize(ByteBuffer buffer) {
+        byte[] b = new byte[buffer.remaining()];
+        buffer.duplicate().get(b);
+        return deserialize(b);
+    }
+
     /**
      * Checks if the given byte array is serialized.
      *
@@ -39,8 +39,11 @@
 
 package org.eclipse.ecsp.serializer;
 
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import org.eclipse.ecsp.entities.IgniteBlobEvent;
 import org.eclipse.ecsp.entities.IgniteDeviceAwareBlobEvent;
+import org.eclipse.ecsp.transform.buffer.PooledBuffer;
+import org.eclipse.ecsp.transform.buffer.SerializationBufferPool;
 import org.eclipse.ecsp.utils.logger.IgniteLogger;
 import org.eclipse.ecsp.utils.logger.IgniteLoggerFactory;
 import org.nustaq.serialization.FSTConfiguration;
@@ -50,6 +53,7 @@ import org.springframework.util.ObjectUtils;
 
 import java.io.IOException;
 import java.io.ObjectStreamConstants;
+import java.nio.ByteBuffer;
 import java.util.Properties;
 
 /**
@@ -171,75 +175,137 @@ public class IngestionSerializerFstImpl implements IngestionSerializer {
         return new byte[0];
     }
 
+    /**
+     * Serialize the given IgniteBlobEvent obj into a buffer leased from the given pool. The bytes are copied
+     * from the reused buffer of the FSTObjectOutput into the lease, no byte[] is allocated for the event.
+     *
+     * @param obj the obj
+     * @param pool the SerializationBufferPool the buffer is leased from
+     * @return the PooledBuffer holding the serialized obj, to be released by the caller
+     */
+    @Override
+    public PooledBuffer serialize(IgniteBlobEvent obj, SerializationBufferPool pool) {
+        FSTObjectOutput objectOutput = conf.getObjectOutput();
+        try {
+            // Add the magic bytes in output stream.
+            objectOutput.write(STREAM_MAGIC_IN_BYTES);
+            objectOutput.writeObject(obj);
+            PooledBuffer buffer = pool.acquire(objectOutput.getWritten());
+            buffer.write(objectOutput.getBuffer(), 0, objectOutput.getWritten());
+            return buffer;
+        } catch (IOException e) {
+            FSTUtil.<RuntimeException>rethrow(e);
+        }
+        return null;
+    }
+
     /**
      * Deserialize the given byte array.
      *
      * @param b the byte array
      * @return the IgniteBlobEvent object
      */
-    @SuppressWarnings("checkstyle:CyclomaticComplexity")
     @Override
     public IgniteBlobEvent deserialize(byte[] b) {
         try {
             // discard the first two magic bytes from input stream.
-            loadProperties();
-            boolean deviceAwareEnableFlag = Boolean.parseBoolean((String) properties.get(DEVICE_AWARE_ENABLED));
-            Object object = (Object) conf.getObjectInputCopyFrom(b, STREAM_MAGIC_BYTES_LEN, 
-                    b.length - STREAM_MAGIC_BYTES_LEN).readObject();
+            return toIgniteBlobEvent(conf.getObjectInputCopyFrom(b, STREAM_MAGIC_BYTES_LEN,
+                    b.length - STREAM_MAGIC_BYTES_LEN).readObject());
+        } catch (Exception e) {
+            FSTUtil.<RuntimeException>rethrow(e);
+        }
+        return null;
+    }
 
-            if (object instanceof org.eclipse.ecsp.entities.IgniteBlobEvent) {
-                return (IgniteBlobEvent) object;
-            } 
-            if (object instanceof org.eclipse.ecsp.entities.IgniteDeviceAwareBlobEvent) {
-                return (IgniteDeviceAwareBlobEvent) object;
-            } else if (object != null && object.getClass().getName().startsWith(STUB_ENTITIES_PREFIX)) {
-                // Map stub to real class and copy fields using reflection
-                org.eclipse.ecsp.entities.IgniteBlobEvent real;
-                if (deviceAwareEnableFlag) {
-                    real = new org.eclipse.ecsp.entities.IgniteDeviceAwareBlobEvent(null, null);
-                } else {
-                    real = new org.eclipse.ecsp.entities.IgniteBlobEvent();
-                }
-                try {
-                    java.lang.reflect.Method[] getters = object.getClass().getMethods();
-                    java.lang.reflect.Method[] setters = real.getClass().getMethods();
-                    for (java.lang.reflect.Method getter : getters) {
-                        String name = getter.getName();
-                        if ((name.startsWith("get") || name.startsWith("is")) 
-                                && getter.getParameterCount() == 0 
-                                && !getter.getReturnType().equals(void.class)) {
-                            Object value = getter.invoke(object);
-                            // Recursively map nested stubs for both .entities and .domain
-                            if (value != null) {
-                                String valueClassName = value.getClass().getName();
-                                if (valueClassName.startsWith(STUB_ENTITIES_PREFIX) 
-                                        || valueClassName.startsWith(STUB_DOMAIN_PREFIX)) {
-                                    value = deepMapToRealClass(value);
-                                }
+    /**
+     * Deserialize the remaining bytes of the given buffer. The bytes of a heap buffer are read from its backing
+     * array as by {@link #deserialize(byte[])}, without copying the region into an array of its own first. A
+     * direct or memory-mapped buffer is read through a stream, which the FSTObjectInput copies into its reused
+     * internal buffer, so no byte[] is allocated for the event either way. The position of the given buffer is
+     * not modified.
+     *
+     * @param buffer the ByteBuffer
+     * @return the IgniteBlobEvent object
+     */
+    @Override
+    public IgniteBlobEvent deserialize(ByteBuffer buffer) {
+        try {
+            // discard the first two magic bytes from input stream.
+            if (buffer.hasArray()) {
+                return toIgniteBlobEvent(conf.getObjectInputCopyFrom(buffer.array(),
+                        buffer.arrayOffset() + buffer.position() + STREAM_MAGIC_BYTES_LEN,
+                        buffer.remaining() - STREAM_MAGIC_BYTES_LEN).readObject());
+            }
+            ByteBuffer serialized = buffer.duplicate();
+            serialized.position(serialized.position() + STREAM_MAGIC_BYTES_LEN);
+            return toIgniteBlobEvent(conf.getObjectInput(new ByteBufferBackedInputStream(serialized)).readObject());
+        } catch (Exception e) {
+            FSTUtil.<RuntimeException>rethrow(e);
+        }
+        return null;
+    }
+
+    /**
+     * Converts the deserialized object to IgniteBlobEvent, mapping the stub entities to the real ones.
+     *
+     * @param object the deserialized object
+     * @return the IgniteBlobEvent object, null if the object is not a blob event
+     * @throws Exception if a stub entity cannot be mapped
+     */
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    private IgniteBlobEvent toIgniteBlobEvent(Object object) throws Exception {
+        loadProperties();
+        boolean deviceAwareEnableFlag = Boolean.parseBoolean((String) properties.get(DEVICE_AWARE_ENABLED));
+        if (object instanceof org.eclipse.ecsp.entities.IgniteBlobEvent) {
+            return (IgniteBlobEvent) object;
+        } 
+        if (object instanceof org.eclipse.ecsp.entities.IgniteDeviceAwareBlobEvent) {
+            return (IgniteDeviceAwareBlobEvent) object;
+        } else if (object != null && object.getClass().getName().startsWith(STUB_ENTITIES_PREFIX)) {
+            // Map stub to real class and copy fields using reflection
+            org.eclipse.ecsp.entities.IgniteBlobEvent real;
+            if (deviceAwareEnableFlag) {
+                real = new org.eclipse.ecsp.entities.IgniteDeviceAwareBlobEvent(null, null);
+            } else {
+                real = new org.eclipse.ecsp.entities.IgniteBlobEvent();
+            }
+            try {
+                java.lang.reflect.Method[] getters = object.getClass().getMethods();
+                java.lang.reflect.Method[] setters = real.getClass().getMethods();
+                for (java.lang.reflect.Method getter : getters) {
+                    String name = getter.getName();
+                    if ((name.startsWith("get") || name.startsWith("is")) 
+                            && getter.getParameterCount() == 0 
+                            && !getter.getReturnType().equals(void.class)) {
+                        Object value = getter.invoke(object);
+                        // Recursively map nested stubs for both .entities and .domain
+                        if (value != null) {
+                            String valueClassName = value.getClass().getName();
+                            if (valueClassName.startsWith(STUB_ENTITIES_PREFIX) 
+                                    || valueClassName.startsWith(STUB_DOMAIN_PREFIX)) {
+                                value = deepMapToRealClass(value);
                             }
-                            String setterName = name.startsWith("is") 
-                                    ? "set" + name.substring(TWO) : "set" + name.substring(THREE);
-                            for (java.lang.reflect.Method setter : setters) {
-                                if (setter.getName().equals(setterName) && setter.getParameterCount() == 1) {
-                                    try {
-                                        setter.invoke(real, value);
-                                    } catch (Exception ignore) {
-                                        // Ignore any exception during setter invocation, continue with next field
-                                        LOGGER.debug("Failed to invoke setter: " + setterName + " for value: " + value);
-                                    }
-                                    break;
+                        }
+                        String setterName = name.startsWith("is") 
+                                ? "set" + name.substring(TWO) : "set" + name.substring(THREE);
+                        for (java.lang.reflect.Method setter : setters) {
+                            if (setter.getName().equals(setterName) && setter.getParameterCount() == 1) {
+                                try {
+                                    setter.invoke(real, value);
+                                } catch (Exception ignore) {
+                                    // Ignore any exception during setter invocation, continue with next field
+                                    LOGGER.debug("Failed to invoke setter: " + setterName + " for value: " + value);
                                 }
+                                break;
                             }
                         }
                     }
-                } catch (Exception e) {
-                    LOGGER.error("Error mapping stub to real class during FST deserialization", e);
-                    throw e;
                 }
-                return real;
+            } catch (Exception e) {
+                LOGGER.error("Error mapping stub to real class during FST deserialization", e);
+                throw e;
             }
-        } catch (Exception e) {
-            FSTUtil.<RuntimeException>rethrow(e);
+            return real;
         }
         return null;
     }
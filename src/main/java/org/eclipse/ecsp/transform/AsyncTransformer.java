@@ -0,0 +1,304 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEventBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous facade over a {@link Transformer}.
+ *
+ * <p>
+ * Each decode or encode is submitted as a task of its own to an executor, a virtual-thread-per-task executor or a
+ * bounded pool of platform threads, and its result is returned as a CompletableFuture. The number of operations
+ * in flight is bounded: once the maximum is reached, the threads submitting new operations block until one of
+ * the operations in flight completes, so that producers are slowed down rather than queuing work without bound.
+ * The number of completed and failed operations and the time spent running them are counted for monitoring.
+ * </p>
+ *
+ * <p>
+ * The transformer has to be safe for concurrent use, as the JSON transformers are once initialized.
+ * </p>
+ */
+public class AsyncTransformer implements AutoCloseable {
+
+    /** The Constant LOGGER. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncTransformer.class);
+
+    /** The transformer the operations are delegated to. */
+    private final Transformer transformer;
+
+    /** The executor the operations run on. */
+    private final Executor executor;
+
+    /** Suggests whether the executor was created by this facade and is shut down when it is closed. */
+    private final boolean ownsExecutor;
+
+    /** The permits of the operations in flight. */
+    private final Semaphore inFlightPermits;
+
+    /** The maximum number of operations in flight. */
+    private final int maxInFlight;
+
+    /** The number of operations completed successfully. */
+    private final LongAdder completed = new LongAdder();
+
+    /** The number of operations which failed. */
+    private final LongAdder failed = new LongAdder();
+
+    /** The time spent running the operations, in nanoseconds. */
+    private final LongAdder busyNanos = new LongAdder();
+
+    /**
+     * Creates the facade running the operations on the given executor, which stays owned by the caller.
+     *
+     * @param transformer : the Transformer the operations are delegated to
+     * @param executor : the Executor the operations run on
+     * @param maxInFlight : the maximum number of operations in flight
+     */
+    public AsyncTransformer(Transformer transformer, Executor executor, int maxInFlight) {
+        this(transformer, executor, maxInFlight, false);
+    }
+
+    /**
+     * Creates the facade.
+     *
+     * @param transformer : the Transformer the operations are delegated to
+     * @param executor : the Executor the operations run on
+     * @param maxInFlight : the maximum number of operations in flight
+     * @param ownsExecutor : whether the executor is shut down when the facade is closed
+     */
+    private AsyncTransformer(Transformer transformer, Executor executor, int maxInFlight, boolean ownsExecutor) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("The maximum number of operations in flight must be positive");
+        }
+        this.transformer = transformer;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Creates the facade running each operation on a virtual thread of its own. On runtimes without virtual
+     * threads the operations run on platform threads created on demand, at most maxInFlight of them.
+     *
+     * @param transformer : the Transformer the operations are delegated to
+     * @param maxInFlight : the maximum number of operations in flight
+     * @return the AsyncTransformer, to be closed once no longer used
+     */
+    public static AsyncTransformer withVirtualThreads(Transformer transformer, int maxInFlight) {
+        return new AsyncTransformer(transformer, newVirtualThreadPerTaskExecutor(), maxInFlight, true);
+    }
+
+    /**
+     * Creates the facade running the operations on a pool of the given number of platform threads.
+     *
+     * @param transformer : the Transformer the operations are delegated to
+     * @param threads : the number of threads of the pool
+     * @param maxInFlight : the maximum number of operations in flight, running or queued in the pool
+     * @return the AsyncTransformer, to be closed once no longer used
+     */
+    public static AsyncTransformer withPlatformThreads(Transformer transformer, int threads, int maxInFlight) {
+        return new AsyncTransformer(transformer, Executors.newFixedThreadPool(threads), maxInFlight, true);
+    }
+
+    /**
+     * Transforms from byte[] to IgniteEvent asynchronously, see {@link Transformer#fromBlob(byte[], Optional)}.
+     * Blocks while the maximum number of operations are in flight.
+     *
+     * @param value the byte[] value
+     * @param header the header
+     * @return the CompletableFuture of the IgniteEvent, completed exceptionally if the value cannot be decoded
+     */
+    public CompletableFuture<IgniteEvent> fromBlobAsync(byte[] value, Optional<IgniteEventBase> header) {
+        return submit(() -> transformer.fromBlob(value, header));
+    }
+
+    /**
+     * Transforms from IgniteEvent to byte[] asynchronously, see {@link Transformer#toBlob(IgniteEvent)}. Blocks
+     * while the maximum number of operations are in flight.
+     *
+     * @param value the IgniteEvent value
+     * @return the CompletableFuture of the byte[], completed exceptionally if the event cannot be encoded
+     */
+    public CompletableFuture<byte[]> toBlobAsync(IgniteEvent value) {
+        return submit(() -> transformer.toBlob(value));
+    }
+
+    /**
+     * Submits an operation once a permit is available, the permit is released when the operation completes.
+     *
+     * @param <T> the type of the result
+     * @param operation the operation
+     * @return the CompletableFuture of the result
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        try {
+            inFlightPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> run(operation, result));
+        } catch (RejectedExecutionException e) {
+            inFlightPermits.release();
+            failed.increment();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Runs an operation and completes its future. The future is completed exceptionally with whatever the
+     * operation throws, errors included, so that neither the permit nor the callers waiting on the future are
+     * left behind.
+     *
+     * @param <T> the type of the result
+     * @param operation the operation
+     * @param result the future of the result
+     */
+    private <T> void run(Supplier<T> operation, CompletableFuture<T> result) {
+        long start = System.nanoTime();
+        T value = null;
+        Throwable failure = null;
+        try {
+            value = operation.get();
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            finish(failure == null ? completed : failed, start);
+        }
+        if (failure != null) {
+            result.completeExceptionally(failure);
+        } else {
+            result.complete(value);
+        }
+    }
+
+    /**
+     * Records an operation and releases its permit, before its future is completed so that the metrics are up
+     * to date for the dependents of the future.
+     *
+     * @param outcome the counter of the outcome of the operation
+     * @param start the start of the operation, in nanoseconds
+     */
+    private void finish(LongAdder outcome, long start) {
+        busyNanos.add(System.nanoTime() - start);
+        outcome.increment();
+        inFlightPermits.release();
+    }
+
+    /**
+     * Gets the number of operations in flight, running or waiting for a thread.
+     *
+     * @return the number of operations in flight
+     */
+    public int getInFlight() {
+        return maxInFlight - inFlightPermits.availablePermits();
+    }
+
+    /**
+     * Gets the number of operations completed successfully.
+     *
+     * @return the completed count
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * Gets the number of operations which failed.
+     *
+     * @return the failed count
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Gets the time spent running the operations, from the start of each operation on its thread to its
+     * completion.
+     *
+     * @return the busy time in nanoseconds
+     */
+    public long getBusyNanos() {
+        return busyNanos.sum();
+    }
+
+    /**
+     * Shuts down the executor if it was created by this facade. The operations in flight are completed.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor if the runtime has virtual threads. The transformers are built
+     * for Java 17, so the executor is looked up reflectively.
+     *
+     * @return the ExecutorService
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            LOGGER.warn("Virtual threads are not available on this runtime, using platform threads instead.");
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.eclipse.ecsp.domain.EventID;
+import org.eclipse.ecsp.entities.AbstractIgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEventBase;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Base class of the transformers encoding ignite events in a binary JSON data format, such as Smile or CBOR.
+ *
+ * <p>
+ * The events are bound by an ObjectMapper created by {@link org.eclipse.ecsp.transform.config.JacksonMapperConfig}
+ * for the data format, with the custom serializers, deserializers and subtypes of the JSON ObjectMapper, so the
+ * event and data classes are the same as with the {@link GenericIgniteEventTransformer}. As with it, a single
+ * event is encoded as an object and a composite event as the array of its nested events. The options of the
+ * GenericIgniteEventTransformer which rely on the textual JSON of the events, such as lazy binding, pass-through
+ * or input validation while parsing, are not available.
+ * </p>
+ */
+public abstract class BinaryJsonIgniteEventTransformer implements Transformer {
+
+    /** The Constant LOGGER. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryJsonIgniteEventTransformer.class);
+
+    /** The ObjectMapper of the data format. */
+    private final ObjectMapper mapper;
+
+    /** The cache of the readers and writers of the ObjectMapper. */
+    private final EventCodecCache codecCache;
+
+    /** The decoder of the composite events. */
+    private final CompositeIgniteEventDecoder compositeDecoder;
+
+    /**
+     * Creates the transformer for the ObjectMapper of a binary JSON data format.
+     *
+     * @param mapper : ObjectMapper of the data format, with the ignite serializers and deserializers registered
+     */
+    protected BinaryJsonIgniteEventTransformer(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.codecCache = new EventCodecCache(mapper);
+        this.compositeDecoder = new CompositeIgniteEventDecoder(mapper);
+    }
+
+    /**
+     * Transforms from byte[] to IgniteEvent.
+     *
+     * @param value the byte[] value
+     * @param header the header
+     * @return the IgniteEvent
+     */
+    @Override
+    public IgniteEvent fromBlob(byte[] value, Optional<IgniteEventBase> header) {
+        if (null == value) {
+            throw new TransformerSerDeException("Null value received, cannot convert to ignite event.");
+        }
+        return fromBlob(value, 0, value.length, header);
+    }
+
+    /**
+     * Transforms a region of a byte[] to IgniteEvent. The region is parsed in place.
+     *
+     * @param buf the byte[] holding the event
+     * @param offset the offset of the event in buf
+     * @param length the length of the event
+     * @param header the header
+     * @return the IgniteEvent
+     */
+    @Override
+    public IgniteEvent fromBlob(byte[] buf, int offset, int length, Optional<IgniteEventBase> header) {
+        if (null == buf) {
+            throw new TransformerSerDeException("Null value received, cannot convert to ignite event.");
+        }
+        Objects.checkFromIndexSize(offset, length, buf.length);
+        try (JsonParser parser = mapper.createParser(buf, offset, length)) {
+            return completeIgniteEvent(readIgniteEvent(parser), header);
+        } catch (IOException e) {
+            throw deserializationFailure(length, e);
+        }
+    }
+
+    /**
+     * Transforms the remaining bytes of a ByteBuffer to IgniteEvent. Heap buffers are parsed in place from their
+     * backing array, direct buffers are streamed to the parser. The position of the given buffer is not modified.
+     *
+     * @param buffer the ByteBuffer holding the event
+     * @param header the header
+     * @return the IgniteEvent
+     */
+    @Override
+    public IgniteEvent fromBlob(ByteBuffer buffer, Optional<IgniteEventBase> header) {
+        if (null == buffer) {
+            throw new TransformerSerDeException("Null value received, cannot convert to ignite event.");
+        }
+        if (buffer.hasArray()) {
+            return fromBlob(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), header);
+        }
+        try (JsonParser parser = mapper.createParser(new ByteBufferBackedInputStream(buffer.duplicate()))) {
+            return completeIgniteEvent(readIgniteEvent(parser), header);
+        } catch (IOException e) {
+            throw deserializationFailure(buffer.remaining(), e);
+        }
+    }
+
+    /**
+     * Transforms from IgniteEvent to byte[].
+     *
+     * @param value the IgniteEvent value
+     * @return the byte[]
+     */
+    @Override
+    public byte[] toBlob(IgniteEvent value) {
+        Object payload = payloadOf(value);
+        try {
+            return codecCache.writerFor(payload).writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw serializationFailure(value, e);
+        }
+    }
+
+    /**
+     * Transforms from IgniteEvent to bytes written to the given OutputStream, without building a byte[] of the
+     * event. The stream is not closed.
+     *
+     * @param value the IgniteEvent value
+     * @param out the OutputStream the event is written to
+     * @return the number of bytes written
+     */
+    @Override
+    public int toBlob(IgniteEvent value, OutputStream out) {
+        Object payload = payloadOf(value);
+        try {
+            return BlobOutput.write(codecCache.writerFor(payload), payload, out);
+        } catch (IOException e) {
+            throw serializationFailure(value, e);
+        }
+    }
+
+    /**
+     * Transforms from IgniteEvent to bytes written to the given ByteBuffer at its position, without building a
+     * byte[] of the event. The position is advanced past the written bytes, it is left unchanged when the event
+     * does not fit the buffer and a {@link java.nio.BufferOverflowException} is thrown.
+     *
+     * @param value the IgniteEvent value
+     * @param buffer the ByteBuffer the event is written to
+     * @return the number of bytes written
+     */
+    @Override
+    public int toBlob(IgniteEvent value, ByteBuffer buffer) {
+        Object payload = payloadOf(value);
+        try {
+            return BlobOutput.write(codecCache.writerFor(payload), payload, buffer);
+        } catch (IOException e) {
+            throw serializationFailure(value, e);
+        }
+    }
+
+    /**
+     * Gets the ObjectMapper of the data format.
+     *
+     * @return the ObjectMapper
+     */
+    public ObjectMapper getObjectMapper() {
+        return mapper;
+    }
+
+    /**
+     * Reads a single ignite event or a composite of them from the parser.
+     *
+     * @param parser the JsonParser positioned before the first token of the event
+     * @return the AbstractIgniteEvent
+     * @throws IOException if the event cannot be read or bound
+     */
+    private AbstractIgniteEvent readIgniteEvent(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            return codecCache.readerFor(IgniteEventImpl.class).readValue(parser);
+        } else if (token == JsonToken.START_ARRAY) {
+            return compositeDecoder.decode(parser);
+        }
+        throw new TransformerSerDeException("Expected an object or an array but received token:" + token);
+    }
+
+    /**
+     * Sets the headers on the decoded ignite event.
+     *
+     * @param igniteEvent the decoded AbstractIgniteEvent
+     * @param header the header
+     * @return the IgniteEvent
+     */
+    private static IgniteEvent completeIgniteEvent(AbstractIgniteEvent igniteEvent,
+            Optional<IgniteEventBase> header) {
+        if (header.isPresent()) {
+            GenericIgniteEventTransformer.setHeaders(igniteEvent, header);
+        }
+        LOGGER.debug("Ignite event returned is:{}", igniteEvent);
+        return igniteEvent;
+    }
+
+    /**
+     * Gets the value to serialize for the IgniteEvent, the list of nested events for a composite event.
+     *
+     * @param value the IgniteEvent value
+     * @return the value to serialize
+     */
+    private static Object payloadOf(IgniteEvent value) {
+        if (null == value) {
+            LOGGER.error("Received null ignite event value, cannot convert to blob.");
+            throw new TransformerSerDeException("Received null ignite event value");
+        }
+        return EventID.COMPOSITE_EVENT.equals(value.getEventId()) ? value.getNestedEvents() : value;
+    }
+
+    /**
+     * Logs the failure to deserialize an ignite event and creates the exception to raise.
+     *
+     * @param length the length of the serialized event
+     * @param e the cause
+     * @return the TransformerSerDeException
+     */
+    private TransformerSerDeException deserializationFailure(int length, IOException e) {
+        LOGGER.error("Unable to convert the value to IgniteEventImpl.", e);
+        return new TransformerSerDeException("Unable to deserialize the " + getSource() + " ignite event of "
+                + length + " bytes", e);
+    }
+
+    /**
+     * Logs the failure to serialize the IgniteEvent and creates the exception to raise.
+     *
+     * @param value the IgniteEvent value
+     * @param e the cause
+     * @return the TransformerSerDeException
+     */
+    private static TransformerSerDeException serializationFailure(IgniteEvent value, IOException e) {
+        LOGGER.error("Unable to convert the ignite event to bytes.", e);
+        return new TransformerSerDeException("Unable to convert the ignite event:" + value + " to byte array", e);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes serialized values straight into a caller supplied OutputStream or ByteBuffer, without building an
+ * intermediate byte[] of the value.
+ *
+ * <p>
+ * The target is neither closed nor otherwise released, it stays owned by the caller. The ObjectWriter decides
+ * how the value is serialized, so the bytes written are the ones {@link ObjectWriter#writeValueAsBytes(Object)}
+ * returns.
+ * </p>
+ */
+final class BlobOutput {
+
+    /**
+     * Not instantiable.
+     */
+    private BlobOutput() {
+    }
+
+    /**
+     * Writes the value to the OutputStream.
+     *
+     * @param writer : the ObjectWriter serializing the value
+     * @param value : the value
+     * @param out : the OutputStream the value is written to, left open
+     * @return the number of bytes written
+     * @throws IOException if the value cannot be serialized or written
+     */
+    static int write(ObjectWriter writer, Object value, OutputStream out) throws IOException {
+        CountingOutputStream counting = new CountingOutputStream(out);
+        try (JsonGenerator generator = writer.createGenerator(counting)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writer.writeValue(generator, value);
+        }
+        return counting.count;
+    }
+
+    /**
+     * Writes the value to the ByteBuffer at its position, and advances the position past the written bytes.
+     *
+     * @param writer : the ObjectWriter serializing the value
+     * @param value : the value
+     * @param buffer : the heap or direct ByteBuffer the value is written to
+     * @return the number of bytes written
+     * @throws IOException if the value cannot be serialized
+     * @throws BufferOverflowException if the value does not fit the remaining bytes of the buffer, the position of
+     *     the buffer is then left unchanged
+     */
+    static int write(ObjectWriter writer, Object value, ByteBuffer buffer) throws IOException {
+        ByteBuffer target = buffer.duplicate();
+        try {
+            write(writer, value, new ByteBufferBackedOutputStream(target));
+        } catch (IOException e) {
+            // the serializers report the overflow of the target wrapped into their own exception
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof BufferOverflowException overflow) {
+                    throw overflow;
+                }
+            }
+            throw e;
+        }
+        int length = target.position() - buffer.position();
+        buffer.position(target.position());
+        return length;
+    }
+
+    /**
+     * Writes the bytes to the ByteBuffer at its position, and advances the position past them.
+     *
+     * @param bytes : the bytes
+     * @param buffer : the ByteBuffer the bytes are written to
+     * @return the number of bytes written
+     * @throws BufferOverflowException if the bytes do not fit the remaining bytes of the buffer, the position of
+     *     the buffer is then left unchanged
+     */
+    static int write(byte[] bytes, ByteBuffer buffer) {
+        buffer.put(bytes);
+        return bytes.length;
+    }
+
+    /**
+     * OutputStream counting the bytes written through it.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        /** The number of bytes written. */
+        private int count;
+
+        /**
+         * Creates the stream writing to the given one.
+         *
+         * @param out : the OutputStream written to
+         */
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import org.eclipse.ecsp.domain.IgniteEventSource;
+import org.eclipse.ecsp.transform.config.JacksonMapperConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.util.Properties;
+
+/**
+ * Transformer encoding ignite events as CBOR, the Concise Binary Object Representation of RFC 8949.
+ *
+ * <p>
+ * CBOR keeps the data model of JSON and replaces its text by compact binary tokens, which cuts the size of the
+ * events and the cost of parsing them. Every event is written with the self-describe tag 55799, the bytes
+ * 0xD9D9F7, which tells it apart from textual JSON and other binary payloads. See
+ * {@link BinaryJsonIgniteEventTransformer}.
+ * </p>
+ */
+@Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class CborIgniteEventTransformer extends BinaryJsonIgniteEventTransformer {
+
+    /** The source of the events encoded by this transformer. */
+    public static final String SOURCE = IgniteEventSource.IGNITE + "-cbor";
+
+    /**
+     * Creates the transformer with the default settings of the {@link JacksonMapperConfig}.
+     */
+    public CborIgniteEventTransformer() {
+        this(new JacksonMapperConfig());
+    }
+
+    /**
+     * Creates the transformer with the custom serializers, deserializers and subtypes found in the given
+     * properties, see {@link JacksonMapperConfig#JacksonMapperConfig(Properties)}.
+     *
+     * @param props : Properties
+     */
+    public CborIgniteEventTransformer(Properties props) {
+        this(new JacksonMapperConfig(props));
+    }
+
+    /**
+     * Creates the transformer with the ObjectMapper settings of the given config. Spring creates the transformer
+     * with its JacksonMapperConfig, holding the settings of the environment.
+     *
+     * @param config : JacksonMapperConfig
+     */
+    @Autowired
+    public CborIgniteEventTransformer(JacksonMapperConfig config) {
+        super(config.objectMapper(CBORFactory.builder().enable(CBORGenerator.Feature.WRITE_TYPE_HEADER).build()));
+    }
+
+    /**
+     * Gets the source.
+     *
+     * @return the source
+     */
+    @Override
+    public String getSource() {
+        return SOURCE;
+    }
+}
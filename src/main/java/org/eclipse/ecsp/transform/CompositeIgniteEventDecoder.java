@@ -0,0 +1,161 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.eclipse.ecsp.domain.EventID;
+import org.eclipse.ecsp.entities.CompositeIgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming decoder for composite ignite events.
+ *
+ * <p>
+ * A composite event is received as a JSON array of ignite events. Instead of building a tree for the array and
+ * re-parsing every child, this decoder moves the single JsonParser it is given across the array and binds each
+ * element to an {@link IgniteEventImpl} in place.
+ * </p>
+ */
+public class CompositeIgniteEventDecoder {
+
+    /** The ObjectReader used to bind each nested event. */
+    private final ObjectReader eventReader;
+
+    /**
+     * Creates the decoder for the given ObjectMapper.
+     *
+     * @param mapper : ObjectMapper with the ignite serializers and deserializers registered
+     */
+    public CompositeIgniteEventDecoder(ObjectMapper mapper) {
+        this.eventReader = mapper.readerFor(IgniteEventImpl.class);
+    }
+
+    /**
+     * Decodes the array the parser is positioned on into a {@link CompositeIgniteEvent}.
+     *
+     * @param parser : JsonParser whose current token is the START_ARRAY of the composite event
+     * @return the CompositeIgniteEvent holding the nested events in array order
+     * @throws IOException if the array cannot be read or bound
+     */
+    public CompositeIgniteEvent decode(JsonParser parser) throws IOException {
+        return decode(parser, eventReader::readValue);
+    }
+
+    /**
+     * Decodes the array the parser is positioned on into a {@link CompositeIgniteEvent}, binding each nested
+     * event with the given reader.
+     *
+     * @param parser : JsonParser whose current token is the START_ARRAY of the composite event
+     * @param nestedEventReader : NestedEventReader used to bind each element of the array
+     * @return the CompositeIgniteEvent holding the nested events in array order
+     * @throws IOException if the array cannot be read or bound
+     */
+    public CompositeIgniteEvent decode(JsonParser parser, NestedEventReader nestedEventReader) throws IOException {
+        CompositeIgniteEvent compositeEvent = new CompositeIgniteEvent();
+        // An eventId is mandatory for each ignite event, or it will
+        // throw exception in DFFAgent
+        compositeEvent.setEventId(EventID.COMPOSITE_EVENT);
+        compositeEvent.setNestedEvents(readNestedEvents(parser, nestedEventReader));
+        return compositeEvent;
+    }
+
+    /**
+     * Reads the nested events of the array the parser is positioned on. On return the parser is positioned on
+     * the END_ARRAY of the composite event.
+     *
+     * @param parser : JsonParser whose current token is the START_ARRAY of the composite event
+     * @return the nested events in array order
+     * @throws IOException if the array cannot be read or bound
+     */
+    public List<IgniteEvent> readNestedEvents(JsonParser parser) throws IOException {
+        return readNestedEvents(parser, eventReader::readValue);
+    }
+
+    /**
+     * Reads the nested events of the array the parser is positioned on, binding each of them with the given
+     * reader. On return the parser is positioned on the END_ARRAY of the composite event.
+     *
+     * @param parser : JsonParser whose current token is the START_ARRAY of the composite event
+     * @param nestedEventReader : NestedEventReader used to bind each element of the array
+     * @return the nested events in array order
+     * @throws IOException if the array cannot be read or bound
+     */
+    public List<IgniteEvent> readNestedEvents(JsonParser parser, NestedEventReader nestedEventReader)
+            throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new TransformerSerDeException("Expected a JSON array for composite event but received token:"
+                    + parser.currentToken());
+        }
+        List<IgniteEvent> nestedEvents = new ArrayList<>();
+        JsonToken token = parser.nextToken();
+        while (token != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new TransformerSerDeException("Unexpected end of input while reading composite event.");
+            }
+            nestedEvents.add(nestedEventReader.read(parser));
+            token = parser.nextToken();
+        }
+        return nestedEvents;
+    }
+
+    /**
+     * Binds a single element of a composite event.
+     */
+    @FunctionalInterface
+    public interface NestedEventReader {
+
+        /**
+         * Reads the nested event the parser is positioned on. On return the parser has to be positioned on the
+         * last token of the nested event.
+         *
+         * @param parser : JsonParser positioned on the first token of the nested event
+         * @return the nested IgniteEvent
+         * @throws IOException if the nested event cannot be read or bound
+         */
+        IgniteEvent read(JsonParser parser) throws IOException;
+    }
+}
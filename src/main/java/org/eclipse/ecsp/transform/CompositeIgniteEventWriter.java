@@ -0,0 +1,187 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.eclipse.ecsp.entities.IgniteEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Streaming writer for composite ignite events.
+ *
+ * <p>
+ * A composite event is sent as a JSON array of ignite events. Instead of requiring the nested events to be
+ * collected into a list first, this writer takes them one at a time and writes each of them to the output as
+ * soon as it is received, so that its memory use does not depend on the number of nested events. The bytes
+ * written are the ones {@link GenericIgniteEventTransformer#toBlob(IgniteEvent)} returns for a composite event
+ * holding the same nested events.
+ * </p>
+ */
+public class CompositeIgniteEventWriter {
+
+    /** The ObjectWriter used to write the array of nested events. */
+    private final ObjectWriter arrayWriter;
+
+    /**
+     * Creates the writer for the given ObjectMapper.
+     *
+     * @param mapper : ObjectMapper with the ignite serializers and deserializers registered
+     */
+    public CompositeIgniteEventWriter(ObjectMapper mapper) {
+        // the sink flushes once, when closed, rather than after every nested event
+        this.arrayWriter = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Opens a composite event on the OutputStream, the nested events are then written one by one to the
+     * returned sink. Closing the sink ends the composite event, the OutputStream itself is not closed.
+     *
+     * @param out : the OutputStream the composite event is written to
+     * @return the Sink taking the nested events
+     * @throws IOException if the start of the composite event cannot be written
+     */
+    public Sink open(OutputStream out) throws IOException {
+        JsonGenerator generator = arrayWriter.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return new Sink(generator, arrayWriter.writeValuesAsArray(generator));
+    }
+
+    /**
+     * Writes the nested events returned by the iterator as a composite event.
+     *
+     * @param nestedEvents : Iterator over the nested events
+     * @param out : the OutputStream the composite event is written to, left open
+     * @return the number of nested events written
+     * @throws IOException if the composite event cannot be written
+     */
+    public int write(Iterator<? extends IgniteEvent> nestedEvents, OutputStream out) throws IOException {
+        try (Sink sink = open(out)) {
+            while (nestedEvents.hasNext()) {
+                sink.write(nestedEvents.next());
+            }
+            return sink.getCount();
+        }
+    }
+
+    /**
+     * Writes the nested events returned by the supplier as a composite event, until it returns null.
+     *
+     * @param nestedEvents : Supplier of the nested events, returning null once there are no more
+     * @param out : the OutputStream the composite event is written to, left open
+     * @return the number of nested events written
+     * @throws IOException if the composite event cannot be written
+     */
+    public int write(Supplier<? extends IgniteEvent> nestedEvents, OutputStream out) throws IOException {
+        try (Sink sink = open(out)) {
+            for (IgniteEvent nestedEvent = nestedEvents.get(); nestedEvent != null; nestedEvent = nestedEvents.get()) {
+                sink.write(nestedEvent);
+            }
+            return sink.getCount();
+        }
+    }
+
+    /**
+     * An open composite event taking its nested events one at a time.
+     */
+    public static final class Sink implements Closeable {
+
+        /** The generator writing to the OutputStream. */
+        private final JsonGenerator generator;
+
+        /** The writer of the array elements. */
+        private final SequenceWriter sequenceWriter;
+
+        /** The number of nested events written. */
+        private int count;
+
+        /**
+         * Creates the sink.
+         *
+         * @param generator : the generator writing to the OutputStream
+         * @param sequenceWriter : the writer of the array elements
+         */
+        private Sink(JsonGenerator generator, SequenceWriter sequenceWriter) {
+            this.generator = generator;
+            this.sequenceWriter = sequenceWriter;
+        }
+
+        /**
+         * Writes a nested event.
+         *
+         * @param nestedEvent : the nested IgniteEvent
+         * @throws IOException if the nested event cannot be written
+         */
+        public void write(IgniteEvent nestedEvent) throws IOException {
+            sequenceWriter.write(nestedEvent);
+            count++;
+        }
+
+        /**
+         * Gets the number of nested events written.
+         *
+         * @return the count
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Ends the composite event and flushes it to the OutputStream, which is left open.
+         *
+         * @throws IOException if the end of the composite event cannot be written
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                sequenceWriter.close();
+            } finally {
+                generator.close();
+            }
+        }
+    }
+}
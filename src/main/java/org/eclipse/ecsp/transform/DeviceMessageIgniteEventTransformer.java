@@ -40,7 +40,7 @@
 package org.eclipse.ecsp.transform;
 
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializerProvider;
@@ -59,10 +59,16 @@ import org.eclipse.ecsp.transform.config.JacksonMapperConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -83,6 +89,18 @@ public class DeviceMessageIgniteEventTransformer implements Transformer {
     /** The ObjectWrite instance. */
     private ObjectWriter deviceWriter;
 
+    /** Suggests whether the Jackson Blackbird module is registered on the ObjectMapper. */
+    @Value("${" + JacksonMapperConfig.BLACKBIRD_ENABLED + ":false}")
+    private boolean isBlackbirdEnabled;
+
+    /** The maximum number of frames written per stack trace of a serialized exception, 0 for all. */
+    @Value("${" + JacksonMapperConfig.EXCEPTION_STACK_MAX_DEPTH + ":0}")
+    private int stackTraceMaxDepth;
+
+    /** Suggests whether repeated stack frames of a serialized exception are written as references. */
+    @Value("${" + JacksonMapperConfig.EXCEPTION_STACK_DEDUP_ENABLED + ":false}")
+    private boolean isStackTraceDedupEnabled;
+
     /**
      * Default constructor that creates and initializes the ObjectMapper instance in this class.
      *
@@ -118,25 +136,119 @@ public class DeviceMessageIgniteEventTransformer implements Transformer {
      */
     @Override
     public byte[] toBlob(IgniteEvent value) {
+        return serialize(value, null);
+    }
 
-        if (null == value) {
-            LOGGER.error("Received null ignite event value, cannot conver to blob.");
-            throw new TransformerSerDeException("Received null ignite event value");
+    /**
+     * Transforms a batch of IgniteEvents to byte[], serializing the events one after the other into the same
+     * buffer. An event which fails is returned with its exception, the other events are still serialized.
+     *
+     * @param values the IgniteEvents, in batch order
+     * @return the result of each event, in batch order
+     */
+    @Override
+    public List<TransformResult<byte[]>> toBlobs(List<IgniteEvent> values) {
+        List<TransformResult<byte[]>> results = new ArrayList<>(values.size());
+        try (ByteArrayBuilder buffer = new ByteArrayBuilder()) {
+            for (IgniteEvent value : values) {
+                try {
+                    results.add(TransformResult.success(serialize(value, buffer)));
+                } catch (RuntimeException e) {
+                    results.add(TransformResult.failure(e));
+                } finally {
+                    buffer.reset();
+                }
+            }
         }
+        return results;
+    }
 
-        LOGGER.debug("Converting device facing ignite event:{} to byte array", value);
+    /**
+     * Transforms the device facing IgniteEvent to bytes written to the given OutputStream, without building a
+     * byte[] of the event. The stream is not closed.
+     *
+     * @param value the IgniteEvent value
+     * @param out the OutputStream the event is written to
+     * @return the number of bytes written
+     */
+    @Override
+    public int toBlob(IgniteEvent value, OutputStream out) {
+        checkNotNull(value);
+        try {
+            return BlobOutput.write(deviceWriter, value, out);
+        } catch (IOException e) {
+            throw serializationFailure(value, e);
+        }
+    }
 
+    /**
+     * Transforms the device facing IgniteEvent to bytes written to the given ByteBuffer at its position. The
+     * position is advanced past the written bytes, it is left unchanged when the event does not fit the buffer
+     * and a {@link java.nio.BufferOverflowException} is thrown.
+     *
+     * @param value the IgniteEvent value
+     * @param buffer the ByteBuffer the event is written to
+     * @return the number of bytes written
+     */
+    @Override
+    public int toBlob(IgniteEvent value, ByteBuffer buffer) {
+        checkNotNull(value);
+        try {
+            return BlobOutput.write(deviceWriter, value, buffer);
+        } catch (IOException e) {
+            throw serializationFailure(value, e);
+        }
+    }
+
+    /**
+     * Serializes the device facing IgniteEvent to byte[].
+     *
+     * @param value the IgniteEvent value
+     * @param buffer the buffer the event is written to before being copied out, null to use a new one
+     * @return the byte[]
+     */
+    private byte[] serialize(IgniteEvent value, ByteArrayBuilder buffer) {
+        checkNotNull(value);
         byte[] blobData = null;
         try {
-            blobData = deviceWriter.writeValueAsBytes(value);
-        } catch (JsonProcessingException e) {
-            LOGGER.error("Unable to convert the ignite event to bytes.", e);
-            throw new TransformerSerDeException("Unable to conver the ignite event:" + value.toString()
-                    + " to byte array");
+            if (buffer == null) {
+                blobData = deviceWriter.writeValueAsBytes(value);
+            } else {
+                deviceWriter.writeValue(buffer, value);
+                blobData = buffer.toByteArray();
+            }
+        } catch (IOException e) {
+            throw serializationFailure(value, e);
         }
         return blobData;
     }
 
+    /**
+     * Checks that there is an IgniteEvent to serialize and logs it.
+     *
+     * @param value the IgniteEvent value
+     */
+    private static void checkNotNull(IgniteEvent value) {
+        if (null == value) {
+            LOGGER.error("Received null ignite event value, cannot conver to blob.");
+            throw new TransformerSerDeException("Received null ignite event value");
+        }
+        LOGGER.debug("Converting device facing ignite event:{} to byte array", value);
+    }
+
+    /**
+     * Logs the failure to serialize the IgniteEvent and creates the exception to raise.
+     *
+     * @param value the IgniteEvent value
+     * @param e the cause
+     * @return the TransformerSerDeException
+     */
+    private static TransformerSerDeException serializationFailure(IgniteEvent value, IOException e) {
+        LOGGER.error("Unable to convert the ignite event to bytes.", e);
+        return new TransformerSerDeException("Unable to conver the ignite event:" + value.toString()
+                + " to byte array");
+    }
+
     /**
      * Gets the source.
      *
@@ -153,6 +265,11 @@ public class DeviceMessageIgniteEventTransformer implements Transformer {
      */
     @PostConstruct
     public void initialize() {
+        if (isBlackbirdEnabled) {
+            JacksonMapperConfig.registerBlackbirdModule(jsonMapper);
+        }
+        JacksonMapperConfig.registerCompactStackTraceModule(jsonMapper, stackTraceMaxDepth,
+                isStackTraceDedupEnabled, false);
         FilterProvider filter = new SimpleFilterProvider().addFilter(EventAttribute.EVENT_FILTER, getPropertyFilter())
                 .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
         deviceWriter = jsonMapper.writer(filter);
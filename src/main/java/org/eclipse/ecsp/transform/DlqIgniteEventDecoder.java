@@ -0,0 +1,184 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.eclipse.ecsp.domain.EventAttribute;
+import org.eclipse.ecsp.domain.EventID;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.eclipse.ecsp.transform.util.Constants;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Decoder of DLQ exception events producing {@link LazyIgniteExceptionData}.
+ *
+ * <p>
+ * The decoder reads the attributes of the event one by one from the parser. When the EventID and Version read
+ * before the Data section are those of an ignite exception event, version 1.1, the attributes of its data are
+ * read one by one too: the igniteEvent and exception attributes are skipped over and only their raw bytes are
+ * kept, every other attribute is bound eagerly. Any other event, or an exception event whose Data section comes
+ * before its EventID and Version, is bound eagerly. This requires the parser to read from a byte[] so that the
+ * skipped attributes can be located by their byte offsets.
+ * </p>
+ */
+public class DlqIgniteEventDecoder {
+
+    /** The version of the exception events whose data is decoded lazily. */
+    private static final String EXCEPTION_EVENT_VERSION = "1.1";
+
+    /** The ObjectMapper instance. */
+    private final ObjectMapper mapper;
+
+    /** The cache of the readers of the transformer. */
+    private final EventCodecCache codecCache;
+
+    /** The ObjectReader used to bind the attributes of the exception data other than the skipped ones. */
+    private final ObjectReader exceptionDataReader;
+
+    /**
+     * Creates the decoder for the given ObjectMapper.
+     *
+     * @param mapper : ObjectMapper with the ignite serializers and deserializers registered
+     * @param codecCache : the EventCodecCache of the transformer
+     */
+    public DlqIgniteEventDecoder(ObjectMapper mapper, EventCodecCache codecCache) {
+        this.mapper = mapper;
+        this.codecCache = codecCache;
+        this.exceptionDataReader = codecCache.readerFor(LazyIgniteExceptionData.class);
+    }
+
+    /**
+     * Reads the ignite event the parser is positioned on. On return the parser is positioned on the END_OBJECT
+     * of the event.
+     *
+     * @param parser : JsonParser created over buf starting at offset, positioned on the START_OBJECT of the event
+     * @param buf : the byte[] the parser reads from
+     * @param offset : the offset in buf the parser was created with
+     * @param eventReader : the ObjectReader binding the events which are not decoded lazily
+     * @return the IgniteEventImpl, with a LazyIgniteExceptionData if it is an exception event
+     * @throws IOException if the event cannot be read or bound
+     */
+    public IgniteEventImpl decode(JsonParser parser, byte[] buf, int offset, ObjectReader eventReader)
+            throws IOException {
+        TokenBuffer eventAttributes = new TokenBuffer(mapper, false);
+        LazyIgniteExceptionData exceptionData = null;
+        String eventId = null;
+        String version = null;
+        eventAttributes.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if (Constants.EVENT_DATA.equals(name) && valueToken == JsonToken.START_OBJECT
+                    && EventID.IGNITE_EXCEPTION_EVENT.equals(eventId) && EXCEPTION_EVENT_VERSION.equals(version)) {
+                exceptionData = readExceptionData(parser, buf, offset);
+                continue;
+            }
+            if (valueToken == JsonToken.VALUE_STRING) {
+                if (EventAttribute.EVENTID.equals(name)) {
+                    eventId = parser.getText();
+                } else if (Constants.VERSION.equals(name)) {
+                    version = parser.getText();
+                }
+            }
+            eventAttributes.writeFieldName(name);
+            eventAttributes.copyCurrentStructure(parser);
+        }
+        eventAttributes.writeEndObject();
+
+        IgniteEventImpl event;
+        try (JsonParser eventParser = eventAttributes.asParser()) {
+            event = eventReader.readValue(eventParser);
+        }
+        if (exceptionData != null) {
+            event.setEventData(exceptionData);
+        }
+        return event;
+    }
+
+    /**
+     * Reads the data of an exception event, keeping the raw bytes of its igniteEvent and exception attributes.
+     * On return the parser is positioned on the END_OBJECT of the data.
+     *
+     * @param parser : JsonParser positioned on the START_OBJECT of the data
+     * @param buf : the byte[] the parser reads from
+     * @param offset : the offset in buf the parser was created with
+     * @return the LazyIgniteExceptionData
+     * @throws IOException if the data cannot be read or bound
+     */
+    private LazyIgniteExceptionData readExceptionData(JsonParser parser, byte[] buf, int offset)
+            throws IOException {
+        TokenBuffer dataAttributes = new TokenBuffer(mapper, false);
+        byte[] rawIgniteEvent = null;
+        byte[] rawException = null;
+        dataAttributes.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if (valueToken.isStructStart() && (LazyIgniteExceptionData.IGNITE_EVENT.equals(name)
+                    || LazyIgniteExceptionData.EXCEPTION.equals(name))) {
+                int start = (int) parser.currentTokenLocation().getByteOffset();
+                parser.skipChildren();
+                int end = (int) parser.currentLocation().getByteOffset();
+                byte[] raw = Arrays.copyOfRange(buf, offset + start, offset + end);
+                if (LazyIgniteExceptionData.IGNITE_EVENT.equals(name)) {
+                    rawIgniteEvent = raw;
+                } else {
+                    rawException = raw;
+                }
+                continue;
+            }
+            dataAttributes.writeFieldName(name);
+            dataAttributes.copyCurrentStructure(parser);
+        }
+        dataAttributes.writeEndObject();
+
+        LazyIgniteExceptionData exceptionData;
+        try (JsonParser dataParser = dataAttributes.asParser()) {
+            exceptionData = exceptionDataReader.readValue(dataParser);
+        }
+        exceptionData.defer(rawIgniteEvent, rawException, mapper, codecCache);
+        return exceptionData;
+    }
+}
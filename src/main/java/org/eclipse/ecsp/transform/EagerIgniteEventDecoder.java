@@ -0,0 +1,167 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.eclipse.ecsp.domain.EventAttribute;
+import org.eclipse.ecsp.entities.EventData;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.eclipse.ecsp.transform.util.Constants;
+
+import java.io.IOException;
+
+/**
+ * Decoder binding the Data section of the decoded events with the EventData reader cached for their EventID and
+ * Version, see {@link EventCodecCache#dataReaderFor(String, org.eclipse.ecsp.domain.Version)}.
+ *
+ * <p>
+ * The decoder reads the attributes of the event one by one from the parser. When the Data object is reached
+ * after the EventID and Version attributes and the EventData type of the pair is known to the codec cache, the
+ * Data object is bound straight from the parser to that type, without going through the EventData deserializer.
+ * Otherwise the Data object is bound with the other attributes through the event reader, as for the default
+ * decoding, and the resolved type is remembered in the codec cache for the next events.
+ * </p>
+ *
+ * <p>
+ * The attributes other than Data are buffered and bound once the event is read, so an event of an unknown type
+ * costs a copy of its tokens over the default decoding.
+ * </p>
+ */
+public class EagerIgniteEventDecoder {
+
+    /** The ObjectMapper instance. */
+    private final ObjectMapper mapper;
+
+    /** The cache of the EventData types resolved by EventID and Version. */
+    private final EventCodecCache codecCache;
+
+    /** The ObjectReader used to bind the EventID and Version attributes. */
+    private final ObjectReader routingReader;
+
+    /**
+     * Creates the decoder for the given ObjectMapper.
+     *
+     * @param mapper : ObjectMapper with the ignite serializers and deserializers registered
+     * @param codecCache : the EventCodecCache of the transformer
+     */
+    public EagerIgniteEventDecoder(ObjectMapper mapper, EventCodecCache codecCache) {
+        this.mapper = mapper;
+        this.codecCache = codecCache;
+        this.routingReader = codecCache.readerFor(IgniteEventImpl.class);
+    }
+
+    /**
+     * Reads the ignite event the parser is positioned on. On return the parser is positioned on the END_OBJECT
+     * of the event.
+     *
+     * @param parser : JsonParser positioned on the first token of the event
+     * @param eventReader : the ObjectReader of the event class to bind
+     * @return the IgniteEventImpl
+     * @throws IOException if the event cannot be read or bound
+     */
+    public IgniteEventImpl decode(JsonParser parser, ObjectReader eventReader) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return eventReader.readValue(parser);
+        }
+        TokenBuffer attributes = new TokenBuffer(mapper, false);
+        TokenBuffer routingAttributes = null;
+        EventData eventData = null;
+        attributes.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if (Constants.EVENT_DATA.equals(name) && valueToken == JsonToken.START_OBJECT && eventData == null) {
+                ObjectReader dataReader = dataReaderFor(routingAttributes);
+                if (dataReader != null) {
+                    eventData = dataReader.readValue(parser);
+                    continue;
+                }
+            } else if (valueToken.isScalarValue()
+                    && (EventAttribute.EVENTID.equals(name) || Constants.VERSION.equals(name))) {
+                if (routingAttributes == null) {
+                    routingAttributes = new TokenBuffer(mapper, false);
+                }
+                routingAttributes.writeFieldName(name);
+                routingAttributes.copyCurrentEvent(parser);
+            }
+            attributes.writeFieldName(name);
+            attributes.copyCurrentStructure(parser);
+        }
+        attributes.writeEndObject();
+
+        IgniteEventImpl event;
+        try (JsonParser attributesParser = attributes.asParser()) {
+            event = eventReader.readValue(attributesParser);
+        }
+        if (eventData == null) {
+            codecCache.registerDataType(event.getEventId(), event.getVersion(), event.getEventData());
+        } else if (event instanceof PassThroughIgniteEventImpl passThroughEvent) {
+            passThroughEvent.bindEventData(eventData);
+        } else {
+            event.setEventData(eventData);
+        }
+        return event;
+    }
+
+    /**
+     * Gets the EventData reader cached for the EventID and Version attributes read so far.
+     *
+     * @param routingAttributes : the EventID and Version attributes read so far, null if none
+     * @return the ObjectReader, null if the EventData type is not known yet
+     * @throws IOException if the attributes cannot be bound
+     */
+    private ObjectReader dataReaderFor(TokenBuffer routingAttributes) throws IOException {
+        if (routingAttributes == null) {
+            return null;
+        }
+        TokenBuffer routingEvent = new TokenBuffer(mapper, false);
+        routingEvent.writeStartObject();
+        routingAttributes.serialize(routingEvent);
+        routingEvent.writeEndObject();
+        IgniteEventImpl routing;
+        try (JsonParser routingParser = routingEvent.asParser()) {
+            routing = routingReader.readValue(routingParser);
+        }
+        return codecCache.dataReaderFor(routing.getEventId(), routing.getVersion());
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.ecsp.domain.EventAttribute;
+import org.eclipse.ecsp.domain.Version;
+import org.eclipse.ecsp.entities.EventData;
+import org.eclipse.ecsp.entities.GenericEventData;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.eclipse.ecsp.transform.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the EventData types resolved by EventID and Version, and of the ObjectReaders and ObjectWriters used
+ * by the transformers.
+ *
+ * <p>
+ * The cache remembers the EventData type resolved for each EventID and Version, with a reader for it, so that
+ * a Data section can be bound directly to its type without going through the EventData deserializer, see
+ * {@link LazyIgniteEventImpl} and {@link EagerIgniteEventDecoder}. It also keeps the ObjectReaders and
+ * ObjectWriters of the event classes so that they are not created again on every call, the (de)serializers
+ * themselves being cached by the ObjectMapper.
+ * </p>
+ *
+ * <p>
+ * EventData types are learned the first time an event of an EventID and Version is bound, or up front with
+ * {@link #prewarm(String)}. Events resolving to {@link GenericEventData} are not cached as their data is not
+ * bound to a type of its own.
+ * </p>
+ */
+public class EventCodecCache {
+
+    /** The logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventCodecCache.class);
+
+    /** The number of parts of an EventID:Version pair. */
+    private static final int TWO_PARTS = 2;
+
+    /** The ObjectMapper instance. */
+    private final ObjectMapper mapper;
+
+    /** The readers by the class of the value read. */
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    /** The writers by the class of the value written. */
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /** The readers of the EventData type resolved for an EventID and Version. */
+    private final Map<EventTypeKey, ObjectReader> dataReaders = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the cache for the given ObjectMapper.
+     *
+     * @param mapper : ObjectMapper with the ignite serializers and deserializers registered
+     */
+    public EventCodecCache(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Gets the ObjectReader for the given type.
+     *
+     * @param type : the type of the value to read
+     * @return the ObjectReader
+     */
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    /**
+     * Gets the ObjectWriter for the given value. Values of the ignite event classes get a writer for their
+     * class, any other value, such as the list of nested events, gets the untyped writer of the mapper.
+     *
+     * @param value : the value to write
+     * @return the ObjectWriter
+     */
+    public ObjectWriter writerFor(Object value) {
+        Class<?> type = value instanceof IgniteEventImpl ? value.getClass() : Object.class;
+        return writers.computeIfAbsent(type, key -> key == Object.class ? mapper.writer() : mapper.writerFor(key));
+    }
+
+    /**
+     * Gets the ObjectReader of the EventData type resolved for the given EventID and Version.
+     *
+     * @param eventId : the EventID
+     * @param version : the Version
+     * @return the ObjectReader, null if the type is not known yet
+     */
+    public ObjectReader dataReaderFor(String eventId, Version version) {
+        if (eventId == null) {
+            return null;
+        }
+        return dataReaders.get(new EventTypeKey(eventId, version));
+    }
+
+    /**
+     * Remembers the EventData type resolved for the EventID and Version of the given event.
+     *
+     * @param eventId : the EventID
+     * @param version : the Version
+     * @param eventData : the EventData bound for the event
+     */
+    public void registerDataType(String eventId, Version version, EventData eventData) {
+        if (eventId == null || eventData == null || eventData instanceof GenericEventData) {
+            return;
+        }
+        dataReaders.computeIfAbsent(new EventTypeKey(eventId, version),
+                key -> mapper.readerFor(eventData.getClass()));
+    }
+
+    /**
+     * Resolves the EventData types of the given event types up front.
+     *
+     * @param eventTypes : comma separated list of EventID:Version pairs, for example Speed:1.0,DongleStatus:1.0
+     */
+    public void prewarm(String eventTypes) {
+        if (StringUtils.isBlank(eventTypes)) {
+            return;
+        }
+        for (String eventType : eventTypes.split(",")) {
+            String[] parts = eventType.trim().split(":", TWO_PARTS);
+            if (parts.length != TWO_PARTS || StringUtils.isBlank(parts[0])) {
+                LOGGER.warn("Ignoring invalid event type {} for the codec cache, expected EventID:Version", eventType);
+                continue;
+            }
+            prewarm(parts[0].trim(), parts[1].trim());
+        }
+    }
+
+    /**
+     * Resolves the EventData type of the given EventID and Version by binding an event with an empty Data
+     * section.
+     *
+     * @param eventId : the EventID
+     * @param version : the Version
+     */
+    private void prewarm(String eventId, String version) {
+        Map<String, Object> event = Map.of(EventAttribute.EVENTID, eventId, Constants.VERSION, version,
+                Constants.EVENT_DATA, Map.of());
+        try {
+            IgniteEventImpl resolved = readerFor(IgniteEventImpl.class).readValue(mapper.writeValueAsBytes(event));
+            registerDataType(resolved.getEventId(), resolved.getVersion(), resolved.getEventData());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Unable to resolve the event data type of {}:{} for the codec cache, it will be resolved"
+                    + " when first received. {}", eventId, version, e.getMessage());
+        }
+    }
+
+    /**
+     * The EventID and Version an EventData type is resolved for.
+     *
+     * @param eventId the EventID
+     * @param version the Version
+     */
+    private record EventTypeKey(String eventId, Version version) {
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import org.eclipse.ecsp.domain.IgniteEventSource;
+import org.eclipse.ecsp.entities.IgniteBlobEvent;
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEventBase;
+import org.eclipse.ecsp.serializer.IngestionSerializer;
+import org.eclipse.ecsp.serializer.IngestionSerializerFstImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Transformer decoding payloads of mixed data formats, for consumers of topics migrating from a format to another.
+ *
+ * <p>
+ * The format of each payload is sniffed from its leading bytes, see {@link PayloadFormat}, and the payload is
+ * decoded by the transformer of that format, without trying the other transformers in turn. A payload of a
+ * format without transformer is rejected with a {@link TransformerSerDeException}. Events are encoded by the
+ * transformer of a single format, JSON unless configured otherwise, whose source this transformer reports.
+ * </p>
+ */
+public class FormatDispatchingTransformer implements Transformer {
+
+    /** The property setting the format the events are encoded in, one of the names of {@link PayloadFormat}. */
+    public static final String ENCODE_FORMAT = "transformer.dispatch.encode.format";
+
+    /** The Constant LOGGER. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(FormatDispatchingTransformer.class);
+
+    /** The transformers by the format they decode. */
+    private final Map<PayloadFormat, Transformer> transformers;
+
+    /** The format the events are encoded in. */
+    private final PayloadFormat encodeFormat;
+
+    /** The transformer encoding the events. */
+    private final Transformer encoder;
+
+    /**
+     * Creates the transformer for the JSON, Smile, CBOR and FST formats with their default settings, encoding the
+     * events as JSON.
+     */
+    public FormatDispatchingTransformer() {
+        this(defaultTransformers(new GenericIgniteEventTransformer(), new SmileIgniteEventTransformer(),
+                new CborIgniteEventTransformer()), PayloadFormat.JSON);
+    }
+
+    /**
+     * Creates the transformer for the JSON, Smile and CBOR formats with the settings found in the given
+     * properties, and for the FST format, encoding the events in the format set by {@link #ENCODE_FORMAT}.
+     *
+     * @param props : Properties
+     */
+    public FormatDispatchingTransformer(Properties props) {
+        this(defaultTransformers(new GenericIgniteEventTransformer(props), new SmileIgniteEventTransformer(props),
+                new CborIgniteEventTransformer(props)),
+                PayloadFormat.valueOf(props.getProperty(ENCODE_FORMAT, PayloadFormat.JSON.name()).trim()));
+    }
+
+    /**
+     * Creates the transformer for the given formats.
+     *
+     * @param transformers : the transformers by the format they decode, see
+     *     {@link #fstTransformer(IngestionSerializer)} for FST
+     * @param encodeFormat : the format the events are encoded in, one of the given formats
+     */
+    public FormatDispatchingTransformer(Map<PayloadFormat, Transformer> transformers, PayloadFormat encodeFormat) {
+        this.transformers = new EnumMap<>(transformers);
+        this.transformers.remove(PayloadFormat.UNKNOWN);
+        this.encodeFormat = encodeFormat;
+        this.encoder = this.transformers.get(encodeFormat);
+        if (encoder == null) {
+            throw new IllegalArgumentException("No transformer for the encode format:" + encodeFormat);
+        }
+        LOGGER.info("Created format dispatching transformer for formats:{}, encode format:{}",
+                this.transformers.keySet(), encodeFormat);
+    }
+
+    /**
+     * Creates a transformer decoding and encoding {@link IgniteBlobEvent}s with the given IngestionSerializer, for
+     * the FST format.
+     *
+     * @param serializer : the IngestionSerializer
+     * @return the Transformer
+     */
+    public static Transformer fstTransformer(IngestionSerializer serializer) {
+        return new IngestionSerializerTransformer(serializer);
+    }
+
+    /**
+     * Transforms from byte[] to IgniteEvent, with the transformer of the format of the value.
+     *
+     * @param value the byte[] value
+     * @param header the header
+     * @return the IgniteEvent
+     */
+    @Override
+    public IgniteEvent fromBlob(byte[] value, Optional<IgniteEventBase> header) {
+        if (null == value) {
+            throw new TransformerSerDeException("Null value received, cannot convert to ignite event.");
+        }
+        return transformerFor(PayloadFormat.of(value, 0, value.length)).fromBlob(value, header);
+    }
+
+    /**
+     * Transforms a region of a byte[] to IgniteEvent, with the transformer of the format of the region.
+     *
+     * @param buf the byte[] holding the event
+     * @param offset the offset of the event in buf
+     * @param length the length of the event
+     * @param header the header
+     * @return the IgniteEvent
+     */
+    @Override
+    public IgniteEvent fromBlob(byte[] buf, int offset, int length, Optional<IgniteEventBase> header) {
+        if (null == buf) {
+            throw new TransformerSerDeException("Null value received, cannot convert to ignite event.");
+        }
+        Objects.checkFromIndexSize(offset, length, buf.length);
+        return transformerFor(PayloadFormat.of(buf, offset, length)).fromBlob(buf, offset, length, header);
+    }
+
+    /**
+     * Transforms the remaining bytes of a ByteBuffer to IgniteEvent, with the transformer of their format. The
+     * position of the given buffer is not modified.
+     *
+     * @param buffer the ByteBuffer holding the event
+     * @param header the header
+     * @return the IgniteEvent
+     */
+    @Override
+    public IgniteEvent fromBlob(ByteBuffer buffer, Optional<IgniteEventBase> header) {
+        if (null == buffer) {
+            throw new TransformerSerDeException("Null value received, cannot convert to ignite event.");
+        }
+        return transformerFor(PayloadFormat.of(buffer)).fromBlob(buffer, header);
+    }
+
+    /**
+     * Transforms from IgniteEvent to byte[], in the encode format.
+     *
+     * @param value the IgniteEvent value
+     * @return the byte[]
+     */
+    @Override
+    public byte[] toBlob(IgniteEvent value) {
+        return encoder.toBlob(value);
+    }
+
+    /**
+     * Transforms from IgniteEvent to bytes written to the given OutputStream, in the encode format.
+     *
+     * @param value the IgniteEvent value
+     * @param out the OutputStream the event is written to
+     * @return the number of bytes written
+     */
+    @Override
+    public int toBlob(IgniteEvent value, OutputStream out) {
+        return encoder.toBlob(value, out);
+    }
+
+    /**
+     * Transforms from IgniteEvent to bytes written to the given ByteBuffer at its position, in the encode format.
+     *
+     * @param value the IgniteEvent value
+     * @param buffer the ByteBuffer the event is written to
+     * @return the number of bytes written
+     */
+    @Override
+    public int toBlob(IgniteEvent value, ByteBuffer buffer) {
+        return encoder.toBlob(value, buffer);
+    }
+
+    /**
+     * Gets the source of the transformer of the encode format.
+     *
+     * @return the source
+     */
+    @Override
+    public String getSource() {
+        return encoder.getSource();
+    }
+
+    /**
+     * Gets the format the events are encoded in.
+     *
+     * @return the encode format
+     */
+    public PayloadFormat getEncodeFormat() {
+        return encodeFormat;
+    }
+
+    /**
+     * Gets the transformer decoding the given format.
+     *
+     * @param format the PayloadFormat of the payload
+     * @return the Transformer
+     */
+    private Transformer transformerFor(PayloadFormat format) {
+        Transformer transformer = transformers.get(format);
+        if (transformer == null) {
+            throw new TransformerSerDeException("No transformer for the payload format:" + format);
+        }
+        return transformer;
+    }
+
+    /**
+     * Gets the transformers of the JSON, Smile, CBOR and FST formats.
+     *
+     * @param json the transformer of the JSON format
+     * @param smile the transformer of the Smile format
+     * @param cbor the transformer of the CBOR format
+     * @return the transformers by format
+     */
+    private static Map<PayloadFormat, Transformer> defaultTransformers(Transformer json, Transformer smile,
+            Transformer cbor) {
+        Map<PayloadFormat, Transformer> transformers = new EnumMap<>(PayloadFormat.class);
+        transformers.put(PayloadFormat.JSON, json);
+        transformers.put(PayloadFormat.SMILE, smile);
+        transformers.put(PayloadFormat.CBOR, cbor);
+        transformers.put(PayloadFormat.FST, fstTransformer(new IngestionSerializerFstImpl()));
+        return transformers;
+    }
+
+    /**
+     * Transformer of the {@link IgniteBlobEvent}s serialized by an {@link IngestionSerializer}.
+     */
+    private static final class IngestionSerializerTransformer implements Transformer {
+
+        /** The IngestionSerializer. */
+        private final IngestionSerializer serializer;
+
+        /**
+         * Creates the transformer.
+         *
+         * @param serializer : the IngestionSerializer
+         */
+        private IngestionSerializerTransformer(IngestionSerializer serializer) {
+            this.serializer = serializer;
+        }
+
+        @Override
+        public IgniteEvent fromBlob(byte[] value, Optional<IgniteEventBase> header) {
+            return serializer.deserialize(value);
+        }
+
+        @Override
+        public IgniteEvent fromBlob(byte[] buf, int offset, int length, Optional<IgniteEventBase> header) {
+            Objects.checkFromIndexSize(offset, length, buf.length);
+            return serializer.deserialize(ByteBuffer.wrap(buf, offset, length));
+        }
+
+        @Override
+        public IgniteEvent fromBlob(ByteBuffer buffer, Optional<IgniteEventBase> header) {
+            return serializer.deserialize(buffer);
+        }
+
+        @Override
+        public byte[] toBlob(IgniteEvent value) {
+            if (value instanceof IgniteBlobEvent blobEvent) {
+                return serializer.serialize(blobEvent);
+            }
+            throw new TransformerSerDeException("Only IgniteBlobEvents can be serialized by the ingestion "
+                    + "serializer, received:" + (value == null ? null : value.getClass().getName()));
+        }
+
+        @Override
+        public String getSource() {
+            return IgniteEventSource.IGNITE + "-fst";
+        }
+    }
+}
@@ -39,21 +39,26 @@
 
 package org.eclipse.ecsp.transform;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import jakarta.annotation.PostConstruct;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.ecsp.domain.EventAttribute;
 import org.eclipse.ecsp.domain.EventID;
 import org.eclipse.ecsp.domain.IgniteEventSource;
 import org.eclipse.ecsp.entities.AbstractIgniteEvent;
-import org.eclipse.ecsp.entities.CompositeIgniteEvent;
 import org.eclipse.ecsp.entities.IgniteEvent;
 import org.eclipse.ecsp.entities.IgniteEventBase;
 import org.eclipse.ecsp.entities.IgniteEventImpl;
 import org.eclipse.ecsp.transform.config.JacksonMapperConfig;
-import org.eclipse.ecsp.transform.util.Constants;
+import org.eclipse.ecsp.transform.validation.InputValidationException;
+import org.eclipse.ecsp.transform.validation.InputValidationPlan;
+import org.eclipse.ecsp.transform.validation.ValidatingJsonParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -67,13 +72,26 @@ import org.springframework.core.env.Environment;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Generic value transformer to convert the Data to appropriate POJO.
@@ -112,20 +130,172 @@ public class GenericIgniteEventTransformer implements Transformer {
     /** The Constant TWO. */
     public static final int TWO = 2;
 
+    /** The property to enable lazy binding of the Data section of the decoded events. */
+    public static final String LAZY_EVENT_DATA_ENABLED = "transformer.lazy.event.data.enabled";
+
+    /** The property enabling the lazy binding of the failed event and exception of DLQ exception events. */
+    public static final String DLQ_LAZY_ENABLED = "transformer.dlq.lazy.enabled";
+
+    /** The property enabling the pass-through of unmodified events, see {@link PassThroughIgniteEventImpl}. */
+    public static final String PASS_THROUGH_ENABLED = "transformer.passthrough.enabled";
+
+    /** The property listing the EventID:Version pairs whose EventData type is resolved at startup. */
+    public static final String CODEC_CACHE_EVENT_TYPES = "transformer.codec.cache.event.types";
+
+    /** The property enabling the binding of the Data section with the EventData reader of the codec cache. */
+    public static final String CODEC_CACHE_DATA_BINDING_ENABLED = "transformer.codec.cache.data.binding.enabled";
+
+    /** The property setting the interval after which the input validation rules are compiled again. */
+    public static final String INPUT_VALIDATION_REFRESH_INTERVAL_MS = "input.validation.rules.refresh.interval.ms";
+
+    /** The property enabling the parallel decoding of large composite events. */
+    public static final String PARALLEL_COMPOSITE_ENABLED = "transformer.composite.parallel.enabled";
+
+    /** The property setting the number of nested events from which a composite event is decoded in parallel. */
+    public static final String PARALLEL_COMPOSITE_MIN_ELEMENTS = "transformer.composite.parallel.min.elements";
+
+    /** The property setting the size in bytes from which a composite event is decoded in parallel. */
+    public static final String PARALLEL_COMPOSITE_MIN_BYTES = "transformer.composite.parallel.min.bytes";
+
+    /** The default number of nested events from which a composite event is decoded in parallel. */
+    private static final int DEFAULT_PARALLEL_COMPOSITE_MIN_ELEMENTS = 64;
+
+    /** The default size in bytes from which a composite event is decoded in parallel. */
+    private static final int DEFAULT_PARALLEL_COMPOSITE_MIN_BYTES = 64 * 1024;
+
     /** The ObjectMapper instance. */
     private ObjectMapper jsonMapper;
 
+    /** The streaming decoder for composite events. */
+    private CompositeIgniteEventDecoder compositeDecoder;
+
+    /** The parallel decoder for large composite events. */
+    private ParallelCompositeIgniteEventDecoder parallelCompositeDecoder;
+
+    /** The Executor the nested events of large composite events are decoded on. */
+    private Executor compositeDecodeExecutor = ForkJoinPool.commonPool();
+
+    /** The streaming writer for composite events. */
+    private CompositeIgniteEventWriter compositeWriter;
+
+    /** The cache of the pre-built readers and writers. */
+    private EventCodecCache codecCache;
+
+    /** The decoder used when the Data section is bound with the EventData reader of the codec cache. */
+    private EagerIgniteEventDecoder eagerDecoder;
+
+    /** The decoder used when the Data section is bound lazily. */
+    private LazyIgniteEventDecoder lazyDecoder;
+
+    /** The decoder used when the failed event and exception of DLQ exception events are bound lazily. */
+    private DlqIgniteEventDecoder dlqDecoder;
+
+    /** The decoder of the failed events embedded in DLQ exception events. */
+    private NestedDlqEventDecoder nestedDlqDecoder;
+
+    /** The reader used to peek the envelope attributes of an event. */
+    private IgniteEventHeaderReader headerReader;
+
     /** The Environment instance. */
     @Autowired
     private Environment env;
 
-    /** The input validation string. */
-    private String inputValidation = ".inputvalidation";
-
     /** Suggests whether input validation is enabled or not. */
     @Value("${enable.input.validation:false}")
     private boolean isInputValidationEnabled;
 
+    /**
+     * The interval in milliseconds after which the input validation rules are compiled again from the
+     * environment, 0 to compile them only once. The rules can also be recompiled with
+     * {@link #refreshInputValidationRules()}.
+     */
+    @Value("${" + INPUT_VALIDATION_REFRESH_INTERVAL_MS + ":0}")
+    private long inputValidationRefreshIntervalMs;
+
+    /** The compiled input validation rules, null until first used. */
+    private final AtomicReference<InputValidationPlan> inputValidationPlan = new AtomicReference<>();
+
+    /**
+     * Suggests whether the Data section of the decoded events is bound on first access, see
+     * {@link LazyIgniteEventImpl}. Only applies to events decoded from a byte[] or a heap ByteBuffer.
+     */
+    @Value("${" + LAZY_EVENT_DATA_ENABLED + ":false}")
+    private boolean isLazyEventDataEnabled;
+
+    /**
+     * Suggests whether the failed event and the exception of DLQ exception events are bound on first access, see
+     * {@link LazyIgniteExceptionData}. Only applies to single events decoded from a byte[] or a heap ByteBuffer,
+     * for which it takes precedence over the lazy binding of the Data section.
+     */
+    @Value("${" + DLQ_LAZY_ENABLED + ":false}")
+    private boolean isDlqLazyEnabled;
+
+    /**
+     * Suggests whether decoded events retain their source bytes so that they are passed through as is by
+     * {@link #toBlob(IgniteEvent)} if they are not modified, see {@link PassThroughIgniteEventImpl}.
+     */
+    @Value("${" + PASS_THROUGH_ENABLED + ":false}")
+    private boolean isPassThroughEnabled;
+
+    /**
+     * Comma separated list of EventID:Version pairs whose EventData type is resolved at startup, see
+     * {@link EventCodecCache}. Other event types are resolved when first received.
+     */
+    @Value("${" + CODEC_CACHE_EVENT_TYPES + ":}")
+    private String codecCacheEventTypes;
+
+    /**
+     * Suggests whether the Data section of eagerly decoded events is bound with the EventData reader cached for
+     * their EventID and Version, see {@link EagerIgniteEventDecoder}.
+     */
+    @Value("${" + CODEC_CACHE_DATA_BINDING_ENABLED + ":false}")
+    private boolean isCodecCacheDataBindingEnabled;
+
+    /**
+     * Suggests whether the nested events of large composite events are decoded in parallel, see
+     * {@link ParallelCompositeIgniteEventDecoder}. Only applies to events decoded from a byte[] or a heap
+     * ByteBuffer, of at least {@link #parallelCompositeMinBytes} bytes and {@link #parallelCompositeMinElements}
+     * nested events.
+     */
+    @Value("${" + PARALLEL_COMPOSITE_ENABLED + ":false}")
+    private boolean isParallelCompositeEnabled;
+
+    /** The number of nested events from which a composite event is decoded in parallel. */
+    @Value("${" + PARALLEL_COMPOSITE_MIN_ELEMENTS + ":64}")
+    private int parallelCompositeMinElements = DEFAULT_PARALLEL_COMPOSITE_MIN_ELEMENTS;
+
+    /**
+     * The size in bytes from which a composite event is decoded in parallel. Smaller composite events are decoded
+     * on the calling thread without their nested events being counted.
+     */
+    @Value("${" + PARALLEL_COMPOSITE_MIN_BYTES + ":65536}")
+    private int parallelCompositeMinBytes = DEFAULT_PARALLEL_COMPOSITE_MIN_BYTES;
+
+    /**
+     * Suggests whether the Jackson Blackbird module is registered on the ObjectMapper, see
+     * {@link JacksonMapperConfig#registerBlackbirdModule(ObjectMapper)}. With the Properties constructor the
+     * module is registered by the JacksonMapperConfig from the same property.
+     */
+    @Value("${" + JacksonMapperConfig.BLACKBIRD_ENABLED + ":false}")
+    private boolean isBlackbirdEnabled;
+
+    /**
+     * The maximum number of frames written per stack trace of a serialized exception, see
+     * {@link JacksonMapperConfig#registerCompactStackTraceModule(ObjectMapper, int, boolean, boolean)}. With the
+     * Properties constructor the stack trace options are applied by the JacksonMapperConfig from the same
+     * properties.
+     */
+    @Value("${" + JacksonMapperConfig.EXCEPTION_STACK_MAX_DEPTH + ":0}")
+    private int stackTraceMaxDepth;
+
+    /** Suggests whether repeated stack frames of a serialized exception are written as references. */
+    @Value("${" + JacksonMapperConfig.EXCEPTION_STACK_DEDUP_ENABLED + ":false}")
+    private boolean isStackTraceDedupEnabled;
+
+    /** Suggests whether stack frames written as references are read back. */
+    @Value("${" + JacksonMapperConfig.EXCEPTION_STACK_DEDUP_READ_ENABLED + ":false}")
+    private boolean isStackTraceDedupReadEnabled;
+
     /**
      * Default constructor of GenericIgniteEventTransformer which initializes the ObjectMapper 
      * instance in this transformer class to read / write JSONs.
@@ -133,7 +303,7 @@ public class GenericIgniteEventTransformer implements Transformer {
     @Autowired
     public GenericIgniteEventTransformer() {
         if (jsonMapper == null) {
-            jsonMapper = new JacksonMapperConfig().jsonObjectMapper();
+            setObjectMapper(new JacksonMapperConfig().jsonObjectMapper());
         }
     }
 
@@ -146,8 +316,35 @@ public class GenericIgniteEventTransformer implements Transformer {
     public GenericIgniteEventTransformer(Properties props) {
         LOGGER.debug("Loading parameterized constructor for GenericIgniteEventTransformer with properties :-{}", props);
         if (jsonMapper == null) {
-            jsonMapper = new JacksonMapperConfig(props).jsonObjectMapper();
+            setObjectMapper(new JacksonMapperConfig(props).jsonObjectMapper());
         }
+        isLazyEventDataEnabled = Boolean.parseBoolean(props.getProperty(LAZY_EVENT_DATA_ENABLED));
+        isDlqLazyEnabled = Boolean.parseBoolean(props.getProperty(DLQ_LAZY_ENABLED));
+        isPassThroughEnabled = Boolean.parseBoolean(props.getProperty(PASS_THROUGH_ENABLED));
+        codecCacheEventTypes = props.getProperty(CODEC_CACHE_EVENT_TYPES);
+        isCodecCacheDataBindingEnabled = Boolean.parseBoolean(props.getProperty(CODEC_CACHE_DATA_BINDING_ENABLED));
+        isParallelCompositeEnabled = Boolean.parseBoolean(props.getProperty(PARALLEL_COMPOSITE_ENABLED));
+        parallelCompositeMinElements = Integer.parseInt(props.getProperty(PARALLEL_COMPOSITE_MIN_ELEMENTS,
+                String.valueOf(DEFAULT_PARALLEL_COMPOSITE_MIN_ELEMENTS)));
+        parallelCompositeMinBytes = Integer.parseInt(props.getProperty(PARALLEL_COMPOSITE_MIN_BYTES,
+                String.valueOf(DEFAULT_PARALLEL_COMPOSITE_MIN_BYTES)));
+        initialize();
+    }
+
+    /**
+     * Registers the Jackson Blackbird module and the compact stack trace module if enabled and resolves the
+     * EventData types of the configured event types in the codec cache. The readers and writers are rebuilt after
+     * a module is registered as the ones built before would not use it.
+     */
+    @PostConstruct
+    public void initialize() {
+        boolean registered = isBlackbirdEnabled && JacksonMapperConfig.registerBlackbirdModule(jsonMapper);
+        registered |= JacksonMapperConfig.registerCompactStackTraceModule(jsonMapper, stackTraceMaxDepth,
+                isStackTraceDedupEnabled, isStackTraceDedupReadEnabled);
+        if (registered) {
+            setObjectMapper(jsonMapper);
+        }
+        codecCache.prewarm(codecCacheEventTypes);
     }
 
     /**
@@ -163,38 +360,409 @@ public class GenericIgniteEventTransformer implements Transformer {
         if (null == value) {
             throw new TransformerSerDeException("Null value received, cannot convert to ignite event.");
         }
-        /*
-          For Ignite event we can directly convert the value to string and then
-          based on eventid and version we can load the appropriate data class
-         */
-        String eventAsString = new String(value);
-        LOGGER.debug("Event received:{}", eventAsString);
-        AbstractIgniteEvent igniteEvent = null;
-        try {
-            JsonNode node = jsonMapper.readTree(eventAsString);
-            if (node.isObject()) {
-                igniteEvent = jsonMapper.readValue(eventAsString, IgniteEventImpl.class);
-            } else {
-                igniteEvent = new CompositeIgniteEvent();
-                // An eventId is mandatory for each ignite event, or it will
-                // throw exception in DFFAgent
-                igniteEvent.setEventId(EventID.COMPOSITE_EVENT);
-                List<IgniteEvent> eventAsList = new ArrayList<>();
-                ArrayNode nodes = (ArrayNode) node;
-                int length = nodes.size();
-                for (int i = 0; i < length; i++) {
-                    JsonNode child = nodes.get(i);
-                    IgniteEventImpl event = jsonMapper.readValue(jsonMapper.writeValueAsString(child),
-                            IgniteEventImpl.class);
-                    eventAsList.add(event);
+        return fromBlob(value, 0, value.length, header);
+    }
+
+    /**
+     * Transforms a region of a byte[] to IgniteEvent. The UTF-8 bytes are parsed in place, neither the region
+     * nor a String of it is created.
+     *
+     * @param buf the byte[] holding the event
+     * @param offset the offset of the event in buf
+     * @param length the length of the event
+     * @param header the header
+     * @return the IgniteEvent
+     * @throws IndexOutOfBoundsException if the region is out of the bounds of buf
+     */
+    @Override
+    public IgniteEvent fromBlob(byte[] buf, int offset, int length, Optional<IgniteEventBase> header) {
+
+        if (null == buf) {
+            throw new TransformerSerDeException("Null value received, cannot convert to ignite event.");
+        }
+        Objects.checkFromIndexSize(offset, length, buf.length);
+        return decode(buf, offset, length, header, activeInputValidationPlan());
+    }
+
+    /**
+     * Transforms a batch of byte[] to IgniteEvents. The input validation rules are looked up once for the
+     * batch, each record is then decoded as by {@link #fromBlob(byte[], Optional)}. A record which fails is
+     * returned with its exception, the other records of the batch are still decoded.
+     *
+     * @param values the byte[] of the records, in batch order
+     * @param headers the header of each record, in batch order, null if no record has a header
+     * @return the result of each record, in batch order
+     */
+    @Override
+    public List<TransformResult<IgniteEvent>> fromBlobs(List<byte[]> values,
+            List<Optional<IgniteEventBase>> headers) {
+        InputValidationPlan plan = activeInputValidationPlan();
+        List<TransformResult<IgniteEvent>> results = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            byte[] value = values.get(i);
+            try {
+                if (null == value) {
+                    throw new TransformerSerDeException("Null value received, cannot convert to ignite event.");
                 }
-                ((CompositeIgniteEvent) igniteEvent).setNestedEvents(eventAsList);
+                results.add(TransformResult.success(decode(value, 0, value.length,
+                        headers == null ? Optional.empty() : headers.get(i), plan)));
+            } catch (RuntimeException e) {
+                results.add(TransformResult.failure(e));
             }
+        }
+        return results;
+    }
+
+    /**
+     * Decodes a region of a byte[] to IgniteEvent.
+     *
+     * @param buf the byte[] holding the event
+     * @param offset the offset of the event in buf
+     * @param length the length of the event
+     * @param header the header
+     * @param plan the input validation rules, null if input validation is disabled
+     * @return the IgniteEvent
+     */
+    private IgniteEvent decode(byte[] buf, int offset, int length, Optional<IgniteEventBase> header,
+            InputValidationPlan plan) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Event received:{}", new String(buf, offset, length, StandardCharsets.UTF_8));
+        }
+        AbstractIgniteEvent igniteEvent = null;
+        try (JsonParser parser = validatingParser(jsonMapper.createParser(buf, offset, length), header, plan)) {
+            igniteEvent = readIgniteEvent(parser, buf, offset, length);
         } catch (Exception e) {
+            rethrowValidationFailure(e);
             LOGGER.error("Unable to convert the value to IgniteEventImpl List.", e);
-            throw new TransformerSerDeException("Unable to deserialize the ignite event List:" + new String(value));
+            throw new TransformerSerDeException("Unable to deserialize the ignite event List:"
+                    + new String(buf, offset, length, StandardCharsets.UTF_8));
+        }
+        retainSource(igniteEvent, buf, offset, length);
+        return completeIgniteEvent(igniteEvent, header, plan);
+    }
+
+    /**
+     * Transforms the remaining bytes of a ByteBuffer to IgniteEvent. Heap buffers are parsed in place
+     * from their backing array, direct buffers are streamed to the parser without being copied into an
+     * intermediate array. The position of the given buffer is not modified.
+     *
+     * @param buffer the ByteBuffer holding the event
+     * @param header the header
+     * @return the IgniteEvent
+     */
+    @Override
+    public IgniteEvent fromBlob(ByteBuffer buffer, Optional<IgniteEventBase> header) {
+
+        if (null == buffer) {
+            throw new TransformerSerDeException("Null value received, cannot convert to ignite event.");
+        }
+        if (buffer.hasArray()) {
+            return fromBlob(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), header);
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Event received:{}", StandardCharsets.UTF_8.decode(buffer.duplicate()));
+        }
+        InputValidationPlan plan = activeInputValidationPlan();
+        AbstractIgniteEvent igniteEvent = null;
+        try (JsonParser parser = validatingParser(
+                jsonMapper.createParser(new ByteBufferBackedInputStream(buffer.duplicate())), header, plan)) {
+            igniteEvent = readIgniteEvent(parser, null, 0, buffer.remaining());
+        } catch (Exception e) {
+            rethrowValidationFailure(e);
+            LOGGER.error("Unable to convert the value to IgniteEventImpl List.", e);
+            throw new TransformerSerDeException("Unable to deserialize the ignite event List:"
+                    + StandardCharsets.UTF_8.decode(buffer.duplicate()));
+        }
+        retainSource(igniteEvent, buffer);
+        return completeIgniteEvent(igniteEvent, header, plan);
+    }
+
+    /**
+     * Transforms the failed event embedded in the nested DLQ exception data of the DLQ exception event held by a
+     * region of a byte[] to IgniteEvent, for reprocessing. The base64 of the failed event is decoded from the
+     * exception event once, into a byte[] of the exact size of the failed event, which is decoded as by
+     * {@link #fromBlob(byte[], int, int, Optional)}. See {@link NestedDlqEventDecoder}.
+     *
+     * @param buf the byte[] holding the exception event
+     * @param offset the offset of the exception event in buf
+     * @param length the length of the exception event
+     * @param header the header of the failed event
+     * @return the failed IgniteEvent
+     */
+    public IgniteEvent fromNestedDlqBlob(byte[] buf, int offset, int length, Optional<IgniteEventBase> header) {
+        return nestedDlqDecoder.decode(buf, offset, length, this, header);
+    }
+
+    /**
+     * Transforms the failed event embedded in the nested DLQ exception data of the DLQ exception event held by a
+     * region of a byte[] to IgniteEvent, as {@link #fromNestedDlqBlob(byte[], int, int, Optional)} does, but
+     * decodes the base64 of the failed event in place, over the exception event, so that no byte[] is allocated
+     * for it. The region of buf is overwritten and must no longer be used.
+     *
+     * @param buf the byte[] holding the exception event, overwritten
+     * @param offset the offset of the exception event in buf
+     * @param length the length of the exception event
+     * @param header the header of the failed event
+     * @return the failed IgniteEvent
+     */
+    public IgniteEvent fromNestedDlqBlobInPlace(byte[] buf, int offset, int length,
+            Optional<IgniteEventBase> header) {
+        return nestedDlqDecoder.decodeInPlace(buf, offset, length, this, header);
+    }
+
+    /**
+     * Opens a reader of the ignite events serialized one after the other in the stream, as newline-delimited JSON
+     * or as concatenated JSON values. The events are decoded one at a time as they are iterated, each of them as
+     * by {@link #fromBlob(byte[], Optional)} without header, except that the Data section is bound eagerly and the
+     * source bytes are not retained for pass-through. Closing the reader closes the stream.
+     *
+     * @param in the InputStream of the serialized events
+     * @return the IgniteEventStreamReader, to be closed once no longer used
+     */
+    public IgniteEventStreamReader openEventStream(InputStream in) {
+        if (null == in) {
+            throw new TransformerSerDeException("Null stream received, cannot read ignite events.");
+        }
+        InputValidationPlan plan = activeInputValidationPlan();
+        JsonParser parser;
+        try {
+            parser = jsonMapper.createParser(in);
+        } catch (IOException e) {
+            throw new TransformerSerDeException("Unable to open the ignite event stream", e);
+        }
+        return new IgniteEventStreamReader(parser, validatingParser(parser, Optional.empty(), plan),
+                (recordParser, firstToken) -> {
+                    AbstractIgniteEvent igniteEvent;
+                    try {
+                        igniteEvent = readIgniteEvent(recordParser, firstToken, null, 0, 0);
+                    } catch (IOException | RuntimeException e) {
+                        rethrowValidationFailure(e);
+                        throw e;
+                    }
+                    return completeIgniteEvent(igniteEvent, Optional.empty(), plan);
+                });
+    }
+
+    /**
+     * Opens a reader of the ignite events serialized one after the other in the file, see
+     * {@link #openEventStream(InputStream)}.
+     *
+     * @param path the Path of the file of the serialized events
+     * @return the IgniteEventStreamReader, to be closed once no longer used
+     */
+    public IgniteEventStreamReader openEventStream(Path path) {
+        try {
+            return openEventStream(Files.newInputStream(path));
+        } catch (IOException e) {
+            throw new TransformerSerDeException("Unable to open the ignite event file:" + path, e);
+        }
+    }
+
+    /**
+     * Reads only the envelope attributes (EventID, Version, VehicleId, SourceDeviceId, RequestId and Timestamp)
+     * of the serialized ignite event, without deserializing the event. Meant for routing decisions, the scan
+     * stops as soon as all the attributes are found and nested values such as Data are skipped.
+     *
+     * @param value the byte[] value
+     * @return the IgniteEventHeader
+     */
+    public IgniteEventHeader peekHeader(byte[] value) {
+        if (null == value) {
+            throw new TransformerSerDeException("Null value received, cannot read the ignite event header.");
+        }
+        return peekHeader(value, 0, value.length);
+    }
+
+    /**
+     * Reads only the envelope attributes of the ignite event serialized in the given region of buf.
+     *
+     * @param buf the byte[] holding the serialized event
+     * @param offset the offset of the event in buf
+     * @param length the length of the event in buf
+     * @return the IgniteEventHeader
+     * @throws IndexOutOfBoundsException if the region is out of the bounds of buf
+     * @see #peekHeader(byte[])
+     */
+    public IgniteEventHeader peekHeader(byte[] buf, int offset, int length) {
+        if (null == buf) {
+            throw new TransformerSerDeException("Null value received, cannot read the ignite event header.");
+        }
+        Objects.checkFromIndexSize(offset, length, buf.length);
+        try {
+            return headerReader.read(buf, offset, length);
+        } catch (IOException e) {
+            LOGGER.error("Unable to read the ignite event header.", e);
+            throw new TransformerSerDeException("Unable to read the ignite event header:"
+                    + new String(buf, offset, length, StandardCharsets.UTF_8), e);
+        }
+    }
+
+    /**
+     * Reads a single ignite event or a composite of them from the parser.
+     *
+     * <p>
+     * The first token decides whether the payload is a single ignite event or a list of them, the event(s)
+     * are then bound straight from the same parser so that the value is tokenized only once. When lazy
+     * binding of the Data section is enabled and the parser reads from a byte[], the event(s) are decoded
+     * as {@link LazyIgniteEventImpl}, when pass-through is enabled single events are decoded as
+     * {@link PassThroughIgniteEventImpl}. When lazy binding of DLQ exception events is enabled, single events read
+     * from a byte[] are decoded by the {@link DlqIgniteEventDecoder}. Large composite events read from a byte[]
+     * are decoded in parallel if enabled.
+     * </p>
+     *
+     * @param parser the JsonParser positioned before the first token of the event
+     * @param buf the byte[] the parser reads from, null if the parser reads from a stream
+     * @param offset the offset in buf the parser was created with
+     * @param length the length of the event
+     * @return the AbstractIgniteEvent
+     * @throws IOException if the event cannot be read or bound
+     */
+    private AbstractIgniteEvent readIgniteEvent(JsonParser parser, byte[] buf, int offset, int length)
+            throws IOException {
+        return readIgniteEvent(parser, parser.nextToken(), buf, offset, length);
+    }
+
+    /**
+     * Reads a single ignite event or a composite of them from the parser positioned on the first token of the
+     * event, see {@link #readIgniteEvent(JsonParser, byte[], int, int)}.
+     *
+     * @param parser the JsonParser positioned on the first token of the event
+     * @param token the first token of the event
+     * @param buf the byte[] the parser reads from, null if the parser reads from a stream
+     * @param offset the offset in buf the parser was created with
+     * @param length the length of the event
+     * @return the AbstractIgniteEvent
+     * @throws IOException if the event cannot be read or bound
+     */
+    private AbstractIgniteEvent readIgniteEvent(JsonParser parser, JsonToken token, byte[] buf, int offset,
+            int length) throws IOException {
+        boolean lazy = isLazyEventDataEnabled && buf != null;
+        if (token == JsonToken.START_OBJECT) {
+            ObjectReader eventReader = codecCache.readerFor(isPassThroughEnabled ? PassThroughIgniteEventImpl.class
+                    : IgniteEventImpl.class);
+            if (isDlqLazyEnabled && buf != null) {
+                return dlqDecoder.decode(parser, buf, offset, eventReader);
+            }
+            if (lazy) {
+                return lazyDecoder.decode(parser, buf, offset);
+            }
+            return isCodecCacheDataBindingEnabled ? eagerDecoder.decode(parser, eventReader)
+                    : eventReader.readValue(parser);
+        } else if (token == JsonToken.START_ARRAY) {
+            ObjectReader eventReader = codecCache.readerFor(IgniteEventImpl.class);
+            CompositeIgniteEventDecoder.NestedEventReader nestedEventReader = isCodecCacheDataBindingEnabled
+                    ? p -> eagerDecoder.decode(p, eventReader) : eventReader::readValue;
+            if (isParallelCompositeEnabled && buf != null && length >= parallelCompositeMinBytes) {
+                return parallelCompositeDecoder.decode(parser, buf, offset,
+                        lazy ? (p, elementOffset) -> lazyDecoder.decode(p, buf, elementOffset)
+                            : (p, elementOffset) -> nestedEventReader.read(p),
+                        compositeDecodeExecutor, parallelCompositeMinElements);
+            }
+            return compositeDecoder.decode(parser, lazy ? p -> lazyDecoder.decode(p, buf, offset) : nestedEventReader);
+        }
+        throw new TransformerSerDeException("Expected a JSON object or array but received token:" + token);
+    }
+
+    /**
+     * Wraps the parser into a {@link ValidatingJsonParser} if input validation is enabled, so that an event whose
+     * header attributes fail their rules is rejected while it is parsed rather than after it is bound. The
+     * attributes the given header replaces are not checked while parsing, their final values are checked once
+     * the event is completed.
+     *
+     * @param parser the JsonParser the event is read from
+     * @param header the header
+     * @param plan the input validation rules, null if input validation is disabled
+     * @return the JsonParser to read the event from
+     */
+    private JsonParser validatingParser(JsonParser parser, Optional<IgniteEventBase> header,
+            InputValidationPlan plan) {
+        if (plan == null || plan.isEmpty()) {
+            return parser;
+        }
+        return new ValidatingJsonParser(parser, plan, overriddenAttributes(header));
+    }
+
+    /**
+     * Gets the validated attributes whose value is replaced by the header, see
+     * {@link #setHeaders(AbstractIgniteEvent, Optional)}.
+     *
+     * @param header the header
+     * @return the names of the replaced attributes
+     */
+    private Set<String> overriddenAttributes(Optional<IgniteEventBase> header) {
+        if (header.isEmpty()) {
+            return Set.of();
+        }
+        IgniteEventBase headerEvent = header.get();
+        List<String> attributes = new ArrayList<>(THREE);
+        if (null != headerEvent.getSourceDeviceId()) {
+            attributes.add(EventAttribute.SOURCE_DEVICE_ID);
+        }
+        if (!StringUtils.isBlank(headerEvent.getVehicleId())) {
+            attributes.add(EventAttribute.VEHICLE_ID);
         }
+        if (!StringUtils.isBlank(headerEvent.getRequestId())) {
+            attributes.add(EventAttribute.REQUEST_ID);
+        }
+        return Set.copyOf(attributes);
+    }
+
+    /**
+     * Raises the failure of the input validation done while parsing, if it caused the given exception. The
+     * failure is raised the same way as when the validation of the bound event fails.
+     *
+     * @param e the exception raised while reading the event
+     */
+    private void rethrowValidationFailure(Exception e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InputValidationException validationFailure) {
+                validationFailure.getViolations().forEach(LOGGER::error);
+                throw new IllegalArgumentException("Validation Failed.");
+            }
+        }
+    }
 
+    /**
+     * Retains the region of buf the event was decoded from on the event, if pass-through is enabled. The
+     * byte[] is referenced as is when the event spans all of it, otherwise the region is copied.
+     *
+     * @param igniteEvent the decoded AbstractIgniteEvent
+     * @param buf the byte[] the event was decoded from
+     * @param offset the offset of the event in buf
+     * @param length the length of the event
+     */
+    private void retainSource(AbstractIgniteEvent igniteEvent, byte[] buf, int offset, int length) {
+        if (isPassThroughEnabled && igniteEvent instanceof PassThroughIgniteEventImpl passThroughEvent) {
+            passThroughEvent.retainSource(offset == 0 && length == buf.length ? buf
+                    : Arrays.copyOfRange(buf, offset, offset + length));
+        }
+    }
+
+    /**
+     * Retains a copy of the remaining bytes of the buffer the event was decoded from on the event, if
+     * pass-through is enabled.
+     *
+     * @param igniteEvent the decoded AbstractIgniteEvent
+     * @param buffer the ByteBuffer the event was decoded from
+     */
+    private void retainSource(AbstractIgniteEvent igniteEvent, ByteBuffer buffer) {
+        if (isPassThroughEnabled && igniteEvent instanceof PassThroughIgniteEventImpl passThroughEvent) {
+            byte[] source = new byte[buffer.remaining()];
+            buffer.duplicate().get(source);
+            passThroughEvent.retainSource(source);
+        }
+    }
+
+    /**
+     * Sets the headers on the decoded ignite event and validates its input params if enabled.
+     *
+     * @param igniteEvent the decoded AbstractIgniteEvent
+     * @param header the header
+     * @param plan the input validation rules, null if input validation is disabled
+     * @return the IgniteEvent
+     */
+    private IgniteEvent completeIgniteEvent(AbstractIgniteEvent igniteEvent, Optional<IgniteEventBase> header,
+            InputValidationPlan plan) {
         /*
           Now set the header in the ignite event
          */
@@ -205,9 +773,8 @@ public class GenericIgniteEventTransformer implements Transformer {
         /*
           Validate all input params on ignite event
          */
-        if (isInputValidationEnabled && igniteEvent != null && env != null) {
-            Properties props = extractProperties(env);
-            if (!isAllInputParamsValid(igniteEvent, props)) {
+        if (plan != null && igniteEvent != null) {
+            if (!isAllInputParamsValid(igniteEvent, plan)) {
                 throw new IllegalArgumentException("Validation Failed.");
             }
         }
@@ -219,24 +786,11 @@ public class GenericIgniteEventTransformer implements Transformer {
      * Checks if is all input params are valid.
      *
      * @param igniteEvent the AbstractIgniteEvent
-     * @param props the props
+     * @param plan the input validation rules
      * @return true, if is all input params valid
      */
-    private boolean isAllInputParamsValid(AbstractIgniteEvent igniteEvent,
-            Properties props) {
-        Map<String, String> params = new HashMap<>();
-        params.put(EventAttribute.EVENTID, igniteEvent.getEventId());
-        params.put(EventAttribute.BIZTRANSACTION_ID, igniteEvent.getBizTransactionId());
-        params.put(EventAttribute.TIMESTAMP, String.valueOf(igniteEvent.getTimestamp()));
-        params.put(EventAttribute.DFF_QUALIFIER, igniteEvent.getDFFQualifier());
-        params.put(EventAttribute.CORRELATION_ID, igniteEvent.getCorrelationId());
-        params.put(EventAttribute.MESSAGE_ID, igniteEvent.getMessageId());
-        params.put(EventAttribute.REQUEST_ID, igniteEvent.getRequestId());
-        params.put(EventAttribute.SOURCE_DEVICE_ID, igniteEvent.getSourceDeviceId());
-        params.put(EventAttribute.VEHICLE_ID, igniteEvent.getVehicleId());
-        params.put(EventAttribute.SOURCE_DEVICE_ID, igniteEvent.getSourceDeviceId());
-
-        List<String> invalidParams = isValidInputParams(params, props);
+    private boolean isAllInputParamsValid(AbstractIgniteEvent igniteEvent, InputValidationPlan plan) {
+        List<String> invalidParams = plan.validate(igniteEvent);
         if (!invalidParams.isEmpty()) {
             invalidParams.forEach(LOGGER::error);
             return false;
@@ -244,6 +798,43 @@ public class GenericIgniteEventTransformer implements Transformer {
         return true;
     }
 
+    /**
+     * Gets the compiled input validation rules if input validation is enabled.
+     *
+     * @return the InputValidationPlan, null if input validation is disabled
+     */
+    private InputValidationPlan activeInputValidationPlan() {
+        return isInputValidationEnabled && env != null ? currentInputValidationPlan() : null;
+    }
+
+    /**
+     * Gets the compiled input validation rules, compiling them from the environment on first use and again
+     * once the refresh interval, if any, has elapsed.
+     *
+     * @return the InputValidationPlan
+     */
+    private InputValidationPlan currentInputValidationPlan() {
+        InputValidationPlan plan = inputValidationPlan.get();
+        if (plan == null || (inputValidationRefreshIntervalMs > 0
+                && System.nanoTime() - plan.getCompiledAt()
+                    > TimeUnit.MILLISECONDS.toNanos(inputValidationRefreshIntervalMs))) {
+            InputValidationPlan compiled = InputValidationPlan.compile(extractProperties(env));
+            // only one of the racing threads swaps its plan in, the others use it
+            plan = inputValidationPlan.compareAndSet(plan, compiled) ? compiled : inputValidationPlan.get();
+        }
+        return plan;
+    }
+
+    /**
+     * Compiles the input validation rules from the environment again and swaps them in place of the current
+     * ones. Events being validated concurrently keep using the rules they started with.
+     */
+    public void refreshInputValidationRules() {
+        if (env != null) {
+            inputValidationPlan.set(InputValidationPlan.compile(extractProperties(env)));
+        }
+    }
+
     /**
      * Transforms from IgniteEvent to byte[].
      *
@@ -252,37 +843,212 @@ public class GenericIgniteEventTransformer implements Transformer {
      */
     @Override
     public byte[] toBlob(IgniteEvent value) {
+        return serialize(value, null);
+    }
+
+    /**
+     * Transforms a batch of IgniteEvents to byte[]. The events are serialized one after the other into the
+     * same buffer, so that its segments are allocated once for the batch rather than once for each event. An
+     * event which fails is returned with its exception, the other events of the batch are still serialized.
+     *
+     * @param values the IgniteEvents, in batch order
+     * @return the result of each event, in batch order
+     */
+    @Override
+    public List<TransformResult<byte[]>> toBlobs(List<IgniteEvent> values) {
+        List<TransformResult<byte[]>> results = new ArrayList<>(values.size());
+        try (ByteArrayBuilder buffer = new ByteArrayBuilder()) {
+            for (IgniteEvent value : values) {
+                try {
+                    results.add(TransformResult.success(serialize(value, buffer)));
+                } catch (RuntimeException e) {
+                    results.add(TransformResult.failure(e));
+                } finally {
+                    buffer.reset();
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Transforms from IgniteEvent to bytes written to the given OutputStream, without building a byte[] of the
+     * event. The stream is not closed.
+     *
+     * @param value the IgniteEvent value
+     * @param out the OutputStream the event is written to
+     * @return the number of bytes written
+     */
+    @Override
+    public int toBlob(IgniteEvent value, OutputStream out) {
+        byte[] source = unmodifiedSourceOf(value);
+        try {
+            if (source != null) {
+                out.write(source);
+                return source.length;
+            }
+            Object payload = payloadOf(value);
+            return BlobOutput.write(codecCache.writerFor(payload), payload, out);
+        } catch (IOException e) {
+            throw serializationFailure(value, e);
+        }
+    }
+
+    /**
+     * Transforms from IgniteEvent to bytes written to the given ByteBuffer at its position, without building a
+     * byte[] of the event. The position is advanced past the written bytes, it is left unchanged when the event
+     * does not fit the buffer and a {@link java.nio.BufferOverflowException} is thrown.
+     *
+     * @param value the IgniteEvent value
+     * @param buffer the ByteBuffer the event is written to
+     * @return the number of bytes written
+     */
+    @Override
+    public int toBlob(IgniteEvent value, ByteBuffer buffer) {
+        byte[] source = unmodifiedSourceOf(value);
+        if (source != null) {
+            return BlobOutput.write(source, buffer);
+        }
+        try {
+            Object payload = payloadOf(value);
+            return BlobOutput.write(codecCache.writerFor(payload), payload, buffer);
+        } catch (IOException e) {
+            throw serializationFailure(value, e);
+        }
+    }
+
+    /**
+     * Writes a composite event made of the nested events returned by the iterator to the OutputStream. The
+     * nested events are written as they are returned, they are not collected into a list first. The stream is
+     * not closed.
+     *
+     * @param nestedEvents the Iterator over the nested events
+     * @param out the OutputStream the composite event is written to
+     * @return the number of nested events written
+     */
+    public int toCompositeBlob(Iterator<? extends IgniteEvent> nestedEvents, OutputStream out) {
+        try {
+            return compositeWriter.write(nestedEvents, out);
+        } catch (IOException e) {
+            LOGGER.error("Unable to write the composite ignite event.", e);
+            throw new TransformerSerDeException("Unable to write the composite ignite event", e);
+        }
+    }
+
+    /**
+     * Writes a composite event made of the nested events returned by the supplier, until it returns null, to
+     * the OutputStream. The stream is not closed.
+     *
+     * @param nestedEvents the Supplier of the nested events, returning null once there are no more
+     * @param out the OutputStream the composite event is written to
+     * @return the number of nested events written
+     * @see #toCompositeBlob(Iterator, OutputStream)
+     */
+    public int toCompositeBlob(Supplier<? extends IgniteEvent> nestedEvents, OutputStream out) {
+        try {
+            return compositeWriter.write(nestedEvents, out);
+        } catch (IOException e) {
+            LOGGER.error("Unable to write the composite ignite event.", e);
+            throw new TransformerSerDeException("Unable to write the composite ignite event", e);
+        }
+    }
+
+    /**
+     * Opens a composite event on the OutputStream, for producers which receive the nested events one at a time.
+     * Each nested event written to the returned sink is serialized to the stream right away, closing the sink
+     * ends the composite event. The stream itself is not closed.
+     *
+     * @param out the OutputStream the composite event is written to
+     * @return the Sink taking the nested events
+     */
+    public CompositeIgniteEventWriter.Sink openCompositeBlob(OutputStream out) {
+        try {
+            return compositeWriter.open(out);
+        } catch (IOException e) {
+            LOGGER.error("Unable to write the composite ignite event.", e);
+            throw new TransformerSerDeException("Unable to write the composite ignite event", e);
+        }
+    }
+
+    /**
+     * Serializes the IgniteEvent to byte[].
+     *
+     * @param value the IgniteEvent value
+     * @param buffer the buffer the event is written to before being copied out, null to use a new one
+     * @return the byte[]
+     */
+    private byte[] serialize(IgniteEvent value, ByteArrayBuilder buffer) {
+        byte[] source = unmodifiedSourceOf(value);
+        if (source != null) {
+            return source;
+        }
+        try {
+            Object payload = payloadOf(value);
+            ObjectWriter writer = codecCache.writerFor(payload);
+            if (buffer == null) {
+                return writer.writeValueAsBytes(payload);
+            }
+            writer.writeValue(buffer, payload);
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            throw serializationFailure(value, e);
+        }
+    }
+
+    /**
+     * Gets the source bytes of the IgniteEvent to serialize, if it is an unmodified pass-through event.
+     *
+     * @param value the IgniteEvent value
+     * @return the source bytes, null if the event has to be serialized
+     */
+    private byte[] unmodifiedSourceOf(IgniteEvent value) {
 
         if (null == value) {
             LOGGER.error("Received null ignite event value, cannot conver to blob.");
             throw new TransformerSerDeException("Received null ignite event value");
         }
 
+        if (value instanceof PassThroughIgniteEventImpl passThroughEvent) {
+            byte[] source = passThroughEvent.unmodifiedSource();
+            if (source != null) {
+                LOGGER.debug("Passing through the source bytes of unmodified ignite event:{}", value.getEventId());
+                return source;
+            }
+        }
         LOGGER.debug("Converting ignite event:{} to byte array", value);
+        return null;
+    }
 
-        byte[] blobData = null;
-        try {
-            if (EventID.COMPOSITE_EVENT.equals(value.getEventId())) {
-                blobData = jsonMapper.writeValueAsBytes(value.getNestedEvents());
-            } else {
-                blobData = jsonMapper.writeValueAsBytes(value);
-            }
+    /**
+     * Gets the value to serialize for the IgniteEvent, the list of nested events for a composite event.
+     *
+     * @param value the IgniteEvent value
+     * @return the value to serialize
+     */
+    private static Object payloadOf(IgniteEvent value) {
+        return EventID.COMPOSITE_EVENT.equals(value.getEventId()) ? value.getNestedEvents() : value;
+    }
 
-        } catch (JsonProcessingException e) {
-            LOGGER.error("Unable to convert the ignite event to bytes.", e);
-            throw new TransformerSerDeException("Unable to conver the ignite event:"
-                    + value.toString() + " to byte array");
-        }
-        return blobData;
+    /**
+     * Logs the failure to serialize the IgniteEvent and creates the exception to raise.
+     *
+     * @param value the IgniteEvent value
+     * @param e the cause
+     * @return the TransformerSerDeException
+     */
+    private static TransformerSerDeException serializationFailure(IgniteEvent value, IOException e) {
+        LOGGER.error("Unable to convert the ignite event to bytes.", e);
+        return new TransformerSerDeException("Unable to conver the ignite event:"
+                + value.toString() + " to byte array");
     }
 
     /**
-     * Helper method to set the headers.
+     * Helper method to set the headers, also used by the {@link BinaryJsonIgniteEventTransformer}s.
      *
      * @param event : AbstractIgniteEvent
      * @param header : Optional of {@Link IgniteEventBase}
      */
-    private void setHeaders(AbstractIgniteEvent event, Optional<IgniteEventBase> header) {
+    static void setHeaders(AbstractIgniteEvent event, Optional<IgniteEventBase> header) {
 
         LOGGER.debug("Fetching header event {}", header);
 
@@ -328,6 +1094,16 @@ public class GenericIgniteEventTransformer implements Transformer {
         return IgniteEventSource.IGNITE;
     }
 
+    /**
+     * Sets the Executor the nested events of large composite events are decoded on when parallel decoding is
+     * enabled, the common ForkJoinPool by default.
+     *
+     * @param executor : the Executor
+     */
+    public void setCompositeDecodeExecutor(Executor executor) {
+        this.compositeDecodeExecutor = executor;
+    }
+
     /**
      * Method exposed for testing.
      *
@@ -335,6 +1111,15 @@ public class GenericIgniteEventTransformer implements Transformer {
      */
     void setObjectMapper(ObjectMapper mapper) {
         this.jsonMapper = mapper;
+        this.compositeDecoder = new CompositeIgniteEventDecoder(mapper);
+        this.compositeWriter = new CompositeIgniteEventWriter(mapper);
+        this.parallelCompositeDecoder = new ParallelCompositeIgniteEventDecoder(mapper.getFactory());
+        this.codecCache = new EventCodecCache(mapper);
+        this.eagerDecoder = new EagerIgniteEventDecoder(mapper, codecCache);
+        this.lazyDecoder = new LazyIgniteEventDecoder(mapper, codecCache);
+        this.dlqDecoder = new DlqIgniteEventDecoder(mapper, codecCache);
+        this.nestedDlqDecoder = new NestedDlqEventDecoder(mapper);
+        this.headerReader = new IgniteEventHeaderReader(mapper.getFactory());
     }
 
     /**
@@ -355,156 +1140,4 @@ public class GenericIgniteEventTransformer implements Transformer {
         }
         return props;
     }
-
-    /**
-     * Checks for special chars. This is a helper method for 
-     * {@link GenericIgniteEventTransformer#isAllInputParamsValid(AbstractIgniteEvent, Properties)}
-     *
-     * @param specialChars the special chars
-     * @param inputString the input string
-     * @return true, if successful
-     */
-    private boolean hasAllSpecialChars(String specialChars, String inputString) {
-        for (int i = 0; i < specialChars.length(); i++) {
-            char c = specialChars.charAt(i);
-            if (inputString.indexOf(c) == MINUS_ONE) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    /**
-     * Checks if is valid input params. This is a helper method for 
-     * {@link GenericIgniteEventTransformer#isAllInputParamsValid(AbstractIgniteEvent, Properties)}
-     *
-     * @param fields the fields
-     * @param props the props
-     * @return the list
-     * @throws TransformerSerDeException the transformer ser de exception
-     */
-    private List<String> isValidInputParams(Map<String, String> fields, Properties props)
-            throws TransformerSerDeException {
-        List<String> allValidations = new ArrayList<>();
-        for (Map.Entry<String, String> entry : fields.entrySet()) {
-            allValidations.addAll(validateEntry(entry, props));
-        }
-        return allValidations;
-    }
-
-    /**
-     * Validate each key-value pair for input validation. This is a helper method for 
-     * {@link GenericIgniteEventTransformer#isAllInputParamsValid(AbstractIgniteEvent, Properties)}
-     *
-     * @param entry the entry
-     * @param props the props
-     * @return the list
-     */
-    private List<String> validateEntry(Map.Entry<String, String> entry, Properties props) {
-        String key;
-        String value;
-        List<String> allValidations = new ArrayList<>();
-        String inputValidationProp = entry.getKey() + inputValidation;
-        key = entry.getKey();
-        value = entry.getValue();
-        if (needToValidate(entry, props)) {
-            String inputValidationPropValue = props.getProperty(inputValidationProp);
-            String[] args = inputValidationPropValue.split("\\|");
-            value = value.trim();
-
-            validateLength(key, value, allValidations);
-            if (args.length > 0) {
-                validateValueType(key, value, args, allValidations);
-                validateValue(key, value, args, allValidations);
-            }
-        }
-        return allValidations;
-    }
-
-    /**
-     * Need to validate. This is a helper method for 
-     * {@link GenericIgniteEventTransformer#isAllInputParamsValid(AbstractIgniteEvent, Properties)}
-     *
-     * @param entry the entry
-     * @param props the props
-     * @return true, if successful
-     */
-    private boolean needToValidate(Map.Entry<String, String> entry, Properties props) {
-        String inputValidationProp = entry.getKey() + inputValidation;
-        String key = entry.getKey();
-        String value = entry.getValue();
-        return (key != null && value != null && props.containsKey(inputValidationProp));
-    }
-
-    /**
-     * Validate length. This is a helper method for 
-     * {@link GenericIgniteEventTransformer#isAllInputParamsValid(AbstractIgniteEvent, Properties)}
-     *
-     * @param key the key
-     * @param value the value
-     * @param allValidations the all validations
-     */
-    private void validateLength(String key, String value, List<String> allValidations) {
-        if (value.length() > FIFTY) {
-            allValidations.add("Max Length exceeded for Property:" + key);
-        }
-    }
-
-    /**
-     * Validate value type. This is a helper method for 
-     * {@link GenericIgniteEventTransformer#isAllInputParamsValid(AbstractIgniteEvent, Properties)}
-     *
-     * @param key the key
-     * @param value the value
-     * @param args the args
-     * @param allValidations the all validations
-     */
-    private void validateValueType(String key, String value, String[] args, List<String> allValidations) {
-        switch (args[0]) {
-            case Constants.ALPHA:
-                if (!StringUtils.isAlpha(value)) {
-                    allValidations.add("Alpha Validation failed for Property:" + key);
-                }
-                break;
-            case Constants.ALPHANUMERIC:
-                String aphaNumericValue = value.replaceAll("[^a-zA-Z0-9]", "");
-                if (!StringUtils.isAlphanumeric(aphaNumericValue)) {
-                    allValidations.add("Alphanumeric Validation failed for Property:" + key);
-                }
-                break;
-            case Constants.NUMERIC:
-                if (!StringUtils.isNumeric(value)) {
-                    allValidations.add("Numeric Validation failed for Property:" + key);
-                }
-                break;
-            default:
-                LOGGER.error("Invalid Validation Type mentioned for property {}.", key);
-                throw new TransformerSerDeException("Invalid Validation Type.");
-        }
-    }
-
-    /**
-     * Validate value. This is a helper method for 
-     * {@link GenericIgniteEventTransformer#isAllInputParamsValid(AbstractIgniteEvent, Properties)}
-     *
-     * @param key the key
-     * @param value the value
-     * @param args the args
-     * @param allValidations the all validations
-     */
-    private void validateValue(String key, String value, String[] args, List<String> allValidations) {
-        Pattern pattern = Pattern.compile("[^a-zA-Z0-9]");
-        if (args.length > 1 && args[1] != null) {
-            if (StringUtils.isNumeric(args[1].trim()) && Long.parseLong(value) > 0
-                    && value.length() != Long.parseLong(args[1].trim())) {
-                allValidations.add("Input Validation Length Mismatch for Property:" + key);
-            } else if (pattern.matcher(args[1].trim()).find() && !hasAllSpecialChars(args[1].trim(), value)) {
-                allValidations.add("Input Validation Special Characters Mismatch for Property:" + key);
-            }
-        }
-
-        if (args.length == THREE && pattern.matcher(args[TWO]).find() && !hasAllSpecialChars(args[TWO], value)) {
-            allValidations.add("Input Validation Special Characters Mismatch for Property:" + key);
-        }
-    }
 }
@@ -0,0 +1,164 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+/**
+ * The envelope attributes of a serialized ignite event, as returned by
+ * {@link GenericIgniteEventTransformer#peekHeader(byte[])}.
+ *
+ * <p>
+ * Attributes which are absent from the payload are null, Timestamp is 0 when absent. For a composite payload
+ * (a JSON array of events) the EventID is {@code EventID.COMPOSITE_EVENT} and the other attributes are null.
+ * </p>
+ */
+public final class IgniteEventHeader {
+
+    /** The event id. */
+    private final String eventId;
+
+    /** The version. */
+    private final String version;
+
+    /** The vehicle id. */
+    private final String vehicleId;
+
+    /** The source device id. */
+    private final String sourceDeviceId;
+
+    /** The request id. */
+    private final String requestId;
+
+    /** The timestamp. */
+    private final long timestamp;
+
+    /** Whether the payload is a list of ignite events. */
+    private final boolean composite;
+
+    /**
+     * Instantiates a new IgniteEventHeader.
+     *
+     * @param eventId the event id
+     * @param version the version
+     * @param vehicleId the vehicle id
+     * @param sourceDeviceId the source device id
+     * @param requestId the request id
+     * @param timestamp the timestamp
+     * @param composite whether the payload is a list of ignite events
+     */
+    public IgniteEventHeader(String eventId, String version, String vehicleId, String sourceDeviceId,
+            String requestId, long timestamp, boolean composite) {
+        this.eventId = eventId;
+        this.version = version;
+        this.vehicleId = vehicleId;
+        this.sourceDeviceId = sourceDeviceId;
+        this.requestId = requestId;
+        this.timestamp = timestamp;
+        this.composite = composite;
+    }
+
+    /**
+     * Gets the event id.
+     *
+     * @return the event id
+     */
+    public String getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Gets the version.
+     *
+     * @return the version
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the vehicle id.
+     *
+     * @return the vehicle id
+     */
+    public String getVehicleId() {
+        return vehicleId;
+    }
+
+    /**
+     * Gets the source device id.
+     *
+     * @return the source device id
+     */
+    public String getSourceDeviceId() {
+        return sourceDeviceId;
+    }
+
+    /**
+     * Gets the request id.
+     *
+     * @return the request id
+     */
+    public String getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Gets the timestamp.
+     *
+     * @return the timestamp
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Checks if the payload is a list of ignite events.
+     *
+     * @return true if the payload is a JSON array of ignite events
+     */
+    public boolean isComposite() {
+        return composite;
+    }
+
+    @Override
+    public String toString() {
+        return "IgniteEventHeader [eventId=" + eventId + ", version=" + version + ", vehicleId=" + vehicleId
+                + ", sourceDeviceId=" + sourceDeviceId + ", requestId=" + requestId + ", timestamp=" + timestamp
+                + ", composite=" + composite + "]";
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.eclipse.ecsp.domain.EventAttribute;
+import org.eclipse.ecsp.domain.EventID;
+import org.eclipse.ecsp.transform.util.Constants;
+
+import java.io.IOException;
+
+/**
+ * Reads the {@link IgniteEventHeader} of a serialized ignite event without binding the event.
+ *
+ * <p>
+ * Only the top level attributes of the event are looked at, nested values such as Data are skipped over
+ * without being tokenized into objects, and the scan stops as soon as all the envelope attributes are found.
+ * </p>
+ */
+public class IgniteEventHeaderReader {
+
+    /** The bit of the EventID attribute in the mask of the attributes found. */
+    private static final int EVENT_ID_BIT = 1;
+
+    /** The bit of the Version attribute in the mask of the attributes found. */
+    private static final int VERSION_BIT = 1 << 1;
+
+    /** The bit of the VehicleId attribute in the mask of the attributes found. */
+    private static final int VEHICLE_ID_BIT = 1 << 2;
+
+    /** The bit of the SourceDeviceId attribute in the mask of the attributes found. */
+    private static final int SOURCE_DEVICE_ID_BIT = 1 << 3;
+
+    /** The bit of the RequestId attribute in the mask of the attributes found. */
+    private static final int REQUEST_ID_BIT = 1 << 4;
+
+    /** The bit of the Timestamp attribute in the mask of the attributes found. */
+    private static final int TIMESTAMP_BIT = 1 << 5;
+
+    /** The mask of the attributes found once all the envelope attributes are found. */
+    private static final int ALL_ATTRIBUTES = (1 << 6) - 1;
+
+    /** The JsonFactory instance. */
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Creates the reader for the given JsonFactory.
+     *
+     * @param jsonFactory : the JsonFactory used to create the parsers
+     */
+    public IgniteEventHeaderReader(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Reads the envelope attributes of the ignite event serialized in the given region of buf.
+     *
+     * @param buf : the serialized ignite event
+     * @param offset : the offset of the event in buf
+     * @param length : the length of the event in buf
+     * @return the IgniteEventHeader
+     * @throws IOException if the payload is not a JSON object or array
+     */
+    public IgniteEventHeader read(byte[] buf, int offset, int length) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(buf, offset, length)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                return new IgniteEventHeader(EventID.COMPOSITE_EVENT, null, null, null, null, 0L, true);
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new TransformerSerDeException("Expected a JSON object or array but received token:" + token);
+            }
+            return readAttributes(parser);
+        }
+    }
+
+    /**
+     * Reads the envelope attributes of the object the parser is positioned on. The scan stops once each of them
+     * was found, an attribute repeated before then takes its last value.
+     *
+     * @param parser : JsonParser positioned on the START_OBJECT of the event
+     * @return the IgniteEventHeader
+     * @throws IOException if the attributes cannot be read
+     */
+    private IgniteEventHeader readAttributes(JsonParser parser) throws IOException {
+        String eventId = null;
+        String version = null;
+        String vehicleId = null;
+        String sourceDeviceId = null;
+        String requestId = null;
+        long timestamp = 0L;
+        int found = 0;
+        while (found != ALL_ATTRIBUTES && parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if (valueToken == null) {
+                throw new TransformerSerDeException("Unexpected end of input while reading the event header");
+            }
+            if (valueToken.isStructStart()) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (name) {
+                case EventAttribute.EVENTID:
+                    eventId = parser.getValueAsString();
+                    found |= EVENT_ID_BIT;
+                    break;
+                case Constants.VERSION:
+                    version = parser.getValueAsString();
+                    found |= VERSION_BIT;
+                    break;
+                case EventAttribute.VEHICLE_ID:
+                    vehicleId = parser.getValueAsString();
+                    found |= VEHICLE_ID_BIT;
+                    break;
+                case EventAttribute.SOURCE_DEVICE_ID:
+                    sourceDeviceId = parser.getValueAsString();
+                    found |= SOURCE_DEVICE_ID_BIT;
+                    break;
+                case EventAttribute.REQUEST_ID:
+                    requestId = parser.getValueAsString();
+                    found |= REQUEST_ID_BIT;
+                    break;
+                case EventAttribute.TIMESTAMP:
+                    timestamp = parser.getValueAsLong();
+                    found |= TIMESTAMP_BIT;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return new IgniteEventHeader(eventId, version, vehicleId, sourceDeviceId, requestId, timestamp, false);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+/**
+ * Exception thrown when a record of a stream of ignite events cannot be read, carrying the position of the record.
+ */
+public class IgniteEventStreamException extends TransformerSerDeException {
+
+    /** The position of the record. */
+    private final transient IgniteEventStreamReader.RecordPosition position;
+
+    /**
+     * Instantiates a new ignite event stream exception.
+     *
+     * @param message the message
+     * @param position the position of the record
+     * @param cause the cause
+     */
+    public IgniteEventStreamException(String message, IgniteEventStreamReader.RecordPosition position,
+            Throwable cause) {
+        super(message, cause);
+        this.position = position;
+    }
+
+    /**
+     * Gets the position of the record which cannot be read.
+     *
+     * @return the RecordPosition
+     */
+    public IgniteEventStreamReader.RecordPosition getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import org.eclipse.ecsp.entities.IgniteEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reader of a stream of serialized ignite events.
+ *
+ * <p>
+ * The stream holds a sequence of JSON values, each of them a single ignite event or a composite one, separated by
+ * whitespace. This covers newline-delimited JSON as well as objects and arrays simply concatenated. A single
+ * parser is moved across the stream and the events are bound one by one as they are iterated, so that only the
+ * event being read and the read buffer of the parser are held in memory whatever the size of the stream.
+ * </p>
+ *
+ * <p>
+ * The position of each record in the stream is tracked for error reporting. A record which cannot be bound or
+ * fails the input validation is reported with an {@link IgniteEventStreamException} carrying its position, and
+ * the iteration can go on with the next record. A record which is not well-formed JSON cannot be skipped reliably,
+ * the reader reports it and ends the iteration.
+ * </p>
+ */
+public class IgniteEventStreamReader implements Iterator<IgniteEvent>, Closeable {
+
+    /** The parser moved across the stream. */
+    private final JsonParser parser;
+
+    /** The parser the records are read from, parser itself or a wrapper over it. */
+    private final JsonParser recordParser;
+
+    /** The function binding a record. */
+    private final RecordReader recordReader;
+
+    /** The first token of the next record, null at the end of the stream. */
+    private JsonToken nextToken;
+
+    /** Suggests whether the first token of the next record has been read. */
+    private boolean peeked;
+
+    /** Suggests whether the stream cannot be read any further. */
+    private boolean broken;
+
+    /** The index of the last record read, -1 before the first one. */
+    private long recordIndex = -1;
+
+    /** The position of the last record read. */
+    private RecordPosition position;
+
+    /**
+     * Creates the reader.
+     *
+     * @param parser : the JsonParser over the stream, positioned before the first record
+     * @param recordParser : the JsonParser the records are read from, delegating to parser
+     * @param recordReader : the RecordReader binding each record
+     */
+    public IgniteEventStreamReader(JsonParser parser, JsonParser recordParser, RecordReader recordReader) {
+        this.parser = parser;
+        this.recordParser = recordParser;
+        this.recordReader = recordReader;
+    }
+
+    /**
+     * Checks whether the stream has a record left. Reads the first token of the next record.
+     *
+     * @return true if a record is left
+     * @throws IgniteEventStreamException if the stream is not well-formed JSON before the next record
+     */
+    @Override
+    public boolean hasNext() {
+        if (broken) {
+            return false;
+        }
+        if (!peeked) {
+            try {
+                nextToken = parser.nextToken();
+            } catch (IOException e) {
+                broken = true;
+                throw new IgniteEventStreamException("Unable to read the ignite event stream after record "
+                        + recordIndex, positionOf(recordIndex + 1, e), e);
+            }
+            peeked = true;
+        }
+        return nextToken != null;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the IgniteEvent
+     * @throws IgniteEventStreamException if the record cannot be read, bound or validated
+     */
+    @Override
+    public IgniteEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No ignite event left in the stream");
+        }
+        peeked = false;
+        recordIndex++;
+        JsonLocation location = parser.currentTokenLocation();
+        position = new RecordPosition(recordIndex, location.getByteOffset(), location.getLineNr(),
+                location.getColumnNr());
+        try {
+            return recordReader.read(recordParser, nextToken);
+        } catch (IOException | RuntimeException e) {
+            skipRecord(e);
+            throw new IgniteEventStreamException("Unable to deserialize the ignite event at " + position,
+                    position, e);
+        }
+    }
+
+    /**
+     * Moves the parser past the rest of a record which failed, so that the iteration can go on with the next
+     * record. The stream is marked as broken if the record is not well-formed JSON.
+     *
+     * @param failure the failure of the record
+     */
+    private void skipRecord(Exception failure) {
+        if (failure instanceof StreamReadException) {
+            broken = true;
+            return;
+        }
+        try {
+            while (!parser.getParsingContext().inRoot()) {
+                if (parser.nextToken() == null) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            broken = true;
+        }
+    }
+
+    /**
+     * Gets the position of the failure of the stream.
+     *
+     * @param index the index of the record
+     * @param failure the failure
+     * @return the RecordPosition
+     */
+    private RecordPosition positionOf(long index, IOException failure) {
+        JsonLocation location = failure instanceof StreamReadException streamFailure
+                && streamFailure.getLocation() != null ? streamFailure.getLocation() : parser.currentLocation();
+        return new RecordPosition(index, location.getByteOffset(), location.getLineNr(), location.getColumnNr());
+    }
+
+    /**
+     * Gets the position of the last record read.
+     *
+     * @return the RecordPosition, null before the first record
+     */
+    public RecordPosition getPosition() {
+        return position;
+    }
+
+    /**
+     * Closes the parser together with the stream it reads from.
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    /**
+     * Position of a record in the stream.
+     *
+     * @param index : the index of the record, from 0
+     * @param byteOffset : the offset of the first byte of the record
+     * @param line : the line of the first byte of the record, from 1
+     * @param column : the column of the first byte of the record, from 1
+     */
+    public record RecordPosition(long index, long byteOffset, int line, int column) {
+
+        @Override
+        public String toString() {
+            return "record " + index + " (byte offset " + byteOffset + ", line " + line + ", column " + column + ")";
+        }
+    }
+
+    /**
+     * Binds a record of the stream.
+     */
+    @FunctionalInterface
+    public interface RecordReader {
+
+        /**
+         * Reads the record the parser is positioned on. On return the parser has to be positioned on the last
+         * token of the record.
+         *
+         * @param parser : JsonParser positioned on the first token of the record
+         * @param firstToken : the first token of the record
+         * @return the IgniteEvent
+         * @throws IOException if the record cannot be read or bound
+         */
+        IgniteEvent read(JsonParser parser, JsonToken firstToken) throws IOException;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.eclipse.ecsp.domain.EventAttribute;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.eclipse.ecsp.transform.util.Constants;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Decoder producing {@link LazyIgniteEventImpl}s.
+ *
+ * <p>
+ * The decoder reads the attributes of the event one by one from the parser. Every attribute other than Data is
+ * bound eagerly, the Data object is skipped over and only its raw bytes are kept on the event. This requires the
+ * parser to read from a byte[] so that the Data section can be located by its byte offsets.
+ * </p>
+ */
+public class LazyIgniteEventDecoder {
+
+    /** The ObjectMapper instance. */
+    private final ObjectMapper mapper;
+
+    /** The cache of the EventData types resolved by EventID and Version. */
+    private final EventCodecCache codecCache;
+
+    /** The ObjectReader used to bind the header attributes. */
+    private final ObjectReader lazyEventReader;
+
+    /** The ObjectReader used for values which are not JSON objects. */
+    private final ObjectReader eventReader;
+
+    /**
+     * Creates the decoder for the given ObjectMapper.
+     *
+     * @param mapper : ObjectMapper with the ignite serializers and deserializers registered
+     * @param codecCache : the EventCodecCache of the transformer
+     */
+    public LazyIgniteEventDecoder(ObjectMapper mapper, EventCodecCache codecCache) {
+        this.mapper = mapper;
+        this.codecCache = codecCache;
+        this.lazyEventReader = codecCache.readerFor(LazyIgniteEventImpl.class);
+        this.eventReader = codecCache.readerFor(IgniteEventImpl.class);
+    }
+
+    /**
+     * Reads the ignite event the parser is positioned on. On return the parser is positioned on the END_OBJECT
+     * of the event.
+     *
+     * @param parser : JsonParser created over buf starting at offset, positioned on the first token of the event
+     * @param buf : the byte[] the parser reads from
+     * @param offset : the offset in buf the parser was created with
+     * @return a LazyIgniteEventImpl, or the eagerly bound value if the event is not a JSON object
+     * @throws IOException if the header attributes cannot be read or bound
+     */
+    public IgniteEventImpl decode(JsonParser parser, byte[] buf, int offset) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return eventReader.readValue(parser);
+        }
+        TokenBuffer headerAttributes = new TokenBuffer(mapper, false);
+        TokenBuffer routingAttributes = new TokenBuffer(mapper, false);
+        byte[] rawEventData = null;
+        headerAttributes.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if (Constants.EVENT_DATA.equals(name) && valueToken.isStructStart()) {
+                int start = (int) parser.currentTokenLocation().getByteOffset();
+                parser.skipChildren();
+                int end = (int) parser.currentLocation().getByteOffset();
+                rawEventData = Arrays.copyOfRange(buf, offset + start, offset + end);
+                continue;
+            }
+            if (valueToken.isScalarValue()
+                    && (EventAttribute.EVENTID.equals(name) || Constants.VERSION.equals(name))) {
+                routingAttributes.writeFieldName(name);
+                routingAttributes.copyCurrentEvent(parser);
+            }
+            headerAttributes.writeFieldName(name);
+            headerAttributes.copyCurrentStructure(parser);
+        }
+        headerAttributes.writeEndObject();
+
+        LazyIgniteEventImpl event;
+        try (JsonParser headerParser = headerAttributes.asParser()) {
+            event = lazyEventReader.readValue(headerParser);
+        }
+        if (rawEventData != null) {
+            event.deferEventData(rawEventData, routingAttributes, mapper, codecCache);
+        }
+        return event;
+    }
+}
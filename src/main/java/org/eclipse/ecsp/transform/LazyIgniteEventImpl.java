@@ -0,0 +1,205 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.eclipse.ecsp.entities.EventData;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.eclipse.ecsp.transform.util.Constants;
+
+import java.io.IOException;
+import java.io.ObjectStreamException;
+
+/**
+ * IgniteEventImpl whose Data section is bound on first access.
+ *
+ * <p>
+ * The header attributes of the event are bound eagerly while decoding. The Data section is kept as the raw JSON
+ * bytes it was received as and is only deserialized, through the EventData deserializer registered on the
+ * ObjectMapper, when {@link #getEventData()} is called for the first time. Events that are routed, filtered or
+ * dropped on header attributes alone therefore never build the object graph of their data.
+ * </p>
+ *
+ * <p>
+ * As the data is bound on first access, an invalid Data section fails with a {@link TransformerSerDeException}
+ * from {@link #getEventData()} instead of from the transformer. Binding the data does not mark the event
+ * modified, so an event passed through unmodified never binds its data.
+ * </p>
+ */
+public class LazyIgniteEventImpl extends PassThroughIgniteEventImpl {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = -2217407331523412478L;
+
+    /** The raw JSON of the Data section, null once the event data has been bound. */
+    private transient volatile byte[] rawEventData;
+
+    /** The EventID and Version attributes exactly as received, needed to resolve the type of the data. */
+    private transient TokenBuffer routingAttributes;
+
+    /** The ObjectMapper the event was decoded with. */
+    private transient ObjectMapper mapper;
+
+    /** The cache of the EventData types resolved by EventID and Version. */
+    private transient EventCodecCache codecCache;
+
+    /**
+     * Defers the binding of the Data section of this event to the first call of {@link #getEventData()}.
+     *
+     * @param rawEventData : the raw JSON bytes of the Data section
+     * @param routingAttributes : the EventID and Version attributes of the event as received
+     * @param mapper : the ObjectMapper to bind the Data section with
+     * @param codecCache : the cache of the EventData types resolved by EventID and Version
+     */
+    void deferEventData(byte[] rawEventData, TokenBuffer routingAttributes, ObjectMapper mapper,
+            EventCodecCache codecCache) {
+        this.routingAttributes = routingAttributes;
+        this.mapper = mapper;
+        this.codecCache = codecCache;
+        this.rawEventData = rawEventData;
+    }
+
+    /**
+     * Gets the event data, binding it from its raw JSON on first access.
+     *
+     * @return the event data
+     */
+    @Override
+    public EventData getEventData() {
+        if (rawEventData != null) {
+            resolveEventData();
+        }
+        return super.getEventData();
+    }
+
+    /**
+     * Sets the event data, discarding the raw JSON of the Data section if it has not been bound yet.
+     *
+     * @param eventData the event data
+     */
+    @Override
+    public void setEventData(EventData eventData) {
+        clearRawEventData();
+        super.setEventData(eventData);
+    }
+
+    /**
+     * Checks whether the Data section has been bound.
+     *
+     * @return true, if the event data has been bound or set
+     */
+    @JsonIgnore
+    public boolean isEventDataResolved() {
+        return rawEventData == null;
+    }
+
+    /**
+     * Binds the Data section from its raw JSON. If the EventData type of the EventID and Version of the event is
+     * already known to the codec cache the data is bound straight to it. Otherwise the EventID and Version
+     * attributes are replayed in front of the data so that the EventData deserializer resolves the same data
+     * type as for an eagerly decoded event, and the resolved type is remembered in the codec cache.
+     */
+    private synchronized void resolveEventData() {
+        byte[] data = rawEventData;
+        if (data == null) {
+            return;
+        }
+        try {
+            ObjectReader dataReader = codecCache.dataReaderFor(getEventId(), getVersion());
+            if (dataReader != null) {
+                bindEventData(dataReader.readValue(data));
+            } else {
+                EventData eventData = readThroughEnvelope(data);
+                codecCache.registerDataType(getEventId(), getVersion(), eventData);
+                bindEventData(eventData);
+            }
+        } catch (IOException e) {
+            throw new TransformerSerDeException("Unable to deserialize the event data of ignite event:"
+                    + getEventId() + ", " + e.getMessage());
+        }
+        clearRawEventData();
+    }
+
+    /**
+     * Binds the Data section through the EventData deserializer, with the EventID and Version attributes of
+     * the event replayed in front of it.
+     *
+     * @param data : the raw JSON of the Data section
+     * @return the EventData
+     * @throws IOException if the data cannot be bound
+     */
+    private EventData readThroughEnvelope(byte[] data) throws IOException {
+        TokenBuffer envelope = new TokenBuffer(mapper, false);
+        try (JsonParser dataParser = mapper.createParser(data)) {
+            envelope.writeStartObject();
+            routingAttributes.serialize(envelope);
+            envelope.writeFieldName(Constants.EVENT_DATA);
+            dataParser.nextToken();
+            envelope.copyCurrentStructure(dataParser);
+            envelope.writeEndObject();
+            IgniteEventImpl resolved = codecCache.readerFor(IgniteEventImpl.class).readValue(envelope.asParser());
+            return resolved.getEventData();
+        }
+    }
+
+    /**
+     * Releases the raw JSON of the Data section.
+     */
+    private void clearRawEventData() {
+        rawEventData = null;
+        routingAttributes = null;
+        mapper = null;
+        codecCache = null;
+    }
+
+    /**
+     * Binds the Data section before the event is serialized so that the serialized form is complete.
+     *
+     * @return this event
+     * @throws ObjectStreamException never thrown
+     */
+    protected Object writeReplace() throws ObjectStreamException {
+        getEventData();
+        return this;
+    }
+}
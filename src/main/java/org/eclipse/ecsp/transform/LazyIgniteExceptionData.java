@@ -0,0 +1,228 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.eclipse.ecsp.domain.IgniteExceptionDataV1_1;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+
+import java.io.IOException;
+import java.io.ObjectStreamException;
+
+/**
+ * IgniteExceptionDataV1_1 whose failed ignite event and exception are bound on first access.
+ *
+ * <p>
+ * The data of a DLQ exception event carries the complete event which failed and the exception it failed with,
+ * stack trace included, while consumers triaging the DLQ often only look at the retry count, the processor name
+ * and the nested DLQ exception data. The other attributes are bound eagerly while decoding, the igniteEvent and
+ * exception attributes are kept as the raw JSON bytes they were received as and are only deserialized when
+ * {@link #getIgniteEvent()} or {@link #getException()} is called for the first time.
+ * </p>
+ *
+ * <p>
+ * As they are bound on first access, an invalid igniteEvent or exception attribute fails with a
+ * {@link TransformerSerDeException} from its getter instead of from the transformer.
+ * </p>
+ */
+public class LazyIgniteExceptionData extends IgniteExceptionDataV1_1 {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 6218843271594412309L;
+
+    /** The name of the exception attribute. */
+    static final String EXCEPTION = "exception";
+
+    /** The name of the failed ignite event attribute. */
+    static final String IGNITE_EVENT = "igniteEvent";
+
+    /** The raw JSON of the failed ignite event, null once bound. */
+    private transient volatile byte[] rawIgniteEvent;
+
+    /** The raw JSON of the exception, null once bound. */
+    private transient volatile byte[] rawException;
+
+    /** The ObjectMapper the event was decoded with. */
+    private transient ObjectMapper mapper;
+
+    /** The cache of the readers of the transformer. */
+    private transient EventCodecCache codecCache;
+
+    /**
+     * Defers the binding of the failed ignite event and of the exception to their first access.
+     *
+     * @param rawIgniteEvent : the raw JSON bytes of the igniteEvent attribute, null if absent
+     * @param rawException : the raw JSON bytes of the exception attribute, null if absent
+     * @param mapper : the ObjectMapper to bind them with
+     * @param codecCache : the EventCodecCache of the transformer
+     */
+    void defer(byte[] rawIgniteEvent, byte[] rawException, ObjectMapper mapper, EventCodecCache codecCache) {
+        this.mapper = mapper;
+        this.codecCache = codecCache;
+        this.rawIgniteEvent = rawIgniteEvent;
+        this.rawException = rawException;
+    }
+
+    /**
+     * Gets the failed ignite event, binding it from its raw JSON on first access.
+     *
+     * @return the failed IgniteEventImpl
+     */
+    @Override
+    public IgniteEventImpl getIgniteEvent() {
+        if (rawIgniteEvent != null) {
+            resolveIgniteEvent();
+        }
+        return super.getIgniteEvent();
+    }
+
+    /**
+     * Sets the failed ignite event, discarding its raw JSON if it has not been bound yet.
+     *
+     * @param igniteEvent the failed IgniteEventImpl
+     */
+    @Override
+    public void setIgniteEvent(IgniteEventImpl igniteEvent) {
+        rawIgniteEvent = null;
+        super.setIgniteEvent(igniteEvent);
+    }
+
+    /**
+     * Gets the exception, binding it from its raw JSON on first access.
+     *
+     * @return the Exception
+     */
+    @Override
+    public Exception getException() {
+        if (rawException != null) {
+            resolveException();
+        }
+        return super.getException();
+    }
+
+    /**
+     * Sets the exception, discarding its raw JSON if it has not been bound yet.
+     *
+     * @param exception the Exception
+     */
+    @Override
+    public void setException(Exception exception) {
+        rawException = null;
+        super.setException(exception);
+    }
+
+    /**
+     * Checks whether the failed ignite event has been bound.
+     *
+     * @return true, if the failed ignite event has been bound or set
+     */
+    @JsonIgnore
+    public boolean isIgniteEventResolved() {
+        return rawIgniteEvent == null;
+    }
+
+    /**
+     * Checks whether the exception has been bound.
+     *
+     * @return true, if the exception has been bound or set
+     */
+    @JsonIgnore
+    public boolean isExceptionResolved() {
+        return rawException == null;
+    }
+
+    /**
+     * Binds the failed ignite event from its raw JSON.
+     */
+    private synchronized void resolveIgniteEvent() {
+        byte[] raw = rawIgniteEvent;
+        if (raw == null) {
+            return;
+        }
+        try {
+            super.setIgniteEvent(codecCache.readerFor(IgniteEventImpl.class).readValue(raw));
+        } catch (IOException e) {
+            throw new TransformerSerDeException("Unable to deserialize the failed ignite event of the exception"
+                    + " event, " + e.getMessage());
+        }
+        rawIgniteEvent = null;
+    }
+
+    /**
+     * Binds the exception from its raw JSON, through the exception property of IgniteExceptionDataV1_1 so that
+     * it is bound the same way as when the data is decoded eagerly.
+     */
+    private synchronized void resolveException() {
+        byte[] raw = rawException;
+        if (raw == null) {
+            return;
+        }
+        TokenBuffer attribute = new TokenBuffer(mapper, false);
+        try (JsonParser exceptionParser = mapper.createParser(raw)) {
+            attribute.writeStartObject();
+            attribute.writeFieldName(EXCEPTION);
+            exceptionParser.nextToken();
+            attribute.copyCurrentStructure(exceptionParser);
+            attribute.writeEndObject();
+            IgniteExceptionDataV1_1 resolved = codecCache.readerFor(IgniteExceptionDataV1_1.class)
+                    .readValue(attribute.asParser());
+            super.setException(resolved.getException());
+        } catch (IOException e) {
+            throw new TransformerSerDeException("Unable to deserialize the exception of the exception event, "
+                    + e.getMessage());
+        }
+        rawException = null;
+    }
+
+    /**
+     * Binds the failed ignite event and the exception before the data is serialized so that the serialized form
+     * is complete.
+     *
+     * @return this data
+     * @throws ObjectStreamException never thrown
+     */
+    protected Object writeReplace() throws ObjectStreamException {
+        getIgniteEvent();
+        getException();
+        return this;
+    }
+}
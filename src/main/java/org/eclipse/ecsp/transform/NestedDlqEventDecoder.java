@@ -0,0 +1,317 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEventBase;
+import org.eclipse.ecsp.transform.util.Constants;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Decoder of the failed event embedded in the nested DLQ exception data of a DLQ exception event.
+ *
+ * <p>
+ * The failed event is embedded as the base64 string igniteEventBlob of the nestedDLQExceptionData of the Data of
+ * the exception event. Binding it decodes the base64 into a new byte[] which is then decoded again by the
+ * transformer. This decoder instead streams over the exception event up to the igniteEventBlob, without binding
+ * any attribute, locates its base64 text in the payload by its byte offsets and decodes it once, without an
+ * intermediate String, into a byte[] of the exact size of the failed event or in place over the payload. An
+ * igniteEventBlob holding JSON escapes, which encoders of base64 do not write, is bound as a byte[] instead.
+ * </p>
+ */
+public class NestedDlqEventDecoder {
+
+    /** The name of the nested DLQ exception data attribute of the data of an exception event. */
+    static final String NESTED_DLQ_EXCEPTION_DATA = "nestedDLQExceptionData";
+
+    /** The name of the failed event attribute of the nested DLQ exception data. */
+    static final String IGNITE_EVENT_BLOB = "igniteEventBlob";
+
+    /** The value of the characters which are not base64 digits. */
+    private static final int INVALID = -1;
+
+    /** The value of the base64 padding character. */
+    private static final int PADDING = -2;
+
+    /** The number of bits of a base64 digit. */
+    private static final int DIGIT_BITS = 6;
+
+    /** The number of base64 digits of a quantum of 3 bytes. */
+    private static final int QUANTUM_DIGITS = 4;
+
+    /** The number of bytes of a quantum. */
+    private static final int QUANTUM_BYTES = 3;
+
+    /** The number of bits of a byte. */
+    private static final int BYTE_BITS = 8;
+
+    /** The mask of a byte. */
+    private static final int BYTE_MASK = 0xFF;
+
+    /** The value of each character, for the standard and the URL safe base64 alphabets. */
+    private static final int[] BASE64_VALUES = new int[BYTE_MASK + 1];
+
+    static {
+        Arrays.fill(BASE64_VALUES, INVALID);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_VALUES[alphabet.charAt(i)] = i;
+        }
+        BASE64_VALUES['-'] = BASE64_VALUES['+'];
+        BASE64_VALUES['_'] = BASE64_VALUES['/'];
+        BASE64_VALUES['='] = PADDING;
+    }
+
+    /** The ObjectMapper whose factory creates the parsers. */
+    private final ObjectMapper mapper;
+
+    /**
+     * Creates the decoder for the given ObjectMapper.
+     *
+     * @param mapper : ObjectMapper the parsers of the exception events are created with
+     */
+    public NestedDlqEventDecoder(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Decodes the failed event embedded in the exception event held by a region of a byte[]. Its base64 text is
+     * decoded once into a byte[] of the exact size of the failed event, which the transformer decodes from.
+     *
+     * @param buf : the byte[] holding the exception event
+     * @param offset : the offset of the exception event in buf
+     * @param length : the length of the exception event
+     * @param transformer : the Transformer decoding the failed event
+     * @param header : the header of the failed event
+     * @return the failed IgniteEvent
+     */
+    public IgniteEvent decode(byte[] buf, int offset, int length, Transformer transformer,
+            Optional<IgniteEventBase> header) {
+        return decode(buf, offset, length, transformer, false, header);
+    }
+
+    /**
+     * Decodes the failed event embedded in the exception event held by a region of a byte[]. Its base64 text is
+     * decoded in place, overwriting the exception event in buf, which must no longer be used.
+     *
+     * @param buf : the byte[] holding the exception event, overwritten
+     * @param offset : the offset of the exception event in buf
+     * @param length : the length of the exception event
+     * @param transformer : the Transformer decoding the failed event
+     * @param header : the header of the failed event
+     * @return the failed IgniteEvent
+     */
+    public IgniteEvent decodeInPlace(byte[] buf, int offset, int length, Transformer transformer,
+            Optional<IgniteEventBase> header) {
+        return decode(buf, offset, length, transformer, true, header);
+    }
+
+    /**
+     * Decodes the failed event embedded in the exception event held by a region of a byte[].
+     *
+     * @param buf : the byte[] holding the exception event
+     * @param offset : the offset of the exception event in buf
+     * @param length : the length of the exception event
+     * @param transformer : the Transformer decoding the failed event
+     * @param inPlace : whether the base64 text is decoded in place
+     * @param header : the header of the failed event
+     * @return the failed IgniteEvent
+     */
+    private IgniteEvent decode(byte[] buf, int offset, int length, Transformer transformer, boolean inPlace,
+            Optional<IgniteEventBase> header) {
+        if (null == buf) {
+            throw new TransformerSerDeException("Null value received, cannot convert to ignite event.");
+        }
+        Objects.checkFromIndexSize(offset, length, buf.length);
+        int textStart;
+        int textEnd;
+        try (JsonParser parser = mapper.createParser(buf, offset, length)) {
+            if (!moveToFailedEventBlob(parser)) {
+                throw new TransformerSerDeException("No nested DLQ failed event found in the exception event");
+            }
+            textStart = offset + (int) parser.currentTokenLocation().getByteOffset() + 1;
+            textEnd = endOfBase64Text(buf, textStart, offset + length);
+            if (textEnd < 0) {
+                byte[] blob = parser.getBinaryValue();
+                return transformer.fromBlob(blob, 0, blob.length, header);
+            }
+        } catch (IOException e) {
+            throw new TransformerSerDeException("Unable to read the nested DLQ failed event", e);
+        }
+        if (inPlace) {
+            int decodedLength = decodeBase64(buf, textStart, textEnd, buf, textStart);
+            return transformer.fromBlob(buf, textStart, decodedLength, header);
+        }
+        byte[] failedEvent = new byte[decodedLength(buf, textStart, textEnd)];
+        int decodedLength = decodeBase64(buf, textStart, textEnd, failedEvent, 0);
+        return transformer.fromBlob(failedEvent, 0, decodedLength, header);
+    }
+
+    /**
+     * Moves the parser over the exception event up to the value of the igniteEventBlob of its nested DLQ
+     * exception data.
+     *
+     * @param parser : JsonParser positioned before the exception event
+     * @return true if the parser is positioned on the VALUE_STRING of the igniteEventBlob
+     * @throws IOException if the exception event cannot be read
+     */
+    private static boolean moveToFailedEventBlob(JsonParser parser) throws IOException {
+        return parser.nextToken() == JsonToken.START_OBJECT
+                && moveToField(parser, Constants.EVENT_DATA) == JsonToken.START_OBJECT
+                && moveToField(parser, NESTED_DLQ_EXCEPTION_DATA) == JsonToken.START_OBJECT
+                && moveToField(parser, IGNITE_EVENT_BLOB) == JsonToken.VALUE_STRING;
+    }
+
+    /**
+     * Moves the parser to the value of the given field of the object it is in, skipping the other fields.
+     *
+     * @param parser : JsonParser positioned on the START_OBJECT of the object or on the value of a field
+     * @param name : the name of the field
+     * @return the token of the value of the field, or null if the object has no such field
+     * @throws IOException if the object cannot be read
+     */
+    private static JsonToken moveToField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            boolean found = name.equals(parser.currentName());
+            JsonToken valueToken = parser.nextToken();
+            if (found) {
+                return valueToken;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    /**
+     * Finds the closing quote of the base64 text starting at the given index.
+     *
+     * @param buf : the byte[] holding the text
+     * @param start : the index of the first character of the text
+     * @param limit : the index bounding the search
+     * @return the index of the closing quote, or -1 if the text holds JSON escapes
+     */
+    private static int endOfBase64Text(byte[] buf, int start, int limit) {
+        for (int i = start; i < limit; i++) {
+            if (buf[i] == '"') {
+                return i;
+            }
+            if (buf[i] == '\\') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of bytes the base64 text decodes to, from the number of its digits once the trailing
+     * padding is left out.
+     *
+     * @param src : the byte[] holding the text
+     * @param start : the index of the first character of the text
+     * @param end : the index after the last character of the text
+     * @return the number of decoded bytes, an upper bound if the text is not valid base64
+     */
+    static int decodedLength(byte[] src, int start, int end) {
+        int digitsEnd = end;
+        while (digitsEnd > start && src[digitsEnd - 1] == '=') {
+            digitsEnd--;
+        }
+        return (digitsEnd - start) * QUANTUM_BYTES / QUANTUM_DIGITS;
+    }
+
+    /**
+     * Decodes base64 text, with or without padding, into a byte[]. The bytes may be decoded in place, over the
+     * text, as they never overtake the characters they are decoded from.
+     *
+     * @param src : the byte[] holding the text
+     * @param start : the index of the first character of the text
+     * @param end : the index after the last character of the text
+     * @param dst : the byte[] the bytes are decoded into
+     * @param dstOffset : the index in dst of the first decoded byte
+     * @return the number of decoded bytes
+     */
+    static int decodeBase64(byte[] src, int start, int end, byte[] dst, int dstOffset) {
+        int bits = 0;
+        int digits = 0;
+        int out = dstOffset;
+        int i = start;
+        for (; i < end; i++) {
+            int value = BASE64_VALUES[src[i] & BYTE_MASK];
+            if (value == PADDING) {
+                break;
+            }
+            if (value == INVALID) {
+                throw new TransformerSerDeException("Illegal base64 character in the nested DLQ failed event at "
+                        + "index:" + (i - start));
+            }
+            bits = (bits << DIGIT_BITS) | value;
+            if (++digits == QUANTUM_DIGITS) {
+                dst[out++] = (byte) (bits >> (2 * BYTE_BITS));
+                dst[out++] = (byte) (bits >> BYTE_BITS);
+                dst[out++] = (byte) bits;
+                bits = 0;
+                digits = 0;
+            }
+        }
+        for (; i < end; i++) {
+            if (src[i] != '=') {
+                throw new TransformerSerDeException("Illegal base64 padding in the nested DLQ failed event at "
+                        + "index:" + (i - start));
+            }
+        }
+        if (digits == 1) {
+            throw new TransformerSerDeException("Truncated base64 text in the nested DLQ failed event");
+        }
+        if (digits > 1) {
+            bits <<= DIGIT_BITS * (QUANTUM_DIGITS - digits);
+            dst[out++] = (byte) (bits >> (2 * BYTE_BITS));
+            if (digits == QUANTUM_DIGITS - 1) {
+                dst[out++] = (byte) (bits >> BYTE_BITS);
+            }
+        }
+        return out - dstOffset;
+    }
+}
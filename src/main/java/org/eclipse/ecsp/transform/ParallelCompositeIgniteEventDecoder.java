@@ -0,0 +1,248 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.eclipse.ecsp.domain.EventID;
+import org.eclipse.ecsp.entities.CompositeIgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Decoder binding the nested events of a large composite event in parallel.
+ *
+ * <p>
+ * The JSON array of the composite event is first scanned once to find the byte range of each element, without
+ * binding anything. The ranges are then split into chunks which are bound on the given executor, each element
+ * with a parser of its own over its range of the byte[]. The bound events are stored by index so that the nested
+ * events keep the order of the array. An array with fewer elements than the configured minimum is bound on the
+ * calling thread, as the coordination would cost more than it saves.
+ * </p>
+ */
+public class ParallelCompositeIgniteEventDecoder {
+
+    /** The number of chunks per available processor the elements are split into. */
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+
+    /** The JsonFactory used to create the parser of each element. */
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Creates the decoder for the given JsonFactory.
+     *
+     * @param jsonFactory : the JsonFactory of the ObjectMapper the nested events are bound with
+     */
+    public ParallelCompositeIgniteEventDecoder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Decodes the array the parser is positioned on into a {@link CompositeIgniteEvent}. On return the parser is
+     * positioned on the END_ARRAY of the composite event.
+     *
+     * @param parser : JsonParser created over buf starting at offset, positioned on the START_ARRAY
+     * @param buf : the byte[] the parser reads from
+     * @param offset : the offset in buf the parser was created with
+     * @param nestedEventReader : binds a nested event from a parser over its range of buf
+     * @param executor : the Executor the chunks of elements are bound on
+     * @param minElements : the number of elements from which they are bound in parallel
+     * @return the CompositeIgniteEvent holding the nested events in array order
+     * @throws IOException if the array cannot be read or a nested event cannot be bound
+     */
+    public CompositeIgniteEvent decode(JsonParser parser, byte[] buf, int offset, RangeReader nestedEventReader,
+            Executor executor, int minElements) throws IOException {
+        int[] ranges = split(parser);
+        int elements = ranges.length / 2;
+        IgniteEvent[] nestedEvents = new IgniteEvent[elements];
+        if (elements < minElements) {
+            readRange(buf, offset, ranges, 0, elements, nestedEventReader, new AtomicBoolean(), nestedEvents);
+        } else {
+            readInParallel(buf, offset, ranges, nestedEventReader, executor, nestedEvents);
+        }
+        CompositeIgniteEvent compositeEvent = new CompositeIgniteEvent();
+        // An eventId is mandatory for each ignite event, or it will
+        // throw exception in DFFAgent
+        compositeEvent.setEventId(EventID.COMPOSITE_EVENT);
+        compositeEvent.setNestedEvents(new ArrayList<>(Arrays.asList(nestedEvents)));
+        return compositeEvent;
+    }
+
+    /**
+     * Finds the byte range of each element of the array the parser is positioned on, relative to the offset the
+     * parser was created with.
+     *
+     * @param parser : JsonParser positioned on the START_ARRAY
+     * @return the start and end of each element, in array order
+     * @throws IOException if the array cannot be read
+     */
+    private static int[] split(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new TransformerSerDeException("Expected a JSON array for composite event but received token:"
+                    + parser.currentToken());
+        }
+        int[] ranges = new int[CHUNKS_PER_PROCESSOR * 2];
+        int count = 0;
+        JsonToken token = parser.nextToken();
+        while (token != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new TransformerSerDeException("Unexpected end of input while reading composite event.");
+            }
+            if (count == ranges.length) {
+                ranges = Arrays.copyOf(ranges, count * 2);
+            }
+            ranges[count++] = (int) parser.currentTokenLocation().getByteOffset();
+            parser.skipChildren();
+            ranges[count++] = (int) parser.currentLocation().getByteOffset();
+            token = parser.nextToken();
+        }
+        return Arrays.copyOf(ranges, count);
+    }
+
+    /**
+     * Binds the elements in chunks on the executor, the first chunk on the calling thread. If the first chunk
+     * fails, the other chunks are abandoned: those not started yet bind nothing, those running stop after their
+     * current element, and all of them are awaited before the failure is thrown so that none writes into
+     * nestedEvents afterwards.
+     *
+     * @param buf : the byte[] holding the composite event
+     * @param offset : the offset of the composite event in buf
+     * @param ranges : the start and end of each element
+     * @param nestedEventReader : binds a nested event from a parser over its range of buf
+     * @param executor : the Executor the chunks are bound on
+     * @param nestedEvents : the array the bound events are stored into, by index
+     * @throws IOException if a nested event cannot be bound
+     */
+    private void readInParallel(byte[] buf, int offset, int[] ranges, RangeReader nestedEventReader,
+            Executor executor, IgniteEvent[] nestedEvents) throws IOException {
+        int elements = nestedEvents.length;
+        int chunks = Math.min(elements, Runtime.getRuntime().availableProcessors() * CHUNKS_PER_PROCESSOR);
+        int chunkSize = (elements + chunks - 1) / chunks;
+        List<CompletableFuture<Void>> pending = new ArrayList<>(chunks);
+        AtomicBoolean abandoned = new AtomicBoolean();
+        for (int from = chunkSize; from < elements; from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, elements);
+            pending.add(CompletableFuture.runAsync(() -> {
+                try {
+                    readRange(buf, offset, ranges, start, end, nestedEventReader, abandoned, nestedEvents);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor));
+        }
+        boolean firstChunkRead = false;
+        try {
+            readRange(buf, offset, ranges, 0, Math.min(chunkSize, elements), nestedEventReader, abandoned,
+                    nestedEvents);
+            firstChunkRead = true;
+        } finally {
+            if (!firstChunkRead) {
+                abandoned.set(true);
+                for (CompletableFuture<Void> chunk : pending) {
+                    chunk.handle((result, failure) -> null).join();
+                }
+            }
+        }
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException uncheckedIoException) {
+                throw uncheckedIoException.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Binds the elements from index start up to index end.
+     *
+     * @param buf : the byte[] holding the composite event
+     * @param offset : the offset of the composite event in buf
+     * @param ranges : the start and end of each element
+     * @param start : the index of the first element to bind
+     * @param end : the index after the last element to bind
+     * @param nestedEventReader : binds a nested event from a parser over its range of buf
+     * @param abandoned : set once the composite event failed, the remaining elements are then not bound
+     * @param nestedEvents : the array the bound events are stored into, by index
+     * @throws IOException if a nested event cannot be bound
+     */
+    private void readRange(byte[] buf, int offset, int[] ranges, int start, int end, RangeReader nestedEventReader,
+            AtomicBoolean abandoned, IgniteEvent[] nestedEvents) throws IOException {
+        for (int i = start; i < end && !abandoned.get(); i++) {
+            int elementOffset = offset + ranges[2 * i];
+            int elementLength = ranges[2 * i + 1] - ranges[2 * i];
+            try (JsonParser elementParser = jsonFactory.createParser(buf, elementOffset, elementLength)) {
+                elementParser.nextToken();
+                nestedEvents[i] = nestedEventReader.read(elementParser, elementOffset);
+            }
+        }
+    }
+
+    /**
+     * Binds a single element of a composite event from a parser over its own range of the byte[].
+     */
+    @FunctionalInterface
+    public interface RangeReader {
+
+        /**
+         * Reads the nested event the parser is positioned on.
+         *
+         * @param parser : JsonParser created over the range of the nested event, positioned on its first token
+         * @param offset : the offset of the nested event in the byte[] the parser was created over
+         * @return the nested IgniteEvent
+         * @throws IOException if the nested event cannot be bound
+         */
+        IgniteEvent read(JsonParser parser, int offset) throws IOException;
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.eclipse.ecsp.domain.Version;
+import org.eclipse.ecsp.entities.EventData;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.eclipse.ecsp.entities.UserContext;
+
+import java.util.List;
+
+/**
+ * IgniteEventImpl which remembers the bytes it was decoded from.
+ *
+ * <p>
+ * When pass-through is enabled on the {@link GenericIgniteEventTransformer}, decoded events keep a reference to
+ * their source bytes and {@link GenericIgniteEventTransformer#toBlob(org.eclipse.ecsp.entities.IgniteEvent)}
+ * returns those bytes as they are, as long as the event has not been modified. Every setter of
+ * {@link IgniteEventImpl} is overridden so that calling it marks the event modified, after which it is serialized
+ * as usual.
+ * </p>
+ *
+ * <p>
+ * Changes made in place to mutable values held by the event, such as its EventData, cannot be observed. Code
+ * doing so must call {@link #markModified()} for the change to be serialized.
+ * </p>
+ */
+public class PassThroughIgniteEventImpl extends IgniteEventImpl {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 4672010973409364741L;
+
+    /** The bytes the event was decoded from, null if they are not retained. */
+    private transient byte[] sourceBytes;
+
+    /** Suggests whether the event has been modified since it was decoded. */
+    private transient boolean modified = true;
+
+    /**
+     * Retains the bytes the event was decoded from and marks the event unmodified.
+     *
+     * @param sourceBytes : the serialized form of the event, exactly as received
+     */
+    void retainSource(byte[] sourceBytes) {
+        this.sourceBytes = sourceBytes;
+        this.modified = false;
+    }
+
+    /**
+     * Gets the bytes the event was decoded from if it has not been modified since.
+     *
+     * @return the source bytes, or null if the event was modified or the source bytes are not retained
+     */
+    byte[] unmodifiedSource() {
+        return modified ? null : sourceBytes;
+    }
+
+    /**
+     * Marks the event modified so that it is serialized again instead of passed through. The source bytes are
+     * released.
+     */
+    public void markModified() {
+        modified = true;
+        sourceBytes = null;
+    }
+
+    /**
+     * Checks whether the event has been modified since it was decoded.
+     *
+     * @return true, if the event has been modified or does not retain its source bytes
+     */
+    @JsonIgnore
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Sets the event data without marking the event modified, for subclasses completing the decode of the event.
+     *
+     * @param eventData the event data
+     */
+    void bindEventData(EventData eventData) {
+        super.setEventData(eventData);
+    }
+
+    @Override
+    public void setEventData(EventData eventData) {
+        super.setEventData(eventData);
+        markModified();
+    }
+
+    @Override
+    public void setEventId(String eventId) {
+        super.setEventId(eventId);
+        markModified();
+    }
+
+    @Override
+    public void setVersion(Version version) {
+        super.setVersion(version);
+        markModified();
+    }
+
+    @Override
+    public void setTimestamp(long timestamp) {
+        super.setTimestamp(timestamp);
+        markModified();
+    }
+
+    @Override
+    public void setTimezone(short timezone) {
+        super.setTimezone(timezone);
+        markModified();
+    }
+
+    @Override
+    public void setRequestId(String requestId) {
+        super.setRequestId(requestId);
+        markModified();
+    }
+
+    @Override
+    public void setSourceDeviceId(String sourceDeviceId) {
+        super.setSourceDeviceId(sourceDeviceId);
+        markModified();
+    }
+
+    @Override
+    public void setVehicleId(String vehicleId) {
+        super.setVehicleId(vehicleId);
+        markModified();
+    }
+
+    @Override
+    public void setMessageId(String messageId) {
+        super.setMessageId(messageId);
+        markModified();
+    }
+
+    @Override
+    public void setCorrelationId(String correlationId) {
+        super.setCorrelationId(correlationId);
+        markModified();
+    }
+
+    @Override
+    public void setBizTransactionId(String bizTransactionId) {
+        super.setBizTransactionId(bizTransactionId);
+        markModified();
+    }
+
+    @Override
+    public void setDFFQualifier(String dffQualifier) {
+        super.setDFFQualifier(dffQualifier);
+        markModified();
+    }
+
+    @Override
+    public void setTracingContext(String tracingContext) {
+        super.setTracingContext(tracingContext);
+        markModified();
+    }
+
+    @Override
+    public void setSchemaVersion(Version schemaVersion) {
+        super.setSchemaVersion(schemaVersion);
+        markModified();
+    }
+
+    @Override
+    public void setDeviceRoutable(boolean deviceRoutable) {
+        super.setDeviceRoutable(deviceRoutable);
+        markModified();
+    }
+
+    @Override
+    public void setShoulderTapEnabled(boolean shoulderTapEnabled) {
+        super.setShoulderTapEnabled(shoulderTapEnabled);
+        markModified();
+    }
+
+    @Override
+    public void setTransientData(boolean transientData) {
+        super.setTransientData(transientData);
+        markModified();
+    }
+
+    @Override
+    public void setResponseExpected(boolean responseExpected) {
+        super.setResponseExpected(responseExpected);
+        markModified();
+    }
+
+    @Override
+    public void setTargetDeviceId(String targetDeviceId) {
+        super.setTargetDeviceId(targetDeviceId);
+        markModified();
+    }
+
+    @Override
+    public void setDeviceDeliveryCutoff(long deviceDeliveryCutoff) {
+        super.setDeviceDeliveryCutoff(deviceDeliveryCutoff);
+        markModified();
+    }
+
+    @Override
+    public void setDevMsgTopicSuffix(String devMsgTopicSuffix) {
+        super.setDevMsgTopicSuffix(devMsgTopicSuffix);
+        markModified();
+    }
+
+    @Override
+    public void setUserContextInfo(List<UserContext> userContextInfo) {
+        super.setUserContextInfo(userContextInfo);
+        markModified();
+    }
+
+    @Override
+    public void setDuplicateMessage(Boolean duplicateMessage) {
+        super.setDuplicateMessage(duplicateMessage);
+        markModified();
+    }
+
+    @Override
+    public void setPlatformId(String platformId) {
+        super.setPlatformId(platformId);
+        markModified();
+    }
+
+    @Override
+    public void setEcuType(String ecuType) {
+        super.setEcuType(ecuType);
+        markModified();
+    }
+
+    @Override
+    public void setMqttTopic(String mqttTopic) {
+        super.setMqttTopic(mqttTopic);
+        markModified();
+    }
+}
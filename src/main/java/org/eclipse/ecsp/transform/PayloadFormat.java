@@ -0,0 +1,208 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The data formats of the serialized ignite events, told apart by their leading bytes.
+ *
+ * <p>
+ * Sniffing a payload costs a few byte comparisons: the FST stream magic 0xACED, the Smile header
+ * <code>:)\n</code>, the CBOR self-describe tag 0xD9D9F7 or the initial byte of a CBOR map or array, or the
+ * opening brace or bracket of a JSON object or array, after the optional UTF-8 byte order mark and whitespace.
+ * They are checked in this order, the first byte of the FST magic also being the initial byte of a CBOR map.
+ * No payload throws, a payload of no known format is reported as UNKNOWN.
+ * </p>
+ */
+public enum PayloadFormat {
+
+    /** Textual JSON, see {@link GenericIgniteEventTransformer}. */
+    JSON,
+
+    /** Smile, see {@link SmileIgniteEventTransformer}. */
+    SMILE,
+
+    /** CBOR, see {@link CborIgniteEventTransformer}. */
+    CBOR,
+
+    /** FST, see {@link org.eclipse.ecsp.serializer.IngestionSerializerFstImpl}. */
+    FST,
+
+    /** Any other payload. */
+    UNKNOWN;
+
+    /** The first byte of the FST stream magic. */
+    private static final int FST_MAGIC_0 = 0xAC;
+
+    /** The second byte of the FST stream magic. */
+    private static final int FST_MAGIC_1 = 0xED;
+
+    /** The first byte of the Smile header. */
+    private static final int SMILE_HEADER_0 = ':';
+
+    /** The second byte of the Smile header. */
+    private static final int SMILE_HEADER_1 = ')';
+
+    /** The third byte of the Smile header. */
+    private static final int SMILE_HEADER_2 = '\n';
+
+    /** The first and second byte of the CBOR self-describe tag. */
+    private static final int CBOR_TAG_0 = 0xD9;
+
+    /** The third byte of the CBOR self-describe tag. */
+    private static final int CBOR_TAG_2 = 0xF7;
+
+    /** The lowest initial byte of a CBOR array, major type 4. */
+    private static final int CBOR_ARRAY_MIN = 0x80;
+
+    /** The highest initial byte of a CBOR map, major type 5. */
+    private static final int CBOR_MAP_MAX = 0xBF;
+
+    /** The first byte of the UTF-8 byte order mark. */
+    private static final int BOM_0 = 0xEF;
+
+    /** The second byte of the UTF-8 byte order mark. */
+    private static final int BOM_1 = 0xBB;
+
+    /** The third byte of the UTF-8 byte order mark. */
+    private static final int BOM_2 = 0xBF;
+
+    /** The mask of a byte. */
+    private static final int BYTE_MASK = 0xFF;
+
+    /** The length of the Smile header, the CBOR tag and the byte order mark. */
+    private static final int THREE = 3;
+
+    /**
+     * Gets the format of the payload held by a region of a byte[].
+     *
+     * @param buf : the byte[] holding the payload
+     * @param offset : the offset of the payload in buf
+     * @param length : the length of the payload
+     * @return the PayloadFormat, UNKNOWN if the payload is empty or of no known format
+     */
+    public static PayloadFormat of(byte[] buf, int offset, int length) {
+        if (buf == null || length <= 0) {
+            return UNKNOWN;
+        }
+        int b0 = buf[offset] & BYTE_MASK;
+        int b1 = length > 1 ? buf[offset + 1] & BYTE_MASK : -1;
+        int b2 = length > 2 ? buf[offset + 2] & BYTE_MASK : -1;
+        PayloadFormat format = of(b0, b1, b2);
+        if (format != JSON) {
+            return format;
+        }
+        int i = offset;
+        int end = offset + length;
+        if (b0 == BOM_0) {
+            i += THREE;
+        }
+        while (i < end && isWhitespace(buf[i])) {
+            i++;
+        }
+        return i < end && (buf[i] == '{' || buf[i] == '[') ? JSON : UNKNOWN;
+    }
+
+    /**
+     * Gets the format of the payload held by the remaining bytes of a ByteBuffer. The position of the buffer is
+     * not modified.
+     *
+     * @param buffer : the ByteBuffer holding the payload
+     * @return the PayloadFormat, UNKNOWN if the payload is empty or of no known format
+     */
+    public static PayloadFormat of(ByteBuffer buffer) {
+        if (buffer == null || !buffer.hasRemaining()) {
+            return UNKNOWN;
+        }
+        if (buffer.hasArray()) {
+            return of(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        int position = buffer.position();
+        int limit = buffer.limit();
+        int b0 = buffer.get(position) & BYTE_MASK;
+        int b1 = limit - position > 1 ? buffer.get(position + 1) & BYTE_MASK : -1;
+        int b2 = limit - position > 2 ? buffer.get(position + 2) & BYTE_MASK : -1;
+        PayloadFormat format = of(b0, b1, b2);
+        if (format != JSON) {
+            return format;
+        }
+        int i = b0 == BOM_0 ? position + THREE : position;
+        while (i < limit && isWhitespace(buffer.get(i))) {
+            i++;
+        }
+        return i < limit && (buffer.get(i) == '{' || buffer.get(i) == '[') ? JSON : UNKNOWN;
+    }
+
+    /**
+     * Gets the format told by the first bytes of a payload. JSON is returned for the payloads which may be JSON,
+     * whose first structural character remains to be checked.
+     *
+     * @param b0 : the first byte
+     * @param b1 : the second byte, -1 if the payload is shorter
+     * @param b2 : the third byte, -1 if the payload is shorter
+     * @return the PayloadFormat
+     */
+    private static PayloadFormat of(int b0, int b1, int b2) {
+        if (b0 == FST_MAGIC_0 && b1 == FST_MAGIC_1) {
+            return FST;
+        }
+        if (b0 == SMILE_HEADER_0 && b1 == SMILE_HEADER_1 && b2 == SMILE_HEADER_2) {
+            return SMILE;
+        }
+        if (b0 == CBOR_TAG_0 && b1 == CBOR_TAG_0 && b2 == CBOR_TAG_2
+                || b0 >= CBOR_ARRAY_MIN && b0 <= CBOR_MAP_MAX) {
+            return CBOR;
+        }
+        if (b0 == BOM_0 && (b1 != BOM_1 || b2 != BOM_2)) {
+            return UNKNOWN;
+        }
+        return JSON;
+    }
+
+    /**
+     * Checks if the byte is JSON whitespace.
+     *
+     * @param b : the byte
+     * @return true, if whitespace
+     */
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+}
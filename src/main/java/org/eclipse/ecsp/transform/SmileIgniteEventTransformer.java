@@ -0,0 +1,105 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.eclipse.ecsp.domain.IgniteEventSource;
+import org.eclipse.ecsp.transform.config.JacksonMapperConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.util.Properties;
+
+/**
+ * Transformer encoding ignite events as Smile, the binary JSON data format of Jackson.
+ *
+ * <p>
+ * Smile keeps the data model of JSON and replaces its text by compact binary tokens, repeated property names
+ * being written once and referenced afterwards, which cuts the size of the events and the cost of parsing them.
+ * Every event starts with the Smile header, the bytes <code>:)\n</code>, which tells it apart from textual JSON.
+ * See {@link BinaryJsonIgniteEventTransformer}.
+ * </p>
+ */
+@Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class SmileIgniteEventTransformer extends BinaryJsonIgniteEventTransformer {
+
+    /** The source of the events encoded by this transformer. */
+    public static final String SOURCE = IgniteEventSource.IGNITE + "-smile";
+
+    /**
+     * Creates the transformer with the default settings of the {@link JacksonMapperConfig}.
+     */
+    public SmileIgniteEventTransformer() {
+        this(new JacksonMapperConfig());
+    }
+
+    /**
+     * Creates the transformer with the custom serializers, deserializers and subtypes found in the given
+     * properties, see {@link JacksonMapperConfig#JacksonMapperConfig(Properties)}.
+     *
+     * @param props : Properties
+     */
+    public SmileIgniteEventTransformer(Properties props) {
+        this(new JacksonMapperConfig(props));
+    }
+
+    /**
+     * Creates the transformer with the ObjectMapper settings of the given config. Spring creates the transformer
+     * with its JacksonMapperConfig, holding the settings of the environment.
+     *
+     * @param config : JacksonMapperConfig
+     */
+    @Autowired
+    public SmileIgniteEventTransformer(JacksonMapperConfig config) {
+        super(config.objectMapper(new SmileFactory()));
+    }
+
+    /**
+     * Gets the source.
+     *
+     * @return the source
+     */
+    @Override
+    public String getSource() {
+        return SOURCE;
+    }
+}
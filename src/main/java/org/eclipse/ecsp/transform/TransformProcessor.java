@@ -0,0 +1,377 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Reactive pipeline stage transforming the items of a {@link Flow.Publisher}.
+ *
+ * <p>
+ * The stage requests items from upstream only while its subscriber has outstanding demand, at most batchSize of
+ * them at a time, so that no more than batchSize items are ever buffered whatever the speed of the subscriber. The
+ * items received are transformed in micro-batches of the items available, at most batchSize of them, through the
+ * batch API of the transformer. An item which fails to transform does not cancel the stream: it is handed to the
+ * error channel together with its exception, and the stream continues with the next item.
+ * </p>
+ *
+ * <p>
+ * A stage has a single subscriber and is subscribed to a single publisher.
+ * </p>
+ *
+ * @param <I> the type of the items received from upstream
+ * @param <O> the type of the items published downstream
+ */
+public class TransformProcessor<I, O> implements Flow.Processor<I, O> {
+
+    /** The Constant LOGGER. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransformProcessor.class);
+
+    /** The function transforming a micro-batch. */
+    private final Function<List<I>, List<TransformResult<O>>> batchTransform;
+
+    /** The maximum number of items of a micro-batch. */
+    private final int batchSize;
+
+    /** The channel the items failing to transform are handed to. */
+    private final BiConsumer<I, RuntimeException> errorChannel;
+
+    /** The items received from upstream and not yet transformed. */
+    private final Queue<I> inbound = new ConcurrentLinkedQueue<>();
+
+    /** The transformed items waiting for demand. Only accessed from the drain loop. */
+    private final Queue<O> outbound = new ArrayDeque<>();
+
+    /** The demand of the subscriber not yet fulfilled. */
+    private final AtomicLong demand = new AtomicLong();
+
+    /** Guards the drain loop, counts the signals received while it runs. */
+    private final AtomicInteger wip = new AtomicInteger();
+
+    /** The number of items requested from upstream and not yet received. Only accessed from the drain loop. */
+    private long upstreamOutstanding;
+
+    /** The subscription to upstream. */
+    private volatile Flow.Subscription upstream;
+
+    /** The subscriber. */
+    private volatile Flow.Subscriber<? super O> downstream;
+
+    /** Suggests whether upstream has terminated. */
+    private volatile boolean upstreamDone;
+
+    /** The error upstream has terminated with, if any. */
+    private volatile Throwable upstreamError;
+
+    /** The error the subscriber is to be terminated with, if it has made an invalid request. */
+    private volatile Throwable downstreamError;
+
+    /** Suggests whether the subscriber has cancelled or the stage has terminated. */
+    private volatile boolean cancelled;
+
+    /**
+     * Creates the stage.
+     *
+     * @param batchTransform : the function transforming a micro-batch, returning the result of each item in order
+     * @param batchSize : the maximum number of items of a micro-batch and of items buffered by the stage
+     * @param errorChannel : the channel the items failing to transform are handed to, with their exception
+     */
+    public TransformProcessor(Function<List<I>, List<TransformResult<O>>> batchTransform, int batchSize,
+            BiConsumer<I, RuntimeException> errorChannel) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive");
+        }
+        this.batchTransform = Objects.requireNonNull(batchTransform);
+        this.batchSize = batchSize;
+        this.errorChannel = Objects.requireNonNull(errorChannel);
+    }
+
+    /**
+     * Creates a stage decoding byte[] into IgniteEvents with {@link Transformer#fromBlobs(List)}.
+     *
+     * @param transformer : the Transformer
+     * @param batchSize : the maximum number of records of a micro-batch
+     * @param errorChannel : the channel the records failing to decode are handed to
+     * @return the TransformProcessor
+     */
+    public static TransformProcessor<byte[], IgniteEvent> decoding(Transformer transformer, int batchSize,
+            BiConsumer<byte[], RuntimeException> errorChannel) {
+        return new TransformProcessor<>(transformer::fromBlobs, batchSize, errorChannel);
+    }
+
+    /**
+     * Creates a stage encoding IgniteEvents into byte[] with {@link Transformer#toBlobs(List)}.
+     *
+     * @param transformer : the Transformer
+     * @param batchSize : the maximum number of events of a micro-batch
+     * @param errorChannel : the channel the events failing to encode are handed to
+     * @return the TransformProcessor
+     */
+    public static TransformProcessor<IgniteEvent, byte[]> encoding(Transformer transformer, int batchSize,
+            BiConsumer<IgniteEvent, RuntimeException> errorChannel) {
+        return new TransformProcessor<>(transformer::toBlobs, batchSize, errorChannel);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super O> subscriber) {
+        Objects.requireNonNull(subscriber);
+        synchronized (this) {
+            if (downstream == null) {
+                downstream = subscriber;
+                subscriber.onSubscribe(new DownstreamSubscription());
+                drain();
+                return;
+            }
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                // the subscriber is rejected, there is nothing to request
+            }
+
+            @Override
+            public void cancel() {
+                // the subscriber is rejected, there is nothing to cancel
+            }
+        });
+        subscriber.onError(new IllegalStateException("The transform processor supports a single subscriber"));
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        synchronized (this) {
+            if (upstream == null && !cancelled) {
+                upstream = subscription;
+                drain();
+                return;
+            }
+        }
+        subscription.cancel();
+    }
+
+    @Override
+    public void onNext(I item) {
+        inbound.offer(Objects.requireNonNull(item));
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        upstreamError = Objects.requireNonNull(throwable);
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    /**
+     * Emits the transformed items the subscriber has demand for, transforms the items received and requests more
+     * items from upstream. Only one thread runs the loop at a time, the signals received meanwhile are handled by
+     * that thread before it leaves the loop.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super O> subscriber = downstream;
+            Flow.Subscription subscription = upstream;
+            if (subscriber != null && subscription != null) {
+                drainLoop(subscriber, subscription);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * A pass of the drain loop, once both the subscriber and the upstream subscription are known.
+     *
+     * @param subscriber the subscriber
+     * @param subscription the upstream subscription
+     */
+    private void drainLoop(Flow.Subscriber<? super O> subscriber, Flow.Subscription subscription) {
+        if (downstreamError != null && !cancelled) {
+            cancelled = true;
+            subscriber.onError(downstreamError);
+        }
+        while (!cancelled) {
+            if (!outbound.isEmpty()) {
+                if (demand.get() == 0) {
+                    return;
+                }
+                emit(subscriber, outbound.poll());
+                continue;
+            }
+            if (!inbound.isEmpty()) {
+                transformBatch();
+                continue;
+            }
+            if (upstreamDone) {
+                cancelled = true;
+                if (upstreamError != null) {
+                    subscriber.onError(upstreamError);
+                } else {
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            if (demand.get() > 0 && upstreamOutstanding == 0) {
+                upstreamOutstanding = batchSize;
+                // may deliver items synchronously, they are picked up by the next pass
+                subscription.request(batchSize);
+            }
+            return;
+        }
+        inbound.clear();
+        outbound.clear();
+    }
+
+    /**
+     * Emits an item, consuming a unit of demand.
+     *
+     * @param subscriber the subscriber
+     * @param item the item
+     */
+    private void emit(Flow.Subscriber<? super O> subscriber, O item) {
+        if (demand.get() != Long.MAX_VALUE) {
+            demand.decrementAndGet();
+        }
+        subscriber.onNext(item);
+    }
+
+    /**
+     * Transforms the items received, at most batchSize of them, queuing the transformed items and handing the
+     * failed ones to the error channel.
+     */
+    private void transformBatch() {
+        List<I> batch = new ArrayList<>(Math.min(batchSize, inbound.size()));
+        I item;
+        while (batch.size() < batchSize && (item = inbound.poll()) != null) {
+            batch.add(item);
+        }
+        upstreamOutstanding = Math.max(0, upstreamOutstanding - batch.size());
+        List<TransformResult<O>> results;
+        try {
+            results = batchTransform.apply(batch);
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to transform a batch of {} items", batch.size(), e);
+            batch.forEach(failed -> reportFailure(failed, e));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            TransformResult<O> result = results.get(i);
+            if (result.isSuccess()) {
+                outbound.offer(result.getValue());
+            } else {
+                reportFailure(batch.get(i), result.getError());
+            }
+        }
+    }
+
+    /**
+     * Hands an item which failed to transform to the error channel. A failure of the error channel is logged and
+     * does not terminate the stream.
+     *
+     * @param item the item
+     * @param error the exception the item failed with
+     */
+    private void reportFailure(I item, RuntimeException error) {
+        try {
+            errorChannel.accept(item, error);
+        } catch (RuntimeException e) {
+            LOGGER.error("Error channel failed to accept an item which failed to transform", e);
+        }
+    }
+
+    /**
+     * The subscription handed to the subscriber.
+     */
+    private final class DownstreamSubscription implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                downstreamError = new IllegalArgumentException("The requested number of items must be positive");
+                cancelUpstream();
+                drain();
+                return;
+            }
+            demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                cancelUpstream();
+                drain();
+            }
+        }
+
+        /**
+         * Cancels the subscription to upstream, if there is one yet.
+         */
+        private void cancelUpstream() {
+            Flow.Subscription subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
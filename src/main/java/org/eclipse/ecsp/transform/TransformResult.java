@@ -0,0 +1,120 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+/**
+ * The outcome of transforming one record of a batch, see {@link Transformer#fromBlobs(java.util.List)} and
+ * {@link Transformer#toBlobs(java.util.List)}. Holds either the transformed value or the exception the record
+ * failed with, so that a failing record does not fail the rest of the batch.
+ *
+ * @param <T> the type of the transformed value
+ */
+public final class TransformResult<T> {
+
+    /** The transformed value, null if the record failed. */
+    private final T value;
+
+    /** The exception the record failed with, null if the record succeeded. */
+    private final RuntimeException error;
+
+    /**
+     * Instantiates a new TransformResult.
+     *
+     * @param value the transformed value
+     * @param error the exception the record failed with
+     */
+    private TransformResult(T value, RuntimeException error) {
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * Creates the result of a record which was transformed.
+     *
+     * @param <T> the type of the transformed value
+     * @param value the transformed value
+     * @return the TransformResult
+     */
+    public static <T> TransformResult<T> success(T value) {
+        return new TransformResult<>(value, null);
+    }
+
+    /**
+     * Creates the result of a record which failed.
+     *
+     * @param <T> the type of the transformed value
+     * @param error the exception the record failed with
+     * @return the TransformResult
+     */
+    public static <T> TransformResult<T> failure(RuntimeException error) {
+        return new TransformResult<>(null, error);
+    }
+
+    /**
+     * Checks if the record was transformed.
+     *
+     * @return true, if the record was transformed
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Gets the transformed value.
+     *
+     * @return the value, null if the record failed
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the exception the record failed with.
+     *
+     * @return the exception, null if the record was transformed
+     */
+    public RuntimeException getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "TransformResult [value=" + value + "]" : "TransformResult [error=" + error + "]";
+    }
+}
@@ -42,7 +42,16 @@ package org.eclipse.ecsp.transform;
 import org.eclipse.ecsp.entities.IgniteEvent;
 import org.eclipse.ecsp.entities.IgniteEventBase;
 import org.eclipse.ecsp.key.IgniteKey;
+import org.eclipse.ecsp.transform.buffer.PooledBuffer;
+import org.eclipse.ecsp.transform.buffer.SerializationBufferPool;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -70,6 +79,56 @@ public interface Transformer {
         return null;
     }
     
+    /**
+     * Convert a region of a byte[] (ignite events) to IgniteEvent.
+     *
+     * <p>
+     * Allows decoding straight out of a shared buffer, for example the record buffer of a consumer, without the
+     * caller having to copy the event into its own array. The default implementation copies the region and
+     * delegates to {@link #fromBlob(byte[], Optional)}, transformers that can parse the region in place should
+     * override it.
+     * </p>
+     *
+     * @param buf : byte[] holding the event
+     * @param offset : offset of the first byte of the event in buf
+     * @param length : number of bytes of the event
+     * @param header : Optional of {@link IgniteEventBase}
+     * @return igniteEvent : IgniteEvent
+     * @throws IndexOutOfBoundsException if the region is out of the bounds of buf
+     */
+    public default IgniteEvent fromBlob(byte[] buf, int offset, int length, Optional<IgniteEventBase> header) {
+        if (buf == null) {
+            return fromBlob((byte[]) null, header);
+        }
+        Objects.checkFromIndexSize(offset, length, buf.length);
+        return fromBlob(Arrays.copyOfRange(buf, offset, offset + length), header);
+    }
+
+    /**
+     * Convert the remaining bytes of a ByteBuffer (ignite events) to IgniteEvent.
+     *
+     * <p>
+     * Both heap and direct buffers are accepted. The event is read from the buffer position up to its limit, the
+     * position of the given buffer is not modified. The default implementation delegates heap buffers to
+     * {@link #fromBlob(byte[], int, int, Optional)} and copies direct buffers into a new array.
+     * </p>
+     *
+     * @param buffer : ByteBuffer holding the event
+     * @param header : Optional of {@link IgniteEventBase}
+     * @return igniteEvent : IgniteEvent
+     */
+    public default IgniteEvent fromBlob(ByteBuffer buffer, Optional<IgniteEventBase> header) {
+        if (buffer == null) {
+            return fromBlob((byte[]) null, header);
+        }
+        if (buffer.hasArray()) {
+            return fromBlob(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), header);
+        }
+        byte[] value = new byte[buffer.remaining()];
+        buffer.duplicate().get(value);
+        return fromBlob(value, header);
+    }
+    
     /**
      *Convert byte[] (ignite events) to IgniteEvent.
      *The key argument could be used to extract info like
@@ -93,6 +152,137 @@ public interface Transformer {
      */
     public byte[] toBlob(IgniteEvent value);
 
+    /**
+     * Convert IgniteEvent to bytes written to the given OutputStream.
+     *
+     * <p>
+     * Allows serializing straight into a stream owned by the caller, for example a pooled network buffer. The
+     * stream is not closed. The default implementation writes the byte[] returned by {@link #toBlob(IgniteEvent)},
+     * transformers that can serialize into the stream directly should override it.
+     * </p>
+     *
+     * @param value : IgniteEvent
+     * @param out : the OutputStream the event is written to
+     * @return the number of bytes written
+     */
+    public default int toBlob(IgniteEvent value, OutputStream out) {
+        byte[] blob = toBlob(value);
+        try {
+            out.write(blob);
+        } catch (IOException e) {
+            throw new TransformerSerDeException("Unable to write the ignite event to the output stream", e);
+        }
+        return blob.length;
+    }
+
+    /**
+     * Convert IgniteEvent to bytes written to the given ByteBuffer.
+     *
+     * <p>
+     * Both heap and direct buffers are accepted. The event is written at the buffer position, which is advanced
+     * past the written bytes. If the event does not fit the remaining bytes of the buffer a
+     * {@link java.nio.BufferOverflowException} is thrown and the position is left unchanged, so that the caller
+     * can retry with a larger buffer. The default implementation puts the byte[] returned by
+     * {@link #toBlob(IgniteEvent)}.
+     * </p>
+     *
+     * @param value : IgniteEvent
+     * @param buffer : the ByteBuffer the event is written to
+     * @return the number of bytes written
+     */
+    public default int toBlob(IgniteEvent value, ByteBuffer buffer) {
+        byte[] blob = toBlob(value);
+        buffer.put(blob);
+        return blob.length;
+    }
+
+    /**
+     * Convert IgniteEvent to bytes written to a buffer leased from the given pool.
+     *
+     * <p>
+     * The event is written with {@link #toBlob(IgniteEvent, OutputStream)}, so that transformers which serialize
+     * into a stream directly do not build a byte[] of the event. The caller reads the bytes from the returned
+     * lease and releases it once they have been sent.
+     * </p>
+     *
+     * @param value : IgniteEvent
+     * @param pool : the SerializationBufferPool the buffer is leased from
+     * @return the PooledBuffer holding the event, to be released by the caller
+     */
+    public default PooledBuffer toPooledBlob(IgniteEvent value, SerializationBufferPool pool) {
+        PooledBuffer buffer = pool.acquire();
+        try {
+            toBlob(value, buffer);
+            return buffer;
+        } catch (RuntimeException e) {
+            buffer.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Convert a batch of byte[] (ignite events) to IgniteEvents, without headers.
+     *
+     * @param values : the byte[] of the records, in batch order
+     * @return the result of each record, in batch order
+     * @see #fromBlobs(List, List)
+     */
+    public default List<TransformResult<IgniteEvent>> fromBlobs(List<byte[]> values) {
+        return fromBlobs(values, null);
+    }
+
+    /**
+     * Convert a batch of byte[] (ignite events) to IgniteEvents.
+     *
+     * <p>
+     * Meant for the records of a consumer poll. Each record is transformed on its own, a record which fails does
+     * not fail the batch, its exception is returned in its {@link TransformResult} instead. The default
+     * implementation calls {@link #fromBlob(byte[], Optional)} for each record, transformers that can share their
+     * per call setup across the records should override it.
+     * </p>
+     *
+     * @param values : the byte[] of the records, in batch order
+     * @param headers : the header of each record, in batch order, null if no record has a header
+     * @return the result of each record, in batch order
+     */
+    public default List<TransformResult<IgniteEvent>> fromBlobs(List<byte[]> values,
+            List<Optional<IgniteEventBase>> headers) {
+        List<TransformResult<IgniteEvent>> results = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            try {
+                results.add(TransformResult.success(fromBlob(values.get(i),
+                        headers == null ? Optional.empty() : headers.get(i))));
+            } catch (RuntimeException e) {
+                results.add(TransformResult.failure(e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Convert a batch of IgniteEvents to byte[].
+     *
+     * <p>
+     * Each event is transformed on its own, an event which fails does not fail the batch, its exception is
+     * returned in its {@link TransformResult} instead. The default implementation calls
+     * {@link #toBlob(IgniteEvent)} for each event.
+     * </p>
+     *
+     * @param values : the IgniteEvents, in batch order
+     * @return the result of each event, in batch order
+     */
+    public default List<TransformResult<byte[]>> toBlobs(List<IgniteEvent> values) {
+        List<TransformResult<byte[]>> results = new ArrayList<>(values.size());
+        for (IgniteEvent value : values) {
+            try {
+                results.add(TransformResult.success(toBlob(value)));
+            } catch (RuntimeException e) {
+                results.add(TransformResult.failure(e));
+            }
+        }
+        return results;
+    }
+
     /**
      * Source will determine which implementation of the transformer should be used.
      *
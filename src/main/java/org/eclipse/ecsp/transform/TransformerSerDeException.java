@@ -53,4 +53,14 @@ public class TransformerSerDeException extends RuntimeException {
         super(message);
     }
 
+    /**
+     * Instantiates a new transformer ser de exception.
+     *
+     * @param message the message
+     * @param cause the cause
+     */
+    public TransformerSerDeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
 }
@@ -0,0 +1,295 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.buffer;
+
+import java.io.OutputStream;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A lease on a growable byte buffer of a {@link SerializationBufferPool}.
+ *
+ * <p>
+ * The buffer is written as an OutputStream, it grows by moving its bytes to a larger array of the pool. Once
+ * written, its bytes are read from {@link #array()} up to {@link #length()}, or through {@link #asByteBuffer()},
+ * without being copied. The lease has to be released, with {@link #release()} or {@link #close()}, once the bytes
+ * have been sent: the array then goes back to the pool and must no longer be read. A lease is meant to be used by
+ * one thread at a time.
+ * </p>
+ */
+public final class PooledBuffer extends OutputStream {
+
+    /** The pool the array is leased from. */
+    private final SerializationBufferPool pool;
+
+    /** The state checked when the lease is garbage collected, null if leak detection is disabled. */
+    private final LeakTracker leakTracker;
+
+    /** The registration of the lease with the cleaner, null if leak detection is disabled. */
+    private final Cleaner.Cleanable cleanable;
+
+    /** The leased array, null once released. */
+    private byte[] array;
+
+    /** The number of bytes written. */
+    private int length;
+
+    /**
+     * Creates the lease on the given array.
+     *
+     * @param pool : the pool the array is leased from
+     * @param array : the leased array
+     * @param trackLeak : whether the lease is tracked so that it is reported if it is never released
+     */
+    PooledBuffer(SerializationBufferPool pool, byte[] array, boolean trackLeak) {
+        this.pool = pool;
+        this.array = array;
+        if (trackLeak) {
+            this.leakTracker = new LeakTracker(pool, new Throwable("Pooled buffer acquired at"));
+            this.cleanable = CleanerHolder.CLEANER.register(this, leakTracker);
+        } else {
+            this.leakTracker = null;
+            this.cleanable = null;
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(length + 1);
+        array[length++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(length + len);
+        System.arraycopy(b, off, array, length, len);
+        length += len;
+    }
+
+    /**
+     * Gets the leased array, holding the written bytes from 0 up to {@link #length()}. The array must not be used
+     * once the lease is released.
+     *
+     * @return the leased array
+     */
+    public byte[] array() {
+        checkNotReleased();
+        return array;
+    }
+
+    /**
+     * Makes room for the given number of bytes after the written ones and gets the leased array, for callers
+     * which produce their bytes straight into it from {@link #length()} on. The bytes produced this way are
+     * counted as written with {@link #advance(int)}. The array must not be used once the buffer grows again or
+     * the lease is released.
+     *
+     * @param minWritable : the number of bytes to make room for
+     * @return the leased array
+     */
+    public byte[] writableArray(int minWritable) {
+        ensureCapacity(length + minWritable);
+        return array;
+    }
+
+    /**
+     * Counts bytes produced straight into the array returned by {@link #writableArray(int)} as written.
+     *
+     * @param written : the number of bytes produced after the written ones
+     */
+    public void advance(int written) {
+        checkNotReleased();
+        if (written < 0 || written > array.length - length) {
+            throw new IndexOutOfBoundsException("Cannot advance " + written + " bytes past " + length
+                    + " bytes written into an array of " + array.length + " bytes");
+        }
+        length += written;
+    }
+
+    /**
+     * Gets the number of bytes written.
+     *
+     * @return the length
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Gets the written bytes as a ByteBuffer backed by the leased array, from position 0 up to the limit
+     * {@link #length()}. The ByteBuffer must not be used once the lease is released.
+     *
+     * @return the ByteBuffer
+     */
+    public ByteBuffer asByteBuffer() {
+        checkNotReleased();
+        return ByteBuffer.wrap(array, 0, length);
+    }
+
+    /**
+     * Copies the written bytes into a new array, for callers which have to hand over a byte[] of their own.
+     *
+     * @return the copy of the written bytes
+     */
+    public byte[] toByteArray() {
+        checkNotReleased();
+        return Arrays.copyOf(array, length);
+    }
+
+    /**
+     * Discards the written bytes, keeping the leased array.
+     */
+    public void reset() {
+        checkNotReleased();
+        length = 0;
+    }
+
+    /**
+     * Checks if the lease was released.
+     *
+     * @return true, if released
+     */
+    public boolean isReleased() {
+        return array == null;
+    }
+
+    /**
+     * Releases the lease, returning the array to the pool. Releasing a lease again has no effect.
+     */
+    public void release() {
+        if (array == null) {
+            return;
+        }
+        byte[] leased = array;
+        array = null;
+        length = 0;
+        pool.give(leased);
+        pool.onRelease();
+        if (cleanable != null) {
+            leakTracker.released = true;
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * Releases the lease, see {@link #release()}.
+     */
+    @Override
+    public void close() {
+        release();
+    }
+
+    /**
+     * Grows the leased array so that it holds at least the given number of bytes.
+     *
+     * @param minCapacity : the number of bytes to hold
+     */
+    private void ensureCapacity(int minCapacity) {
+        checkNotReleased();
+        if (minCapacity <= array.length) {
+            return;
+        }
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Pooled buffer cannot grow beyond " + Integer.MAX_VALUE + " bytes");
+        }
+        int doubled = array.length << 1;
+        byte[] grown = pool.take(doubled > minCapacity ? doubled : minCapacity);
+        System.arraycopy(array, 0, grown, 0, length);
+        pool.give(array);
+        array = grown;
+    }
+
+    /**
+     * Checks that the lease was not released.
+     */
+    private void checkNotReleased() {
+        if (array == null) {
+            throw new IllegalStateException("The pooled buffer was already released");
+        }
+    }
+
+    /**
+     * The state of a tracked lease the cleaner runs with once the lease is garbage collected, or once it is
+     * released. It must not reference the lease.
+     */
+    private static final class LeakTracker implements Runnable {
+
+        /** The pool the lease was acquired from. */
+        private final SerializationBufferPool pool;
+
+        /** Where the lease was acquired. */
+        private final Throwable acquiredAt;
+
+        /** Suggests whether the lease was released. */
+        private volatile boolean released;
+
+        /**
+         * Creates the tracker.
+         *
+         * @param pool : the pool the lease was acquired from
+         * @param acquiredAt : where the lease was acquired
+         */
+        private LeakTracker(SerializationBufferPool pool, Throwable acquiredAt) {
+            this.pool = pool;
+            this.acquiredAt = acquiredAt;
+        }
+
+        @Override
+        public void run() {
+            if (!released) {
+                pool.onLeak(acquiredAt);
+            }
+        }
+    }
+
+    /**
+     * Holds the cleaner, so that its thread is only started when leak detection is used.
+     */
+    private static final class CleanerHolder {
+
+        /** The cleaner tracking the leases. */
+        private static final Cleaner CLEANER = Cleaner.create();
+
+        /**
+         * Not instantiable.
+         */
+        private CleanerHolder() {
+        }
+    }
+}
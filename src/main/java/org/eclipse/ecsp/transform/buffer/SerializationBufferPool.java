@@ -0,0 +1,307 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.buffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of reusable byte arrays the serialization paths write into, handed out as {@link PooledBuffer} leases.
+ *
+ * <p>
+ * The arrays are kept in buckets by size class, each size class being a power of two from 256 bytes up to the
+ * maximum pooled size. A lease takes an array of the smallest class that fits the expected size and moves to
+ * larger classes as the serialized payload grows, the arrays it lets go of are returned to their bucket. Each
+ * bucket keeps a bounded number of arrays, arrays returned to a full bucket and arrays larger than the maximum
+ * pooled size are left to the garbage collector.
+ * </p>
+ *
+ * <p>
+ * A lease has to be released once its bytes have been sent. With leak detection enabled the pool records where
+ * each lease was acquired and logs the leases which are garbage collected without having been released, this
+ * costs a stack trace per lease and is meant for debugging. Hits, misses, discards, leaks and outstanding leases
+ * are counted for monitoring. The pool is thread safe, the leases are not.
+ * </p>
+ */
+public class SerializationBufferPool {
+
+    /** The property setting the number of arrays kept in each bucket. */
+    public static final String MAX_BUFFERS_PER_BUCKET = "transformer.buffer.pool.max.buffers.per.bucket";
+
+    /** The property setting the size of the largest pooled arrays. */
+    public static final String MAX_POOLED_SIZE = "transformer.buffer.pool.max.pooled.size";
+
+    /** The property enabling the detection of the leases which are never released. */
+    public static final String LEAK_DETECTION_ENABLED = "transformer.buffer.pool.leak.detection.enabled";
+
+    /** The default number of arrays kept in each bucket. */
+    public static final int DEFAULT_MAX_BUFFERS_PER_BUCKET = 64;
+
+    /** The default size of the largest pooled arrays, 1 MB. */
+    public static final int DEFAULT_MAX_POOLED_SIZE = 1 << 20;
+
+    /** The size a lease starts with when no size is expected, 1 KB. */
+    public static final int DEFAULT_INITIAL_SIZE = 1 << 10;
+
+    /** The log2 of the smallest size class, 256 bytes. */
+    private static final int MIN_SIZE_CLASS_SHIFT = 8;
+
+    /** The number of bits of an int. */
+    private static final int INT_BITS = 32;
+
+    /** The Constant LOGGER. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SerializationBufferPool.class);
+
+    /** The pooled arrays, by size class. */
+    private final ArrayBlockingQueue<byte[]>[] buckets;
+
+    /** Suggests whether the leases which are never released are detected. */
+    private final boolean leakDetectionEnabled;
+
+    /** The number of arrays taken from a bucket. */
+    private final LongAdder hits = new LongAdder();
+
+    /** The number of arrays allocated as their bucket was empty or their size is not pooled. */
+    private final LongAdder misses = new LongAdder();
+
+    /** The number of arrays left to the garbage collector on their return. */
+    private final LongAdder discards = new LongAdder();
+
+    /** The number of leases garbage collected without having been released. */
+    private final LongAdder leaks = new LongAdder();
+
+    /** The number of leases acquired. */
+    private final LongAdder acquired = new LongAdder();
+
+    /** The number of leases released. */
+    private final LongAdder released = new LongAdder();
+
+    /**
+     * Creates the pool with the default settings and leak detection disabled.
+     */
+    public SerializationBufferPool() {
+        this(DEFAULT_MAX_BUFFERS_PER_BUCKET, DEFAULT_MAX_POOLED_SIZE, false);
+    }
+
+    /**
+     * Creates the pool with the settings found in the given properties, the defaults apply to the settings which
+     * are absent.
+     *
+     * @param props : Properties
+     */
+    public SerializationBufferPool(Properties props) {
+        this(Integer.parseInt(props.getProperty(MAX_BUFFERS_PER_BUCKET,
+                        String.valueOf(DEFAULT_MAX_BUFFERS_PER_BUCKET))),
+                Integer.parseInt(props.getProperty(MAX_POOLED_SIZE, String.valueOf(DEFAULT_MAX_POOLED_SIZE))),
+                Boolean.parseBoolean(props.getProperty(LEAK_DETECTION_ENABLED)));
+    }
+
+    /**
+     * Creates the pool.
+     *
+     * @param maxBuffersPerBucket : the number of arrays kept in each bucket
+     * @param maxPooledSize : the size of the largest pooled arrays, rounded up to a power of two
+     * @param leakDetectionEnabled : whether the leases which are never released are detected
+     */
+    @SuppressWarnings("unchecked")
+    public SerializationBufferPool(int maxBuffersPerBucket, int maxPooledSize, boolean leakDetectionEnabled) {
+        if (maxBuffersPerBucket <= 0 || maxPooledSize <= 0) {
+            throw new IllegalArgumentException("The number of buffers per bucket and the maximum pooled size "
+                    + "must be positive");
+        }
+        this.buckets = new ArrayBlockingQueue[bucketIndex(maxPooledSize) + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ArrayBlockingQueue<>(maxBuffersPerBucket);
+        }
+        this.leakDetectionEnabled = leakDetectionEnabled;
+        LOGGER.info("Created serialization buffer pool with {} buckets of {} buffers, leak detection enabled:{}",
+                buckets.length, maxBuffersPerBucket, leakDetectionEnabled);
+    }
+
+    /**
+     * Acquires a lease on a buffer of the default initial size.
+     *
+     * @return the PooledBuffer, to be released once its bytes have been sent
+     */
+    public PooledBuffer acquire() {
+        return acquire(DEFAULT_INITIAL_SIZE);
+    }
+
+    /**
+     * Acquires a lease on a buffer able to hold the expected number of bytes without growing.
+     *
+     * @param expectedSize : the expected number of bytes
+     * @return the PooledBuffer, to be released once its bytes have been sent
+     */
+    public PooledBuffer acquire(int expectedSize) {
+        acquired.increment();
+        return new PooledBuffer(this, take(expectedSize), leakDetectionEnabled);
+    }
+
+    /**
+     * Takes an array of at least the given size, from its bucket if one is pooled.
+     *
+     * @param minSize : the minimum size of the array
+     * @return the array
+     */
+    byte[] take(int minSize) {
+        int index = bucketIndex(minSize);
+        if (index >= buckets.length) {
+            misses.increment();
+            return new byte[minSize];
+        }
+        byte[] array = buckets[index].poll();
+        if (array != null) {
+            hits.increment();
+            return array;
+        }
+        misses.increment();
+        return new byte[1 << (index + MIN_SIZE_CLASS_SHIFT)];
+    }
+
+    /**
+     * Returns an array to its bucket, or leaves it to the garbage collector if its size is not pooled or the
+     * bucket is full.
+     *
+     * @param array : the array
+     */
+    void give(byte[] array) {
+        int index = bucketIndex(array.length);
+        if (index >= buckets.length || array.length != 1 << (index + MIN_SIZE_CLASS_SHIFT)
+                || !buckets[index].offer(array)) {
+            discards.increment();
+        }
+    }
+
+    /**
+     * Counts a released lease.
+     */
+    void onRelease() {
+        released.increment();
+    }
+
+    /**
+     * Counts and logs a lease which was garbage collected without having been released.
+     *
+     * @param acquiredAt : where the lease was acquired
+     */
+    void onLeak(Throwable acquiredAt) {
+        leaks.increment();
+        LOGGER.error("A pooled serialization buffer was garbage collected without having been released.",
+                acquiredAt);
+    }
+
+    /**
+     * Gets the index of the bucket of the smallest size class holding the given size.
+     *
+     * @param size : the size
+     * @return the bucket index
+     */
+    private static int bucketIndex(int size) {
+        if (size <= 1 << MIN_SIZE_CLASS_SHIFT) {
+            return 0;
+        }
+        return INT_BITS - Integer.numberOfLeadingZeros(size - 1) - MIN_SIZE_CLASS_SHIFT;
+    }
+
+    /**
+     * Gets the number of arrays taken from a bucket.
+     *
+     * @return the hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of arrays allocated as their bucket was empty or their size is not pooled.
+     *
+     * @return the misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of arrays left to the garbage collector on their return.
+     *
+     * @return the discards
+     */
+    public long getDiscards() {
+        return discards.sum();
+    }
+
+    /**
+     * Gets the number of leases garbage collected without having been released. Only counted with leak
+     * detection enabled.
+     *
+     * @return the leaks
+     */
+    public long getLeaks() {
+        return leaks.sum();
+    }
+
+    /**
+     * Gets the number of leases acquired and not released yet.
+     *
+     * @return the outstanding leases
+     */
+    public long getOutstandingLeases() {
+        return acquired.sum() - released.sum();
+    }
+
+    /**
+     * Checks if the leases which are never released are detected.
+     *
+     * @return true, if leak detection is enabled
+     */
+    public boolean isLeakDetectionEnabled() {
+        return leakDetectionEnabled;
+    }
+
+    @Override
+    public String toString() {
+        return "SerializationBufferPool [hits=" + getHits() + ", misses=" + getMisses() + ", discards="
+                + getDiscards() + ", leaks=" + getLeaks() + ", outstandingLeases=" + getOutstandingLeases() + "]";
+    }
+}
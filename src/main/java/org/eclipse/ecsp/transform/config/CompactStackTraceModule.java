@@ -0,0 +1,415 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Jackson module compacting the stack traces of serialized exceptions.
+ *
+ * <p>
+ * Exceptions are serialized as beans, each with the complete array of its stack frames, and the frames of a cause
+ * mostly repeat the frames of the exception it caused. When enabled, the module caps the number of frames written
+ * per stack trace, the frames beyond the cap being replaced by a single frame of class {@value #TRIMMED_CLASS_NAME}
+ * counting them, and writes a frame already written for the same exception tree, the exception together with its
+ * causes and suppressed exceptions, as the index of its first occurrence instead of as an object.
+ * </p>
+ *
+ * <p>
+ * Trimmed stack traces are plain arrays of frame objects, which Jackson reads as is. Stack traces with frame
+ * references are only read back when reading them is enabled, which replaces the deserialization of the stack
+ * traces and of the exceptions by Jackson, so the module is only registered on a mapper when one of its options
+ * is enabled, see {@link #isNeeded(int, boolean, boolean)}. Events written with frame references can not be
+ * decoded by transformers predating this module.
+ * </p>
+ */
+public class CompactStackTraceModule extends SimpleModule {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = -3316217464094620547L;
+
+    /** The class name of the frame standing for the frames beyond the maximum depth. */
+    public static final String TRIMMED_CLASS_NAME = "<trimmed>";
+
+    /** The key of the attribute holding the frames of the exception tree being written or read. */
+    private static final Object FRAMES = CompactStackTraceModule.class.getName() + ".frames";
+
+    /**
+     * Creates the module, reading frame references if they are written.
+     *
+     * @param maxDepth : the maximum number of frames written per stack trace, 0 for no maximum
+     * @param dedupEnabled : whether repeated frames are written as references to their first occurrence
+     */
+    public CompactStackTraceModule(int maxDepth, boolean dedupEnabled) {
+        this(maxDepth, dedupEnabled, dedupEnabled);
+    }
+
+    /**
+     * Creates the module.
+     *
+     * @param maxDepth : the maximum number of frames written per stack trace, 0 for no maximum
+     * @param dedupEnabled : whether repeated frames are written as references to their first occurrence
+     * @param dedupReadEnabled : whether stack traces with frame references are read back
+     */
+    public CompactStackTraceModule(int maxDepth, boolean dedupEnabled, boolean dedupReadEnabled) {
+        super(CompactStackTraceModule.class.getSimpleName());
+        if (dedupEnabled || dedupReadEnabled) {
+            addDeserializer(StackTraceElement[].class, new StackTraceDeserializer());
+            setDeserializerModifier(new BeanDeserializerModifier() {
+                @Override
+                public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config,
+                        BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
+                    return Throwable.class.isAssignableFrom(beanDesc.getBeanClass())
+                            ? new ScopedThrowableDeserializer(deserializer) : deserializer;
+                }
+            });
+        }
+        if (maxDepth > 0 || dedupEnabled) {
+            addSerializer(StackTraceElement[].class, new StackTraceSerializer(maxDepth, dedupEnabled));
+        }
+        if (dedupEnabled) {
+            setSerializerModifier(new BeanSerializerModifier() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                        JsonSerializer<?> serializer) {
+                    return Throwable.class.isAssignableFrom(beanDesc.getBeanClass())
+                            ? new ScopedThrowableSerializer((JsonSerializer<Object>) serializer) : serializer;
+                }
+            });
+        }
+    }
+
+    /**
+     * Checks whether the module changes anything for the given options, that is whether it has to be registered.
+     *
+     * @param maxDepth : the maximum number of frames written per stack trace, 0 for no maximum
+     * @param dedupEnabled : whether repeated frames are written as references to their first occurrence
+     * @param dedupReadEnabled : whether stack traces with frame references are read back
+     * @return true, if any of the options is enabled
+     */
+    public static boolean isNeeded(int maxDepth, boolean dedupEnabled, boolean dedupReadEnabled) {
+        return maxDepth > 0 || dedupEnabled || dedupReadEnabled;
+    }
+
+    /**
+     * Writes a stack trace, capped to the maximum depth, with the frames already written for the exception tree
+     * as the index of their first occurrence.
+     */
+    static final class StackTraceSerializer extends StdSerializer<StackTraceElement[]> {
+
+        /** The Constant serialVersionUID. */
+        private static final long serialVersionUID = 4409375102178618734L;
+
+        /** The maximum number of frames written, 0 for no maximum. */
+        private final int maxDepth;
+
+        /** Suggests whether repeated frames are written as references. */
+        private final boolean dedupEnabled;
+
+        /**
+         * Creates the serializer.
+         *
+         * @param maxDepth : the maximum number of frames written, 0 for no maximum
+         * @param dedupEnabled : whether repeated frames are written as references
+         */
+        StackTraceSerializer(int maxDepth, boolean dedupEnabled) {
+            super(StackTraceElement[].class);
+            this.maxDepth = maxDepth;
+            this.dedupEnabled = dedupEnabled;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void serialize(StackTraceElement[] frames, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            Map<StackTraceElement, Integer> written = dedupEnabled
+                    ? (Map<StackTraceElement, Integer>) provider.getAttribute(FRAMES) : null;
+            int depth = maxDepth > 0 ? Math.min(maxDepth, frames.length) : frames.length;
+            gen.writeStartArray(frames, depth < frames.length ? depth + 1 : depth);
+            for (int i = 0; i < depth; i++) {
+                writeFrame(frames[i], written, gen);
+            }
+            if (depth < frames.length) {
+                writeFrame(new StackTraceElement(TRIMMED_CLASS_NAME, "<" + (frames.length - depth) + " frames>",
+                        null, -1), written, gen);
+            }
+            gen.writeEndArray();
+        }
+
+        /**
+         * Writes a frame, as the index of its first occurrence if it has already been written for the exception
+         * tree.
+         *
+         * @param frame the StackTraceElement
+         * @param written the indexes of the frames written for the exception tree, null if not deduplicated
+         * @param gen the JsonGenerator
+         * @throws IOException if the frame cannot be written
+         */
+        private static void writeFrame(StackTraceElement frame, Map<StackTraceElement, Integer> written,
+                JsonGenerator gen) throws IOException {
+            if (frame == null) {
+                return;
+            }
+            if (written != null) {
+                Integer index = written.putIfAbsent(frame, written.size());
+                if (index != null) {
+                    gen.writeNumber(index);
+                    return;
+                }
+            }
+            gen.writeStartObject();
+            writeStringField(gen, "classLoaderName", frame.getClassLoaderName());
+            writeStringField(gen, "moduleName", frame.getModuleName());
+            writeStringField(gen, "moduleVersion", frame.getModuleVersion());
+            writeStringField(gen, "methodName", frame.getMethodName());
+            writeStringField(gen, "fileName", frame.getFileName());
+            gen.writeNumberField("lineNumber", frame.getLineNumber());
+            writeStringField(gen, "className", frame.getClassName());
+            gen.writeBooleanField("nativeMethod", frame.isNativeMethod());
+            gen.writeEndObject();
+        }
+
+        /**
+         * Writes a string field of a frame, unless its value is null.
+         *
+         * @param gen the JsonGenerator
+         * @param name the name of the field
+         * @param value the value of the field
+         * @throws IOException if the field cannot be written
+         */
+        private static void writeStringField(JsonGenerator gen, String name, String value) throws IOException {
+            if (value != null) {
+                gen.writeStringField(name, value);
+            }
+        }
+    }
+
+    /**
+     * Reads a stack trace written by {@link StackTraceSerializer} or as a plain array of frame objects.
+     */
+    static final class StackTraceDeserializer extends StdDeserializer<StackTraceElement[]> {
+
+        /** The Constant serialVersionUID. */
+        private static final long serialVersionUID = -1948412906339014536L;
+
+        /**
+         * Creates the deserializer.
+         */
+        StackTraceDeserializer() {
+            super(StackTraceElement[].class);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public StackTraceElement[] deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartArrayToken()) {
+                return (StackTraceElement[]) ctxt.handleUnexpectedToken(StackTraceElement[].class, p);
+            }
+            List<StackTraceElement> read = (List<StackTraceElement>) ctxt.getAttribute(FRAMES);
+            JsonDeserializer<Object> frameDeserializer = ctxt.findRootValueDeserializer(
+                    ctxt.constructType(StackTraceElement.class));
+            List<StackTraceElement> frames = new ArrayList<>();
+            JsonToken token;
+            while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == JsonToken.VALUE_NUMBER_INT) {
+                    int index = p.getIntValue();
+                    if (read == null || index < 0 || index >= read.size()) {
+                        throw JsonMappingException.from(p, "Unknown stack frame reference:" + index);
+                    }
+                    frames.add(read.get(index));
+                } else if (token != JsonToken.VALUE_NULL) {
+                    StackTraceElement frame = (StackTraceElement) frameDeserializer.deserialize(p, ctxt);
+                    frames.add(frame);
+                    if (read != null) {
+                        read.add(frame);
+                    }
+                }
+            }
+            return frames.toArray(new StackTraceElement[0]);
+        }
+    }
+
+    /**
+     * Serializer of an exception opening the scope of the frame references of its exception tree, unless it is
+     * written as part of the tree of an enclosing exception.
+     */
+    static final class ScopedThrowableSerializer extends JsonSerializer<Object>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        /** The serializer of the exception. */
+        private final JsonSerializer<Object> delegate;
+
+        /**
+         * Creates the serializer.
+         *
+         * @param delegate : the serializer of the exception
+         */
+        ScopedThrowableSerializer(JsonSerializer<Object> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            boolean root = provider.getAttribute(FRAMES) == null;
+            if (root) {
+                provider.setAttribute(FRAMES, new HashMap<StackTraceElement, Integer>());
+            }
+            try {
+                delegate.serialize(value, gen, provider);
+            } finally {
+                if (root) {
+                    provider.setAttribute(FRAMES, null);
+                }
+            }
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+                TypeSerializer typeSer) throws IOException {
+            boolean root = provider.getAttribute(FRAMES) == null;
+            if (root) {
+                provider.setAttribute(FRAMES, new HashMap<StackTraceElement, Integer>());
+            }
+            try {
+                delegate.serializeWithType(value, gen, provider, typeSer);
+            } finally {
+                if (root) {
+                    provider.setAttribute(FRAMES, null);
+                }
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer contextual) {
+                return new ScopedThrowableSerializer(
+                        (JsonSerializer<Object>) contextual.createContextual(provider, property));
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public boolean usesObjectId() {
+            return delegate.usesObjectId();
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return delegate.handledType();
+        }
+    }
+
+    /**
+     * Deserializer of an exception opening the scope of the frame references of its exception tree, unless it is
+     * read as part of the tree of an enclosing exception.
+     */
+    static final class ScopedThrowableDeserializer extends DelegatingDeserializer {
+
+        /** The Constant serialVersionUID. */
+        private static final long serialVersionUID = 2826120981797305466L;
+
+        /**
+         * Creates the deserializer.
+         *
+         * @param delegate : the deserializer of the exception
+         */
+        ScopedThrowableDeserializer(JsonDeserializer<?> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new ScopedThrowableDeserializer(newDelegatee);
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (ctxt.getAttribute(FRAMES) != null) {
+                return super.deserialize(p, ctxt);
+            }
+            ctxt.setAttribute(FRAMES, new ArrayList<StackTraceElement>());
+            try {
+                return super.deserialize(p, ctxt);
+            } finally {
+                ctxt.setAttribute(FRAMES, null);
+            }
+        }
+    }
+}
@@ -40,6 +40,7 @@
 package org.eclipse.ecsp.transform.config;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonSerializer;
@@ -85,6 +86,24 @@ public class JacksonMapperConfig {
     
     /** The Constant TWO. */
     public static final int TWO = 2;
+
+    /** The property enabling the registration of the Jackson Blackbird module on the ObjectMapper. */
+    public static final String BLACKBIRD_ENABLED = "jackson.blackbird.enabled";
+
+    /** The property holding the maximum number of frames written per stack trace of an exception, 0 for all. */
+    public static final String EXCEPTION_STACK_MAX_DEPTH = "transformer.exception.stack.max.depth";
+
+    /** The property enabling the writing of repeated stack frames of an exception as references. */
+    public static final String EXCEPTION_STACK_DEDUP_ENABLED = "transformer.exception.stack.dedup.enabled";
+
+    /** The property enabling the reading of the stack frames of an exception written as references. */
+    public static final String EXCEPTION_STACK_DEDUP_READ_ENABLED = "transformer.exception.stack.dedup.read.enabled";
+
+    /** The class name of the Jackson Blackbird module. */
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+    /** The static logger, for the helpers used outside of a JacksonMapperConfig instance. */
+    private static final IgniteLogger LOGGER = IgniteLoggerFactory.getLogger(JacksonMapperConfig.class);
     
     /** The mandatory serializer. */
     private final String mandatorySerializer
@@ -116,6 +135,34 @@ public class JacksonMapperConfig {
     @Value("${" + CUSTOM_SUBTYPES + ":}")
     private String customSubtypes;
 
+    /**
+     * Whether the Jackson Blackbird module is registered on the ObjectMapper. The module replaces the
+     * reflective bean property access of Jackson by generated lambdas.
+     */
+    @Value("${" + BLACKBIRD_ENABLED + ":false}")
+    private boolean blackbirdEnabled;
+
+    /**
+     * The maximum number of frames written per stack trace of a serialized exception, the frames beyond it being
+     * replaced by a single frame counting them. 0 writes all the frames.
+     */
+    @Value("${" + EXCEPTION_STACK_MAX_DEPTH + ":0}")
+    private int stackTraceMaxDepth;
+
+    /**
+     * Whether a stack frame already written for a serialized exception, its causes or suppressed exceptions is
+     * written as the index of its first occurrence. See {@link CompactStackTraceModule}.
+     */
+    @Value("${" + EXCEPTION_STACK_DEDUP_ENABLED + ":false}")
+    private boolean stackTraceDedupEnabled;
+
+    /**
+     * Whether stack traces with frames written as references are read back. Implied when they are written, see
+     * {@link #stackTraceDedupEnabled}.
+     */
+    @Value("${" + EXCEPTION_STACK_DEDUP_READ_ENABLED + ":false}")
+    private boolean stackTraceDedupReadEnabled;
+
     /**
      * Instantiates a new jackson mapper config.
      */
@@ -139,9 +186,16 @@ public class JacksonMapperConfig {
         if (null != props.get(CUSTOM_SUBTYPES)) {
             this.customSubtypes = props.getProperty(CUSTOM_SUBTYPES);
         }
+        this.blackbirdEnabled = Boolean.parseBoolean(props.getProperty(BLACKBIRD_ENABLED));
+        this.stackTraceMaxDepth = Integer.parseInt(props.getProperty(EXCEPTION_STACK_MAX_DEPTH, "0"));
+        this.stackTraceDedupEnabled = Boolean.parseBoolean(props.getProperty(EXCEPTION_STACK_DEDUP_ENABLED));
+        this.stackTraceDedupReadEnabled = Boolean.parseBoolean(
+                props.getProperty(EXCEPTION_STACK_DEDUP_READ_ENABLED));
         logger.info("Values loaded from properties for JacksonMapperConfig - "
-                + "customSerializers :{}, customDeserializers: {},customSubtypes: {}",
-                customSerializers, customDeserializers, customSubtypes);
+                + "customSerializers :{}, customDeserializers: {},customSubtypes: {}, blackbirdEnabled: {}, "
+                + "stackTraceMaxDepth: {}, stackTraceDedupEnabled: {}, stackTraceDedupReadEnabled: {}",
+                customSerializers, customDeserializers, customSubtypes, blackbirdEnabled, stackTraceMaxDepth,
+                stackTraceDedupEnabled, stackTraceDedupReadEnabled);
     }
 
     /**
@@ -152,6 +206,17 @@ public class JacksonMapperConfig {
      */
     @Bean("jsonMapper")
     public ObjectMapper jsonObjectMapper() {
+        return objectMapper(new JsonFactory());
+    }
+
+    /**
+     * Creates an ObjectMapper reading and writing the data format of the given factory, such as Smile or CBOR,
+     * with the same settings as the JSON ObjectMapper, see {@link #jsonObjectMapper()}.
+     *
+     * @param factory : JsonFactory of the data format
+     * @return ObjectMapper : ObjectMapper
+     */
+    public ObjectMapper objectMapper(JsonFactory factory) {
         ArrayList<Module> modules = new ArrayList<>();
         SimpleModule jacksonsModule = new SimpleModule();
         ObjectMapper objectMapper = null;
@@ -178,9 +243,17 @@ public class JacksonMapperConfig {
             }
 
             modules.add(jacksonsModule);
+            if (CompactStackTraceModule.isNeeded(stackTraceMaxDepth, stackTraceDedupEnabled,
+                    stackTraceDedupReadEnabled)) {
+                modules.add(new CompactStackTraceModule(stackTraceMaxDepth, stackTraceDedupEnabled,
+                        stackTraceDedupReadEnabled));
+            }
 
-            objectMapper = new ObjectMapper();
+            objectMapper = new ObjectMapper(factory);
             objectMapper.registerModules(modules);
+            if (blackbirdEnabled) {
+                registerBlackbirdModule(objectMapper);
+            }
 
             objectMapper.setSerializationInclusion(Include.NON_NULL);
             objectMapper.setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
@@ -197,6 +270,54 @@ public class JacksonMapperConfig {
 
     }
 
+    /**
+     * Registers the Jackson Blackbird module on the given ObjectMapper. The module is loaded reflectively so
+     * that the mapper falls back to the reflective property access of Jackson, with a warning, when the module
+     * is not on the classpath or cannot be used with the Jackson version or the JVM in use.
+     *
+     * <p>
+     * The module only applies to the serializers and deserializers built after it is registered, it has to be
+     * registered before the mapper, or any ObjectReader or ObjectWriter created from it, is used.
+     * </p>
+     *
+     * @param objectMapper the ObjectMapper instance
+     * @return true if the module was registered
+     */
+    public static boolean registerBlackbirdModule(ObjectMapper objectMapper) {
+        try {
+            Module blackbird = (Module) Class.forName(BLACKBIRD_MODULE).getDeclaredConstructor().newInstance();
+            objectMapper.registerModule(blackbird);
+            LOGGER.info("Registered the jackson blackbird module on the object mapper");
+            return true;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            LOGGER.warn("Unable to register the jackson blackbird module, falling back to reflective "
+                    + "property access: {}", e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Registers the {@link CompactStackTraceModule} on the given ObjectMapper if any of the given options is
+     * enabled, for mappers not created from a JacksonMapperConfig holding the options. As for the Blackbird module,
+     * the readers and writers created from the mapper before have to be created again to use it.
+     *
+     * @param objectMapper the ObjectMapper instance
+     * @param maxDepth the maximum number of frames written per stack trace, 0 for all
+     * @param dedupEnabled whether repeated stack frames are written as references
+     * @param dedupReadEnabled whether stack frames written as references are read back
+     * @return true if the module was registered
+     */
+    public static boolean registerCompactStackTraceModule(ObjectMapper objectMapper, int maxDepth,
+            boolean dedupEnabled, boolean dedupReadEnabled) {
+        if (!CompactStackTraceModule.isNeeded(maxDepth, dedupEnabled, dedupReadEnabled)) {
+            return false;
+        }
+        objectMapper.registerModule(new CompactStackTraceModule(maxDepth, dedupEnabled, dedupReadEnabled));
+        LOGGER.info("Registered the compact stack trace module on the object mapper, maxDepth: {}, "
+                + "dedupEnabled: {}, dedupReadEnabled: {}", maxDepth, dedupEnabled, dedupReadEnabled);
+        return true;
+    }
+
     /**
      * Helper method to add the serializer and deserializer parameter to the
      * jackson module.
@@ -393,4 +514,22 @@ public class JacksonMapperConfig {
         this.customSubtypes = customSubtypes;
     }
 
+    /**
+     * Checks if the Jackson Blackbird module is registered on the ObjectMapper.
+     *
+     * @return true, if the blackbird module is enabled
+     */
+    boolean isBlackbirdEnabled() {
+        return blackbirdEnabled;
+    }
+
+    /**
+     * Sets whether the Jackson Blackbird module is registered on the ObjectMapper.
+     *
+     * @param blackbirdEnabled the new blackbird enabled flag
+     */
+    void setBlackbirdEnabled(boolean blackbirdEnabled) {
+        this.blackbirdEnabled = blackbirdEnabled;
+    }
+
 }
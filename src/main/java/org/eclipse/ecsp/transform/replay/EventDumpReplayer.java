@@ -0,0 +1,417 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.replay;
+
+import org.eclipse.ecsp.entities.IgniteBlobEvent;
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.serializer.IngestionSerializer;
+import org.eclipse.ecsp.transform.Transformer;
+import org.eclipse.ecsp.transform.TransformerSerDeException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Replays the records of an event dump file.
+ *
+ * <p>
+ * The file is split into ranges of whole records, which are memory-mapped and decoded in parallel on the
+ * executor. Each record is handed to its decoder as a read-only view of the mapped range, so that the records are
+ * not copied into arrays of their own on the heap. Two layouts of dump files are supported: JSON lines, with one
+ * serialized ignite event per line, and length-prefixed blobs, with each blob serialized by an
+ * {@link IngestionSerializer} preceded by its length as a 4 bytes big-endian int.
+ * </p>
+ *
+ * <p>
+ * The records of a range are handed to the sink in file order, but the ranges are replayed concurrently, so the
+ * sink has to be safe for concurrent use. A record which cannot be decoded is handed to the failure handler with
+ * its offset in the file and the replay goes on. A length-prefixed file whose lengths do not add up to its size
+ * is rejected before any record is replayed.
+ * </p>
+ */
+public class EventDumpReplayer {
+
+    /** The number of ranges per thread the file is split into, so that uneven ranges do not leave threads idle. */
+    private static final int RANGES_PER_THREAD = 4;
+
+    /** The maximum size of a range, which bounds the size of each mapping. */
+    private static final long MAX_RANGE_SIZE = 256L * 1024 * 1024;
+
+    /** The size of the windows mapped to read the lengths of length-prefixed records. */
+    private static final long INDEX_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    /** The size of the reads looking for the end of a line at a range boundary. */
+    private static final int LINE_SCAN_SIZE = 8 * 1024;
+
+    /** The size of the length of a length-prefixed record. */
+    private static final int LENGTH_PREFIX_BYTES = Integer.BYTES;
+
+    /** The Executor the ranges are replayed on. */
+    private final Executor executor;
+
+    /** The number of ranges replayed concurrently the file is sized for. */
+    private final int parallelism;
+
+    /**
+     * Creates the replayer running on the common ForkJoinPool, with one thread per available processor.
+     */
+    public EventDumpReplayer() {
+        this(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates the replayer.
+     *
+     * @param executor : the Executor the ranges are replayed on
+     * @param parallelism : the number of threads of the executor available to the replay
+     */
+    public EventDumpReplayer(Executor executor, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism must be positive");
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Replays a file of JSON lines, decoding each line with {@link Transformer#fromBlob(ByteBuffer, Optional)}.
+     *
+     * @param file : the Path of the dump file
+     * @param transformer : the Transformer decoding the events
+     * @param sink : the Consumer of the decoded events, called concurrently
+     * @param failureHandler : the FailureHandler of the lines which cannot be decoded
+     * @return the number of events decoded
+     * @throws IOException if the file cannot be read
+     */
+    public long replayJsonLines(Path file, Transformer transformer, Consumer<? super IgniteEvent> sink,
+            FailureHandler failureHandler) throws IOException {
+        return replay(file, RecordLayout.JSON_LINES, record -> transformer.fromBlob(record, Optional.empty()), sink,
+                failureHandler);
+    }
+
+    /**
+     * Replays a file of length-prefixed blobs, decoding each blob with
+     * {@link IngestionSerializer#deserialize(ByteBuffer)}.
+     *
+     * @param file : the Path of the dump file
+     * @param serializer : the IngestionSerializer decoding the blobs
+     * @param sink : the Consumer of the decoded blobs, called concurrently
+     * @param failureHandler : the FailureHandler of the blobs which cannot be decoded
+     * @return the number of blobs decoded
+     * @throws IOException if the file cannot be read
+     */
+    public long replayBlobs(Path file, IngestionSerializer serializer, Consumer<? super IgniteBlobEvent> sink,
+            FailureHandler failureHandler) throws IOException {
+        return replay(file, RecordLayout.LENGTH_PREFIXED, serializer::deserialize, sink, failureHandler);
+    }
+
+    /**
+     * Replays a dump file.
+     *
+     * @param <T> the type of the decoded records
+     * @param file : the Path of the dump file
+     * @param layout : the RecordLayout of the file
+     * @param decoder : decodes a record from a view of its bytes, it must not keep the view
+     * @param sink : the Consumer of the decoded records, called concurrently
+     * @param failureHandler : the FailureHandler of the records which cannot be decoded
+     * @return the number of records decoded
+     * @throws IOException if the file cannot be read
+     */
+    public <T> long replay(Path file, RecordLayout layout, Function<ByteBuffer, T> decoder,
+            Consumer<? super T> sink, FailureHandler failureHandler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long targetRangeSize = Math.max(1, Math.min(MAX_RANGE_SIZE,
+                    size / ((long) parallelism * RANGES_PER_THREAD) + 1));
+            List<Range> ranges = layout == RecordLayout.JSON_LINES ? splitLines(channel, size, targetRangeSize)
+                    : splitLengthPrefixed(channel, size, targetRangeSize);
+            LongAdder decoded = new LongAdder();
+            List<CompletableFuture<Void>> pending = new ArrayList<>(ranges.size());
+            for (Range range : ranges) {
+                pending.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        replayRange(channel, range, layout, decoder, sink, failureHandler, decoded);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, executor));
+            }
+            join(pending);
+            return decoded.sum();
+        }
+    }
+
+    /**
+     * Waits for the ranges to be replayed, rethrowing the failure of the first range which failed.
+     *
+     * @param pending the futures of the ranges
+     * @throws IOException if a range cannot be read
+     */
+    private static void join(List<CompletableFuture<Void>> pending) throws IOException {
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException uncheckedIoException) {
+                throw uncheckedIoException.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Splits a file of JSON lines into ranges of whole lines of about the target size.
+     *
+     * @param channel the FileChannel of the file
+     * @param size the size of the file
+     * @param targetRangeSize the target size of a range
+     * @return the ranges, in file order
+     * @throws IOException if the file cannot be read
+     */
+    private static List<Range> splitLines(FileChannel channel, long size, long targetRangeSize) throws IOException {
+        List<Range> ranges = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = start + targetRangeSize >= size ? size : nextLineStart(channel, start + targetRangeSize, size);
+            ranges.add(new Range(start, end));
+            start = end;
+        }
+        return ranges;
+    }
+
+    /**
+     * Finds the start of the first line starting at or after the given position.
+     *
+     * @param channel the FileChannel of the file
+     * @param position the position
+     * @param size the size of the file
+     * @return the offset of the line, the size of the file if there is none
+     * @throws IOException if the file cannot be read
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer scan = ByteBuffer.allocate(LINE_SCAN_SIZE);
+        long offset = position - 1;
+        while (offset < size) {
+            scan.clear();
+            int read = channel.read(scan, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    /**
+     * Splits a file of length-prefixed records into ranges of whole records of about the target size. The lengths
+     * are read from windows of the file mapped one after the other, the records themselves are not read.
+     *
+     * @param channel the FileChannel of the file
+     * @param size the size of the file
+     * @param targetRangeSize the target size of a range
+     * @return the ranges, in file order
+     * @throws IOException if the file cannot be read
+     */
+    private static List<Range> splitLengthPrefixed(FileChannel channel, long size, long targetRangeSize)
+            throws IOException {
+        List<Range> ranges = new ArrayList<>();
+        MappedByteBuffer window = null;
+        long windowStart = 0;
+        long start = 0;
+        long position = 0;
+        while (position < size) {
+            if (position + LENGTH_PREFIX_BYTES > size) {
+                throw corruptLength(position);
+            }
+            if (window == null || position + LENGTH_PREFIX_BYTES > windowStart + window.limit()) {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                        Math.min(INDEX_WINDOW_SIZE, size - windowStart));
+            }
+            int length = window.getInt((int) (position - windowStart));
+            long next = position + LENGTH_PREFIX_BYTES + length;
+            if (length < 0 || next > size) {
+                throw corruptLength(position);
+            }
+            if (next - start > Integer.MAX_VALUE && position > start) {
+                ranges.add(new Range(start, position));
+                start = position;
+            }
+            position = next;
+            if (position - start >= targetRangeSize) {
+                ranges.add(new Range(start, position));
+                start = position;
+            }
+        }
+        if (start < size) {
+            ranges.add(new Range(start, size));
+        }
+        return ranges;
+    }
+
+    /**
+     * Creates the exception of a record whose length does not fit the file.
+     *
+     * @param position the offset of the record
+     * @return the TransformerSerDeException
+     */
+    private static TransformerSerDeException corruptLength(long position) {
+        return new TransformerSerDeException("Invalid record length at offset " + position + " of the dump file");
+    }
+
+    /**
+     * Maps a range and decodes its records.
+     *
+     * @param <T> the type of the decoded records
+     * @param channel the FileChannel of the file
+     * @param range the Range
+     * @param layout the RecordLayout of the file
+     * @param decoder decodes a record from a view of its bytes
+     * @param sink the Consumer of the decoded records
+     * @param failureHandler the FailureHandler of the records which cannot be decoded
+     * @param decoded the count of the records decoded
+     * @throws IOException if the range cannot be mapped
+     */
+    private static <T> void replayRange(FileChannel channel, Range range, RecordLayout layout,
+            Function<ByteBuffer, T> decoder, Consumer<? super T> sink, FailureHandler failureHandler,
+            LongAdder decoded) throws IOException {
+        long length = range.end() - range.start();
+        if (length > Integer.MAX_VALUE) {
+            throw new TransformerSerDeException("Record at offset " + range.start() + " is too large to be mapped");
+        }
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, range.start(), length);
+        int limit = (int) length;
+        int position = 0;
+        while (position < limit) {
+            int recordStart;
+            int recordEnd;
+            int next;
+            if (layout == RecordLayout.JSON_LINES) {
+                recordStart = position;
+                recordEnd = position;
+                while (recordEnd < limit && mapped.get(recordEnd) != '\n') {
+                    recordEnd++;
+                }
+                next = recordEnd + 1;
+                if (recordEnd > recordStart && mapped.get(recordEnd - 1) == '\r') {
+                    recordEnd--;
+                }
+                if (recordEnd == recordStart) {
+                    position = next;
+                    continue;
+                }
+            } else {
+                recordStart = position + LENGTH_PREFIX_BYTES;
+                recordEnd = recordStart + mapped.getInt(position);
+                next = recordEnd;
+            }
+            ByteBuffer record = mapped.duplicate().limit(recordEnd).position(recordStart);
+            T value;
+            try {
+                value = decoder.apply(record);
+            } catch (RuntimeException e) {
+                failureHandler.onFailure(range.start() + position, e);
+                position = next;
+                continue;
+            }
+            sink.accept(value);
+            decoded.increment();
+            position = next;
+        }
+    }
+
+    /**
+     * The layout of the records of a dump file.
+     */
+    public enum RecordLayout {
+
+        /** One serialized ignite event per line, the lines ending with \n or \r\n. */
+        JSON_LINES,
+
+        /** Each record preceded by its length as a 4 bytes big-endian int. */
+        LENGTH_PREFIXED
+    }
+
+    /**
+     * Handles a record which cannot be decoded.
+     */
+    @FunctionalInterface
+    public interface FailureHandler {
+
+        /**
+         * Called with each record which cannot be decoded, concurrently.
+         *
+         * @param offset : the offset of the record in the file
+         * @param failure : the exception the decoder failed with
+         */
+        void onFailure(long offset, RuntimeException failure);
+    }
+
+    /**
+     * A range of whole records of the file.
+     *
+     * @param start the offset of the first record
+     * @param end the offset after the last record
+     */
+    private record Range(long start, long end) {
+    }
+}
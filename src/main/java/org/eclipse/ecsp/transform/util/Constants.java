@@ -68,4 +68,10 @@ public class Constants {
     
     /** The Constant LENGTH. */
     public static final String LENGTH = "LENGTH";
+
+    /** The Constant VERSION, name of the version attribute of an ignite event. */
+    public static final String VERSION = "Version";
+
+    /** The Constant EVENT_DATA, name of the data attribute of an ignite event. */
+    public static final String EVENT_DATA = "Data";
 }
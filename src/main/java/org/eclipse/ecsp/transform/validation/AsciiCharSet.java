@@ -0,0 +1,232 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.validation;
+
+/**
+ * Set of ASCII characters backed by a 128 bit lookup table, with the allocation free, single pass checks of the
+ * input validation value types built on it.
+ *
+ * <p>
+ * The checks give exactly the results of the StringUtils helpers the value types were defined with. ASCII
+ * characters are looked up in the tables, any other character falls back to the Character method StringUtils
+ * uses, so that non ASCII letters and digits are accepted as before.
+ * </p>
+ */
+public final class AsciiCharSet {
+
+    /** The ASCII letters. */
+    public static final AsciiCharSet LETTERS = range('a', 'z').union(range('A', 'Z'));
+
+    /** The ASCII digits. */
+    public static final AsciiCharSet DIGITS = range('0', '9');
+
+    /** The ASCII letters and digits. */
+    public static final AsciiCharSet ALPHANUMERIC = LETTERS.union(DIGITS);
+
+    /** The number of bits of a long. */
+    private static final int BITS = 64;
+
+    /** The number of ASCII characters. */
+    private static final int ASCII = 128;
+
+    /** The bits of the characters 0 to 63. */
+    private final long low;
+
+    /** The bits of the characters 64 to 127. */
+    private final long high;
+
+    /**
+     * Creates the set from its bits.
+     *
+     * @param low : the bits of the characters 0 to 63
+     * @param high : the bits of the characters 64 to 127
+     */
+    private AsciiCharSet(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Creates the set of the ASCII characters from first to last, both included.
+     *
+     * @param first : the first character
+     * @param last : the last character
+     * @return the AsciiCharSet
+     */
+    public static AsciiCharSet range(char first, char last) {
+        long low = 0L;
+        long high = 0L;
+        for (char c = first; c <= last && c < ASCII; c++) {
+            if (c < BITS) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << (c - BITS);
+            }
+        }
+        return new AsciiCharSet(low, high);
+    }
+
+    /**
+     * Creates the set of the ASCII characters found in the given string, other characters are ignored.
+     *
+     * @param chars : the characters
+     * @return the AsciiCharSet
+     */
+    public static AsciiCharSet of(String chars) {
+        AsciiCharSet set = new AsciiCharSet(0L, 0L);
+        for (int i = 0; i < chars.length(); i++) {
+            set = set.union(range(chars.charAt(i), chars.charAt(i)));
+        }
+        return set;
+    }
+
+    /**
+     * Creates the union of this set and the given one.
+     *
+     * @param other : the other set
+     * @return the AsciiCharSet
+     */
+    public AsciiCharSet union(AsciiCharSet other) {
+        return new AsciiCharSet(low | other.low, high | other.high);
+    }
+
+    /**
+     * Checks whether the character is in the set.
+     *
+     * @param c : the character
+     * @return true, if the character is an ASCII character of the set
+     */
+    public boolean contains(char c) {
+        if (c < BITS) {
+            return (low & (1L << c)) != 0;
+        }
+        return c < ASCII && (high & (1L << (c - BITS))) != 0;
+    }
+
+    /**
+     * Checks whether the set is empty.
+     *
+     * @return true, if the set has no character
+     */
+    public boolean isEmpty() {
+        return low == 0L && high == 0L;
+    }
+
+    /**
+     * Checks whether the given set is a subset of this one.
+     *
+     * @param other : the other set
+     * @return true, if every character of the other set is in this set
+     */
+    public boolean containsAll(AsciiCharSet other) {
+        return (low & other.low) == other.low && (high & other.high) == other.high;
+    }
+
+    /**
+     * Checks whether every character of the set is found in the value, in a single pass over the value which
+     * stops as soon as all of them are found.
+     *
+     * @param value : the value
+     * @return true, if the value has every character of the set
+     */
+    public boolean allFoundIn(String value) {
+        long missingLow = low;
+        long missingHigh = high;
+        for (int i = 0; i < value.length() && (missingLow | missingHigh) != 0L; i++) {
+            char c = value.charAt(i);
+            if (c < BITS) {
+                missingLow &= ~(1L << c);
+            } else if (c < ASCII) {
+                missingHigh &= ~(1L << (c - BITS));
+            }
+        }
+        return (missingLow | missingHigh) == 0L;
+    }
+
+    /**
+     * Checks that the value is only made of letters, same as {@code StringUtils.isAlpha}.
+     *
+     * @param value : the value
+     * @return true, if the value is not empty and only has letters
+     */
+    public static boolean isAlpha(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < ASCII ? !LETTERS.contains(c) : !Character.isLetter(c)) {
+                return false;
+            }
+        }
+        return length > 0;
+    }
+
+    /**
+     * Checks that the value is only made of digits, same as {@code StringUtils.isNumeric}.
+     *
+     * @param value : the value
+     * @return true, if the value is not empty and only has digits
+     */
+    public static boolean isNumeric(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < ASCII ? !DIGITS.contains(c) : !Character.isDigit(c)) {
+                return false;
+            }
+        }
+        return length > 0;
+    }
+
+    /**
+     * Checks that the value has at least one ASCII letter or digit. This is the outcome of the ALPHA_NUMERIC
+     * value type, which removes every character but the ASCII letters and digits from the value and then
+     * checks that what remains is a non empty {@code StringUtils.isAlphanumeric} string.
+     *
+     * @param value : the value
+     * @return true, if the value has an ASCII letter or digit
+     */
+    public static boolean hasAlphanumeric(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (ALPHANUMERIC.contains(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.validation;
+
+import java.util.List;
+
+/**
+ * Raised by {@link ValidatingJsonParser} when a header attribute of the event being parsed fails its input
+ * validation rule. The parse is aborted at that point, the event is never bound.
+ */
+public class InputValidationException extends IllegalArgumentException {
+
+    /** The messages of the failed checks. */
+    private final transient List<String> violations;
+
+    /**
+     * Instantiates a new input validation exception.
+     *
+     * @param violations : the messages of the failed checks
+     */
+    public InputValidationException(List<String> violations) {
+        super("Validation Failed.");
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * Gets the messages of the failed checks.
+     *
+     * @return the violations
+     */
+    public List<String> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.validation;
+
+import org.eclipse.ecsp.domain.EventAttribute;
+import org.eclipse.ecsp.entities.AbstractIgniteEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Immutable, compiled set of the {@code <attribute>.inputvalidation} rules applied to the header attributes
+ * of the ignite events.
+ *
+ * <p>
+ * The plan is compiled once from the properties holding the rules. Validating an event then neither looks up
+ * properties nor parses rules, it only runs the compiled {@link InputValidationRule}s of the attributes which
+ * have a rule. A plan is never modified, a change of the rules is applied by compiling a new plan and swapping
+ * it in place of the previous one.
+ * </p>
+ */
+public final class InputValidationPlan {
+
+    /** The suffix of the properties holding the validation rules. */
+    public static final String INPUT_VALIDATION_SUFFIX = ".inputvalidation";
+
+    /** The validated attributes and how to read them from an ignite event. */
+    private static final Map<String, Function<AbstractIgniteEvent, String>> ATTRIBUTES = attributes();
+
+    /** The plan without any rule. */
+    private static final InputValidationPlan EMPTY = new InputValidationPlan(Collections.emptyList(), 0L);
+
+    /** The compiled rules with the accessor of the attribute they apply to, in validation order. */
+    private final List<AttributeRule> rules;
+
+    /** The compiled rules by the name of the attribute they apply to. */
+    private final Map<String, InputValidationRule> rulesByAttribute;
+
+    /** The System.nanoTime() at which the plan was compiled. */
+    private final long compiledAt;
+
+    /**
+     * Creates the plan.
+     *
+     * @param rules : the compiled rules
+     * @param compiledAt : the System.nanoTime() at which the plan was compiled
+     */
+    private InputValidationPlan(List<AttributeRule> rules, long compiledAt) {
+        this.rules = rules;
+        Map<String, InputValidationRule> byAttribute = new HashMap<>();
+        rules.forEach(rule -> byAttribute.put(rule.rule().getAttribute(), rule.rule()));
+        this.rulesByAttribute = Collections.unmodifiableMap(byAttribute);
+        this.compiledAt = compiledAt;
+    }
+
+    /**
+     * Compiles the rules found in the given properties.
+     *
+     * @param props : the properties holding the {@code <attribute>.inputvalidation} rules
+     * @return the InputValidationPlan
+     */
+    public static InputValidationPlan compile(Properties props) {
+        List<AttributeRule> rules = new ArrayList<>();
+        for (Map.Entry<String, Function<AbstractIgniteEvent, String>> attribute : ATTRIBUTES.entrySet()) {
+            String rule = props.getProperty(attribute.getKey() + INPUT_VALIDATION_SUFFIX);
+            if (rule != null) {
+                rules.add(new AttributeRule(new InputValidationRule(attribute.getKey(), rule), attribute.getValue()));
+            }
+        }
+        return new InputValidationPlan(List.copyOf(rules), System.nanoTime());
+    }
+
+    /**
+     * Gets the plan without any rule.
+     *
+     * @return the empty InputValidationPlan
+     */
+    public static InputValidationPlan empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Validates the header attributes of the ignite event. Attributes which are null are not validated.
+     *
+     * @param event : the ignite event
+     * @return the messages of the failed checks, empty if the event is valid
+     */
+    public List<String> validate(AbstractIgniteEvent event) {
+        List<String> violations = null;
+        for (AttributeRule rule : rules) {
+            String value = rule.accessor().apply(event);
+            if (value != null) {
+                violations = rule.rule().validate(value, violations);
+            }
+        }
+        return violations == null ? Collections.emptyList() : violations;
+    }
+
+    /**
+     * Gets the compiled rule of the given attribute.
+     *
+     * @param attribute : the name of the attribute
+     * @return the InputValidationRule, null if the attribute has no rule
+     */
+    public InputValidationRule ruleFor(String attribute) {
+        return attribute == null ? null : rulesByAttribute.get(attribute);
+    }
+
+    /**
+     * Checks whether the plan has no rule at all.
+     *
+     * @return true, if no attribute is validated
+     */
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * Gets the compiled rules.
+     *
+     * @return the rules, in validation order
+     */
+    public List<InputValidationRule> getRules() {
+        return rules.stream().map(AttributeRule::rule).toList();
+    }
+
+    /**
+     * Gets the System.nanoTime() at which the plan was compiled.
+     *
+     * @return the compile time
+     */
+    public long getCompiledAt() {
+        return compiledAt;
+    }
+
+    /**
+     * Builds the accessors of the validated attributes. The attributes are validated in the iteration order of
+     * a HashMap holding them, which is the order they have always been validated in. The order decides which
+     * failure is raised when the rules of several attributes fail with an exception.
+     *
+     * @return the accessors by attribute name
+     */
+    private static Map<String, Function<AbstractIgniteEvent, String>> attributes() {
+        Map<String, Function<AbstractIgniteEvent, String>> accessors = new HashMap<>();
+        accessors.put(EventAttribute.EVENTID, AbstractIgniteEvent::getEventId);
+        accessors.put(EventAttribute.BIZTRANSACTION_ID, AbstractIgniteEvent::getBizTransactionId);
+        accessors.put(EventAttribute.TIMESTAMP, event -> String.valueOf(event.getTimestamp()));
+        accessors.put(EventAttribute.DFF_QUALIFIER, AbstractIgniteEvent::getDFFQualifier);
+        accessors.put(EventAttribute.CORRELATION_ID, AbstractIgniteEvent::getCorrelationId);
+        accessors.put(EventAttribute.MESSAGE_ID, AbstractIgniteEvent::getMessageId);
+        accessors.put(EventAttribute.REQUEST_ID, AbstractIgniteEvent::getRequestId);
+        accessors.put(EventAttribute.SOURCE_DEVICE_ID, AbstractIgniteEvent::getSourceDeviceId);
+        accessors.put(EventAttribute.VEHICLE_ID, AbstractIgniteEvent::getVehicleId);
+        return Collections.unmodifiableMap(new LinkedHashMap<>(accessors));
+    }
+
+    /**
+     * A compiled rule with the accessor of the attribute it applies to.
+     *
+     * @param rule the compiled rule
+     * @param accessor reads the value of the attribute from an ignite event
+     */
+    private record AttributeRule(InputValidationRule rule, Function<AbstractIgniteEvent, String> accessor) {
+    }
+}
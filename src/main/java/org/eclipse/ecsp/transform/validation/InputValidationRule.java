@@ -0,0 +1,255 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.validation;
+
+import org.eclipse.ecsp.transform.TransformerSerDeException;
+import org.eclipse.ecsp.transform.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The compiled form of one {@code <attribute>.inputvalidation} rule.
+ *
+ * <p>
+ * A rule is written as {@code TYPE[|LENGTH or SPECIAL_CHARACTERS][|SPECIAL_CHARACTERS]}, for example
+ * {@code NUMERIC|13} or {@code ALPHA_NUMERIC|-}. The rule string is split and analysed once, when the rule is
+ * compiled, so that checking a value only runs the checks themselves. The checks are single passes over the
+ * value against the lookup tables of {@link AsciiCharSet} and do not allocate unless a check fails.
+ * </p>
+ */
+public final class InputValidationRule {
+
+    /** The logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(InputValidationRule.class);
+
+    /** The maximum length of a value. */
+    private static final int MAX_LENGTH = 50;
+
+    /** The index of the third argument of a rule. */
+    private static final int THIRD_ARG = 2;
+
+    /** The number of arguments of a rule with special characters after its length. */
+    private static final int THREE_ARGS = 3;
+
+    /** The name of the attribute the rule applies to. */
+    private final String attribute;
+
+    /** The value type, null if the rule has no arguments at all. */
+    private final String type;
+
+    /** The second argument of the rule, trimmed, null if absent. */
+    private final String secondArg;
+
+    /** Suggests whether the second argument is a length. */
+    private final boolean secondArgNumeric;
+
+    /** The length given by the second argument, null if it is not a valid long. */
+    private final Long expectedLength;
+
+    /** The special characters required by the second argument, null if it names none. */
+    private final RequiredCharacters secondArgSpecialChars;
+
+    /** The special characters required by the third argument, null if it is absent or names none. */
+    private final RequiredCharacters thirdArgSpecialChars;
+
+    /**
+     * Compiles the rule of the given attribute.
+     *
+     * @param attribute : the name of the attribute
+     * @param rule : the value of the {@code <attribute>.inputvalidation} property
+     */
+    InputValidationRule(String attribute, String rule) {
+        this.attribute = attribute;
+        String[] args = rule.split("\\|");
+        this.type = args.length > 0 ? args[0] : null;
+        if (args.length > 1) {
+            this.secondArg = args[1].trim();
+            this.secondArgNumeric = AsciiCharSet.isNumeric(secondArg);
+            this.expectedLength = secondArgNumeric ? parseLength(secondArg) : null;
+            this.secondArgSpecialChars = namesSpecialChars(secondArg) ? new RequiredCharacters(secondArg) : null;
+        } else {
+            this.secondArg = null;
+            this.secondArgNumeric = false;
+            this.expectedLength = null;
+            this.secondArgSpecialChars = null;
+        }
+        this.thirdArgSpecialChars = args.length == THREE_ARGS && namesSpecialChars(args[THIRD_ARG])
+                ? new RequiredCharacters(args[THIRD_ARG]) : null;
+    }
+
+    /**
+     * Gets the name of the attribute the rule applies to.
+     *
+     * @return the attribute name
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Checks the value of the attribute and adds a message to the violations for each failed check. The list
+     * of violations is only created once a check fails, a valid value does not allocate it.
+     *
+     * @param value : the value of the attribute, not null
+     * @param violations : the list the messages of the failed checks are added to, null if there are none yet
+     * @return the list of violations, null if there are none
+     * @throws TransformerSerDeException if the rule names an unknown value type
+     * @throws NumberFormatException if the rule has a length and the value is not a number
+     */
+    public List<String> validate(String value, List<String> violations) {
+        String trimmed = value.trim();
+        List<String> result = violations;
+        if (trimmed.length() > MAX_LENGTH) {
+            result = addViolation(result, "Max Length exceeded for Property:");
+        }
+        if (type != null) {
+            result = validateValueType(trimmed, result);
+            result = validateValue(trimmed, result);
+        }
+        return result;
+    }
+
+    /**
+     * Checks the value against the value type of the rule.
+     *
+     * @param value : the trimmed value
+     * @param violations : the violations, null if there are none
+     * @return the violations, null if there are none
+     */
+    private List<String> validateValueType(String value, List<String> violations) {
+        switch (type) {
+            case Constants.ALPHA:
+                if (!AsciiCharSet.isAlpha(value)) {
+                    return addViolation(violations, "Alpha Validation failed for Property:");
+                }
+                return violations;
+            case Constants.ALPHANUMERIC:
+                if (!AsciiCharSet.hasAlphanumeric(value)) {
+                    return addViolation(violations, "Alphanumeric Validation failed for Property:");
+                }
+                return violations;
+            case Constants.NUMERIC:
+                if (!AsciiCharSet.isNumeric(value)) {
+                    return addViolation(violations, "Numeric Validation failed for Property:");
+                }
+                return violations;
+            default:
+                LOGGER.error("Invalid Validation Type mentioned for property {}.", attribute);
+                throw new TransformerSerDeException("Invalid Validation Type.");
+        }
+    }
+
+    /**
+     * Checks the value against the length and special characters of the rule.
+     *
+     * @param value : the trimmed value
+     * @param violations : the violations, null if there are none
+     * @return the violations, null if there are none
+     */
+    private List<String> validateValue(String value, List<String> violations) {
+        List<String> result = violations;
+        if (secondArg != null) {
+            if (secondArgNumeric && Long.parseLong(value) > 0 && value.length() != expectedLength()) {
+                result = addViolation(result, "Input Validation Length Mismatch for Property:");
+            } else if (secondArgSpecialChars != null && !secondArgSpecialChars.allFoundIn(value)) {
+                result = addViolation(result, "Input Validation Special Characters Mismatch for Property:");
+            }
+        }
+        if (thirdArgSpecialChars != null && !thirdArgSpecialChars.allFoundIn(value)) {
+            result = addViolation(result, "Input Validation Special Characters Mismatch for Property:");
+        }
+        return result;
+    }
+
+    /**
+     * Adds the message of a failed check, followed by the attribute name, to the violations.
+     *
+     * @param violations : the violations, null if there are none yet
+     * @param message : the message
+     * @return the violations
+     */
+    private List<String> addViolation(List<String> violations, String message) {
+        List<String> result = violations != null ? violations : new ArrayList<>();
+        result.add(message + attribute);
+        return result;
+    }
+
+    /**
+     * Gets the length given by the second argument. A length which is not a valid long fails here, as it did
+     * when the rule was interpreted for each value.
+     *
+     * @return the expected length
+     */
+    private long expectedLength() {
+        return expectedLength != null ? expectedLength : Long.parseLong(secondArg);
+    }
+
+    /**
+     * Parses the length given by the second argument.
+     *
+     * @param length : the second argument
+     * @return the length, null if it is not a valid long
+     */
+    private static Long parseLength(String length) {
+        try {
+            return Long.parseLong(length);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether a rule argument names special characters, that is whether it has any character which is
+     * not an ASCII letter or digit.
+     *
+     * @param arg : the rule argument
+     * @return true, if the argument has a special character
+     */
+    private static boolean namesSpecialChars(String arg) {
+        for (int i = 0; i < arg.length(); i++) {
+            if (!AsciiCharSet.ALPHANUMERIC.contains(arg.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
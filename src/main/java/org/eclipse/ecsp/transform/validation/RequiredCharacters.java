@@ -0,0 +1,91 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.validation;
+
+/**
+ * The special characters a value must contain, as given by an argument of an input validation rule.
+ *
+ * <p>
+ * The ASCII characters are checked against a lookup table in a single pass over the value. Other characters,
+ * which rules hardly ever name, are looked up one by one.
+ * </p>
+ */
+final class RequiredCharacters {
+
+    /** The ASCII characters of the argument. */
+    private final AsciiCharSet ascii;
+
+    /** The non ASCII characters of the argument, empty if there are none. */
+    private final String nonAscii;
+
+    /**
+     * Creates the required characters of the given rule argument. Every character of the argument is required,
+     * letters and digits included.
+     *
+     * @param chars : the rule argument
+     */
+    RequiredCharacters(String chars) {
+        this.ascii = AsciiCharSet.of(chars);
+        StringBuilder others = new StringBuilder();
+        for (int i = 0; i < chars.length(); i++) {
+            if (chars.charAt(i) > '\u007f') {
+                others.append(chars.charAt(i));
+            }
+        }
+        this.nonAscii = others.toString();
+    }
+
+    /**
+     * Checks that the value contains every one of the required characters.
+     *
+     * @param value : the value
+     * @return true, if all the required characters are found in the value
+     */
+    boolean allFoundIn(String value) {
+        if (!ascii.allFoundIn(value)) {
+            return false;
+        }
+        for (int i = 0; i < nonAscii.length(); i++) {
+            if (value.indexOf(nonAscii.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.validation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JsonParser validating the header attributes of an ignite event as their values are read.
+ *
+ * <p>
+ * Every value token read through this parser which is a top level attribute of the event with a rule in the
+ * {@link InputValidationPlan} is checked right away, and an {@link InputValidationException} aborts the parse
+ * at the first attribute that fails its rule. An invalid event is thus rejected before its Data is bound.
+ * Only string and integer values are checked here, as their text is the value the bound event holds; other
+ * values, and rules which fail with an exception, are left to the validation of the bound event.
+ * </p>
+ */
+public final class ValidatingJsonParser extends JsonParserDelegate {
+
+    /** The nesting depth of the attributes of the event, the event being the root value. */
+    private static final int ATTRIBUTE_DEPTH = 1;
+
+    /** The compiled rules. */
+    private final InputValidationPlan plan;
+
+    /** The attributes which are not checked, as their value is replaced after binding. */
+    private final Set<String> skippedAttributes;
+
+    /**
+     * Creates the parser validating the values read from the given parser.
+     *
+     * @param parser : the JsonParser positioned before the first token of the event
+     * @param plan : the compiled rules
+     * @param skippedAttributes : the attributes which are not checked
+     */
+    public ValidatingJsonParser(JsonParser parser, InputValidationPlan plan, Set<String> skippedAttributes) {
+        super(parser);
+        this.plan = plan;
+        this.skippedAttributes = skippedAttributes;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        JsonToken token = delegate.nextToken();
+        if (token == JsonToken.VALUE_STRING || token == JsonToken.VALUE_NUMBER_INT) {
+            validateCurrentValue();
+        }
+        return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        JsonToken token = nextToken();
+        if (token == JsonToken.FIELD_NAME) {
+            token = nextToken();
+        }
+        return token;
+    }
+
+    /**
+     * Checks the current value against the rule of the attribute it is the value of, if any.
+     *
+     * @throws IOException if the text of the value cannot be read
+     * @throws InputValidationException if the value fails the rule
+     */
+    private void validateCurrentValue() throws IOException {
+        JsonStreamContext context = delegate.getParsingContext();
+        if (!context.inObject() || context.getNestingDepth() != ATTRIBUTE_DEPTH) {
+            return;
+        }
+        String attribute = delegate.currentName();
+        InputValidationRule rule = plan.ruleFor(attribute);
+        if (rule == null || skippedAttributes.contains(attribute)) {
+            return;
+        }
+        List<String> violations;
+        try {
+            violations = rule.validate(delegate.getText(), null);
+        } catch (RuntimeException e) {
+            // raised again, as it always was, by the validation of the bound event
+            return;
+        }
+        if (violations != null) {
+            throw new InputValidationException(violations);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for {@link AsyncTransformer}.
+ */
+public class AsyncTransformerTest {
+
+    /** The maximum number of operations in flight. */
+    private static final int MAX_IN_FLIGHT = 2;
+
+    /** The timeout of the test waits, in seconds. */
+    private static final int TIMEOUT = 10;
+
+    /** The transformer the operations are delegated to. */
+    private Transformer transformer;
+
+    /** The executor the operations run on. */
+    private ExecutorService executor;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        transformer = Mockito.mock(Transformer.class);
+        executor = Executors.newFixedThreadPool(MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Shuts the executor down.
+     */
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test the results and the failures of the operations are propagated through the futures.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testFromBlobAsyncAndToBlobAsync() throws Exception {
+        byte[] blob = "{}".getBytes();
+        IgniteEvent event = new IgniteEventImpl();
+        Mockito.when(transformer.fromBlob(blob, Optional.empty())).thenReturn(event);
+        Mockito.when(transformer.toBlob(event)).thenReturn(blob);
+        Mockito.when(transformer.toBlob(null)).thenThrow(new TransformerSerDeException("Failed"));
+
+        AsyncTransformer asyncTransformer = new AsyncTransformer(transformer, executor, MAX_IN_FLIGHT);
+        Assert.assertSame(event, asyncTransformer.fromBlobAsync(blob, Optional.empty()).get(TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertSame(blob, asyncTransformer.toBlobAsync(event).get(TIMEOUT, TimeUnit.SECONDS));
+        CompletableFuture<byte[]> failure = asyncTransformer.toBlobAsync(null);
+        ExecutionException e = Assert.assertThrows(ExecutionException.class,
+                () -> failure.get(TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertTrue(e.getCause() instanceof TransformerSerDeException);
+
+        Assert.assertEquals(2, asyncTransformer.getCompletedCount());
+        Assert.assertEquals(1, asyncTransformer.getFailedCount());
+        Assert.assertEquals(0, asyncTransformer.getInFlight());
+    }
+
+    /**
+     * Test an error thrown by an operation completes its future exceptionally and releases its permit, so that
+     * more operations than the maximum in flight can fail without blocking the submitting thread.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testErrorReleasesPermit() throws Exception {
+        Mockito.when(transformer.toBlob(Mockito.any())).thenThrow(new StackOverflowError());
+        AsyncTransformer asyncTransformer = new AsyncTransformer(transformer, executor, MAX_IN_FLIGHT);
+        for (int i = 0; i <= MAX_IN_FLIGHT; i++) {
+            CompletableFuture<byte[]> failure = asyncTransformer.toBlobAsync(new IgniteEventImpl());
+            ExecutionException e = Assert.assertThrows(ExecutionException.class,
+                    () -> failure.get(TIMEOUT, TimeUnit.SECONDS));
+            Assert.assertTrue(e.getCause() instanceof StackOverflowError);
+        }
+        Assert.assertEquals(MAX_IN_FLIGHT + 1, asyncTransformer.getFailedCount());
+        Assert.assertEquals(0, asyncTransformer.getInFlight());
+    }
+
+    /**
+     * Test the submitting thread blocks while the maximum number of operations are in flight.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testBackpressure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(transformer.toBlob(Mockito.any())).thenAnswer(invocation -> {
+            release.await();
+            return new byte[0];
+        });
+        AsyncTransformer asyncTransformer = new AsyncTransformer(transformer, executor, MAX_IN_FLIGHT);
+        for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+            asyncTransformer.toBlobAsync(new IgniteEventImpl());
+        }
+        Assert.assertEquals(MAX_IN_FLIGHT, asyncTransformer.getInFlight());
+
+        Thread producer = new Thread(() -> asyncTransformer.toBlobAsync(new IgniteEventImpl()));
+        producer.start();
+        producer.join(TimeUnit.SECONDS.toMillis(1));
+        Assert.assertTrue(producer.isAlive());
+
+        release.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+        Assert.assertFalse(producer.isAlive());
+    }
+
+    /**
+     * Test the facade created with virtual threads runs the operations and shuts its executor down on close.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testWithVirtualThreads() throws Exception {
+        IgniteEvent event = new IgniteEventImpl();
+        Mockito.when(transformer.toBlob(event)).thenReturn(new byte[1]);
+        try (AsyncTransformer asyncTransformer = AsyncTransformer.withVirtualThreads(transformer, MAX_IN_FLIGHT)) {
+            Assert.assertEquals(1, asyncTransformer.toBlobAsync(event).get(TIMEOUT, TimeUnit.SECONDS).length);
+        }
+    }
+
+    /**
+     * Test a non positive maximum number of operations in flight is rejected.
+     */
+    @Test
+    public void testInvalidMaxInFlight() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new AsyncTransformer(transformer, executor, 0));
+    }
+}
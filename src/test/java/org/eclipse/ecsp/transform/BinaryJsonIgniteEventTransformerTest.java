@@ -0,0 +1,170 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import org.eclipse.ecsp.domain.EventID;
+import org.eclipse.ecsp.domain.SpeedV1_0;
+import org.eclipse.ecsp.domain.Version;
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Test class for the {@link SmileIgniteEventTransformer} and the {@link CborIgniteEventTransformer}.
+ */
+public class BinaryJsonIgniteEventTransformerTest {
+
+    /** The Constant DELTA. */
+    private static final double DELTA = 0.0d;
+
+    /** The speed of the test events. */
+    private static final double SPEED = 20.0d;
+
+    /** The composite event of the tests, as JSON. */
+    private static final String COMPOSITE_EVENT = "[{\"EventID\": \"Speed\",\"Version\": \"1.0\","
+            + "\"Data\": {\"value\":20.0}},{\"EventID\": \"Speed\",\"Version\": \"1.0\",\"Data\": {\"value\":30.0}}]";
+
+    /** The GenericIgniteEventTransformer decoding the JSON events of the tests. */
+    private final GenericIgniteEventTransformer jsonTransformer = new GenericIgniteEventTransformer();
+
+    /**
+     * A single event is encoded as Smile, starting with the Smile header, and decoded back.
+     */
+    @Test
+    public void testSmileSingleEvent() {
+        byte[] bytes = assertSingleEventRoundTrip(new SmileIgniteEventTransformer());
+        Assert.assertEquals(':', bytes[0]);
+        Assert.assertEquals(')', bytes[1]);
+        Assert.assertEquals('\n', bytes[2]);
+    }
+
+    /**
+     * A single event is encoded as CBOR, starting with the self-describe tag, and decoded back.
+     */
+    @Test
+    public void testCborSingleEvent() {
+        byte[] bytes = assertSingleEventRoundTrip(new CborIgniteEventTransformer());
+        Assert.assertEquals((byte) 0xD9, bytes[0]);
+        Assert.assertEquals((byte) 0xD9, bytes[1]);
+        Assert.assertEquals((byte) 0xF7, bytes[2]);
+    }
+
+    /**
+     * Composite events are encoded as the array of their nested events and decoded back, from a byte[], a
+     * ByteBuffer and the bytes written to a stream.
+     */
+    @Test
+    public void testCompositeEvent() {
+        IgniteEvent event = jsonTransformer.fromBlob(COMPOSITE_EVENT.getBytes(StandardCharsets.UTF_8),
+                Optional.empty());
+        for (BinaryJsonIgniteEventTransformer transformer : List.of(new SmileIgniteEventTransformer(),
+                new CborIgniteEventTransformer())) {
+            byte[] bytes = transformer.toBlob(event);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Assert.assertEquals(bytes.length, transformer.toBlob(event, out));
+            Assert.assertArrayEquals(bytes, out.toByteArray());
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+            direct.put(bytes).flip();
+            for (IgniteEvent decoded : List.of(transformer.fromBlob(bytes, Optional.empty()),
+                    transformer.fromBlob(direct, Optional.empty()))) {
+                Assert.assertEquals(EventID.COMPOSITE_EVENT, decoded.getEventId());
+                Assert.assertEquals(2, decoded.getNestedEvents().size());
+                Assert.assertEquals(SPEED, ((SpeedV1_0) decoded.getNestedEvents().get(0).getEventData())
+                        .getValue(), DELTA);
+            }
+        }
+    }
+
+    /**
+     * The transformers report their own source, and a payload of another format is rejected.
+     */
+    @Test
+    public void testSourceAndForeignPayload() {
+        SmileIgniteEventTransformer smileTransformer = new SmileIgniteEventTransformer();
+        CborIgniteEventTransformer cborTransformer = new CborIgniteEventTransformer();
+        Assert.assertEquals(SmileIgniteEventTransformer.SOURCE, smileTransformer.getSource());
+        Assert.assertEquals(CborIgniteEventTransformer.SOURCE, cborTransformer.getSource());
+        Assert.assertNotEquals(jsonTransformer.getSource(), smileTransformer.getSource());
+        Assert.assertNotEquals(smileTransformer.getSource(), cborTransformer.getSource());
+
+        byte[] json = COMPOSITE_EVENT.getBytes(StandardCharsets.UTF_8);
+        Assert.assertThrows(TransformerSerDeException.class, () -> smileTransformer.fromBlob(json, Optional.empty()));
+    }
+
+    /**
+     * Encodes a speed event, checks that it is smaller than its JSON and decodes it back with a header.
+     *
+     * @param transformer the BinaryJsonIgniteEventTransformer
+     * @return the encoded event
+     */
+    private byte[] assertSingleEventRoundTrip(BinaryJsonIgniteEventTransformer transformer) {
+        IgniteEventImpl event = new IgniteEventImpl();
+        event.setEventId(EventID.SPEED);
+        event.setVersion(Version.V1_0);
+        event.setRequestId("requestId");
+        event.setVehicleId("vehicleId");
+        event.setTimestamp(System.currentTimeMillis());
+        SpeedV1_0 speed = new SpeedV1_0();
+        speed.setValue(SPEED);
+        event.setEventData(speed);
+
+        byte[] bytes = transformer.toBlob(event);
+        Assert.assertTrue(bytes.length < jsonTransformer.toBlob(event).length);
+
+        IgniteEventImpl header = new IgniteEventImpl();
+        header.setVehicleId("headerVehicleId");
+        byte[] framed = new byte[bytes.length + 2];
+        System.arraycopy(bytes, 0, framed, 1, bytes.length);
+        IgniteEvent decoded = transformer.fromBlob(framed, 1, bytes.length, Optional.of(header));
+        Assert.assertEquals(EventID.SPEED, decoded.getEventId());
+        Assert.assertEquals("requestId", decoded.getRequestId());
+        Assert.assertEquals("headerVehicleId", decoded.getVehicleId());
+        Assert.assertEquals(event.getTimestamp(), decoded.getTimestamp());
+        Assert.assertEquals(SPEED, ((SpeedV1_0) decoded.getEventData()).getValue(), DELTA);
+        return bytes;
+    }
+}
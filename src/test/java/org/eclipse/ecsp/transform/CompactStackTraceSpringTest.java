@@ -0,0 +1,130 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+
+package org.eclipse.ecsp.transform;
+
+import org.eclipse.ecsp.domain.EventID;
+import org.eclipse.ecsp.domain.IgniteExceptionDataV1_1;
+import org.eclipse.ecsp.domain.Version;
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.eclipse.ecsp.transform.config.CompactStackTraceModule;
+import org.eclipse.ecsp.transform.config.JacksonMapperConfig;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Optional;
+
+/**
+ * Tests that the stack trace options of the environment are applied to the transformers created by Spring.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { org.eclipse.ecsp.transform.config.TransformerTestConfig.class })
+@TestPropertySource(properties = {
+    JacksonMapperConfig.EXCEPTION_STACK_MAX_DEPTH + "=" + CompactStackTraceSpringTest.MAX_DEPTH })
+public class CompactStackTraceSpringTest {
+
+    /** The maximum number of frames written per stack trace. */
+    static final int MAX_DEPTH = 3;
+
+    /** The generic transformer. */
+    @Autowired
+    private GenericIgniteEventTransformer transformer;
+
+    /** The Smile transformer. */
+    @Autowired
+    private SmileIgniteEventTransformer smileTransformer;
+
+    /**
+     * Creates an IgniteExceptionEvent carrying an exception with a stack trace deeper than the maximum depth.
+     *
+     * @return the IgniteExceptionEvent
+     */
+    private static IgniteEventImpl getExceptionEvent() {
+        IgniteExceptionDataV1_1 data = new IgniteExceptionDataV1_1();
+        data.setContext(new HashMap<>());
+        data.setErrorTimeInMilis(System.currentTimeMillis());
+        data.setException(new NullPointerException());
+        IgniteEventImpl event = new IgniteEventImpl();
+        event.setEventId(EventID.IGNITE_EXCEPTION_EVENT);
+        event.setVersion(Version.V1_1);
+        event.setEventData(data);
+        event.setRequestId("requestID123");
+        event.setVehicleId("vehicleId123");
+        event.setTimestamp(System.currentTimeMillis());
+        return event;
+    }
+
+    /**
+     * Asserts that the stack trace of the exception carried by the given event was trimmed.
+     *
+     * @param event the deserialized IgniteExceptionEvent
+     */
+    private static void assertTrimmed(IgniteEvent event) {
+        StackTraceElement[] frames = ((IgniteExceptionDataV1_1) event.getEventData()).getException().getStackTrace();
+        Assert.assertEquals(MAX_DEPTH + 1, frames.length);
+        Assert.assertEquals(CompactStackTraceModule.TRIMMED_CLASS_NAME, frames[MAX_DEPTH].getClassName());
+    }
+
+    /**
+     * Tests that the generic transformer trims the stack trace of a serialized IgniteExceptionEvent.
+     */
+    @Test
+    public void testGenericTransformerTrimsStackTrace() {
+        byte[] blob = transformer.toBlob(getExceptionEvent());
+        Assert.assertTrue(new String(blob, StandardCharsets.UTF_8)
+                .contains(CompactStackTraceModule.TRIMMED_CLASS_NAME));
+        assertTrimmed(transformer.fromBlob(blob, Optional.empty()));
+    }
+
+    /**
+     * Tests that the Smile transformer trims the stack trace of a serialized IgniteExceptionEvent.
+     */
+    @Test
+    public void testSmileTransformerTrimsStackTrace() {
+        assertTrimmed(smileTransformer.fromBlob(smileTransformer.toBlob(getExceptionEvent()), Optional.empty()));
+    }
+}
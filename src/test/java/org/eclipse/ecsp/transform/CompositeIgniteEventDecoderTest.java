@@ -0,0 +1,126 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.ecsp.domain.EventID;
+import org.eclipse.ecsp.domain.SpeedV1_0;
+import org.eclipse.ecsp.entities.CompositeIgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.transform.config.JacksonMapperConfig;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Test class for {@link CompositeIgniteEventDecoder}.
+ */
+public class CompositeIgniteEventDecoderTest {
+
+    /** The Constant DELTA. */
+    private static final double DELTA = 0.0d;
+
+    /** The ObjectMapper instance. */
+    private ObjectMapper mapper;
+
+    /** The CompositeIgniteEventDecoder instance. */
+    private CompositeIgniteEventDecoder decoder;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        mapper = new JacksonMapperConfig().jsonObjectMapper();
+        decoder = new CompositeIgniteEventDecoder(mapper);
+    }
+
+    /**
+     * Nested events are bound in array order and the parser is left on the closing token.
+     *
+     * @throws IOException I/O exception
+     */
+    @Test
+    public void testDecodeKeepsOrder() throws IOException {
+        String events = "[{\"EventID\":\"Speed\",\"Version\":\"1.0\",\"Data\":{\"value\":10.0}},"
+                + "{\"EventID\":\"Speed\",\"Version\":\"1.0\",\"Data\":{\"value\":20.0}}]";
+        try (JsonParser parser = mapper.createParser(events.getBytes())) {
+            parser.nextToken();
+            CompositeIgniteEvent event = decoder.decode(parser);
+
+            Assert.assertEquals(EventID.COMPOSITE_EVENT, event.getEventId());
+            Assert.assertEquals(JsonToken.END_ARRAY, parser.currentToken());
+            List<IgniteEvent> nestedEvents = event.getNestedEvents();
+            Assert.assertEquals(2, nestedEvents.size());
+            Assert.assertEquals(10.0d, ((SpeedV1_0) nestedEvents.get(0).getEventData()).getValue(), DELTA);
+            Assert.assertEquals(20.0d, ((SpeedV1_0) nestedEvents.get(1).getEventData()).getValue(), DELTA);
+        }
+    }
+
+    /**
+     * An empty array results in a composite event without nested events.
+     *
+     * @throws IOException I/O exception
+     */
+    @Test
+    public void testDecodeEmptyArray() throws IOException {
+        try (JsonParser parser = mapper.createParser("[]".getBytes())) {
+            parser.nextToken();
+            Assert.assertTrue(decoder.readNestedEvents(parser).isEmpty());
+        }
+    }
+
+    /**
+     * The parser has to be positioned on an array.
+     *
+     * @throws IOException I/O exception
+     */
+    @Test(expected = TransformerSerDeException.class)
+    public void testDecodeRejectsObject() throws IOException {
+        try (JsonParser parser = mapper.createParser("{\"EventID\":\"Speed\"}".getBytes())) {
+            parser.nextToken();
+            decoder.decode(parser);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.eclipse.ecsp.domain.SpeedV1_0;
+import org.eclipse.ecsp.domain.Version;
+import org.eclipse.ecsp.entities.GenericEventData;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.eclipse.ecsp.transform.config.JacksonMapperConfig;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * Test class for {@link EventCodecCache}.
+ */
+public class EventCodecCacheTest {
+
+    /** The Constant DELTA. */
+    private static final double DELTA = 0.0d;
+
+    /** The ObjectMapper instance. */
+    private ObjectMapper mapper;
+
+    /** The EventCodecCache instance. */
+    private EventCodecCache cache;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        mapper = new JacksonMapperConfig().jsonObjectMapper();
+        cache = new EventCodecCache(mapper);
+    }
+
+    /**
+     * Readers and writers are built once per type.
+     */
+    @Test
+    public void testReadersAndWritersAreReused() {
+        Assert.assertSame(cache.readerFor(IgniteEventImpl.class), cache.readerFor(IgniteEventImpl.class));
+        Assert.assertSame(cache.writerFor(new IgniteEventImpl()), cache.writerFor(new IgniteEventImpl()));
+        Assert.assertSame(cache.writerFor(new ArrayList<>()), cache.writerFor(new ArrayList<>()));
+        Assert.assertNotSame(cache.writerFor(new IgniteEventImpl()), cache.writerFor(new ArrayList<>()));
+    }
+
+    /**
+     * Configured event types are resolved up front and invalid entries are ignored.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testPrewarm() throws IOException {
+        cache.prewarm("Speed:1.0, invalid ,:1.0");
+        ObjectReader reader = cache.dataReaderFor("Speed", Version.V1_0);
+        Assert.assertNotNull(reader);
+        SpeedV1_0 data = reader.readValue("{\"value\":20.0}".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(20.0d, data.getValue(), DELTA);
+        Assert.assertNull(cache.dataReaderFor("Speed", Version.V1_1));
+    }
+
+    /**
+     * Event types resolving to GenericEventData are not cached.
+     */
+    @Test
+    public void testGenericEventDataIsNotCached() {
+        cache.registerDataType("Unknown", Version.V1_0, Mockito.mock(GenericEventData.class));
+        Assert.assertNull(cache.dataReaderFor("Unknown", Version.V1_0));
+        cache.registerDataType("Speed", Version.V1_0, new SpeedV1_0());
+        Assert.assertNotNull(cache.dataReaderFor("Speed", Version.V1_0));
+    }
+
+    /**
+     * The eager decoder learns the EventData type of an event and then binds the Data section with its reader.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testEagerDecoderBindsDataWithCachedReader() throws IOException {
+        EagerIgniteEventDecoder decoder = new EagerIgniteEventDecoder(mapper, cache);
+        String json = "{\"EventID\":\"Speed\",\"Version\":\"1.0\",\"Data\":{\"value\":20.0},"
+                + "\"RequestId\":\"req1\"}";
+        IgniteEventImpl first = decode(decoder, json);
+        Assert.assertNotNull(cache.dataReaderFor("Speed", Version.V1_0));
+        IgniteEventImpl second = decode(decoder, json);
+        IgniteEventImpl expected = cache.readerFor(IgniteEventImpl.class).readValue(json);
+        for (IgniteEventImpl event : new IgniteEventImpl[] { first, second }) {
+            Assert.assertEquals(SpeedV1_0.class, event.getEventData().getClass());
+            Assert.assertEquals(20.0d, ((SpeedV1_0) event.getEventData()).getValue(), DELTA);
+            Assert.assertEquals(expected.getRequestId(), event.getRequestId());
+            Assert.assertEquals(Version.V1_0, event.getVersion());
+        }
+    }
+
+    /**
+     * A Data section preceding the EventID is bound through the event reader.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testEagerDecoderDataBeforeEventId() throws IOException {
+        cache.prewarm("Speed:1.0");
+        IgniteEventImpl event = decode(new EagerIgniteEventDecoder(mapper, cache),
+                "{\"Data\":{\"value\":20.0},\"EventID\":\"Speed\",\"Version\":\"1.0\"}");
+        Assert.assertEquals(20.0d, ((SpeedV1_0) event.getEventData()).getValue(), DELTA);
+        Assert.assertEquals("Speed", event.getEventId());
+    }
+
+    /**
+     * Decodes the given event with the eager decoder.
+     *
+     * @param decoder the EagerIgniteEventDecoder
+     * @param json the event
+     * @return the IgniteEventImpl
+     * @throws IOException the IO exception
+     */
+    private IgniteEventImpl decode(EagerIgniteEventDecoder decoder, String json) throws IOException {
+        try (JsonParser parser = mapper.createParser(json.getBytes(StandardCharsets.UTF_8))) {
+            parser.nextToken();
+            return decoder.decode(parser, cache.readerFor(IgniteEventImpl.class));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import org.eclipse.ecsp.domain.SpeedV1_0;
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Test class for the {@link FormatDispatchingTransformer} and the {@link PayloadFormat}.
+ */
+public class FormatDispatchingTransformerTest {
+
+    /** The Constant DELTA. */
+    private static final double DELTA = 0.0d;
+
+    /** The speed of the test event. */
+    private static final double SPEED = 20.0d;
+
+    /** The event of the tests, as JSON. */
+    private static final String EVENT = "{\"EventID\": \"Speed\",\"Version\": \"1.0\",\"Data\": {\"value\":20.0}}";
+
+    /** The start of an event serialized by the IngestionSerializerFstImpl, base64 encoded. */
+    private static final String FST_EVENT = "rO0AASpjb20uaGFybWFuLmlnbml0ZS5lbnRpdGllcy5JZ25pdGVCbG9iRX";
+
+    /**
+     * The format of the payloads is told by their leading bytes.
+     */
+    @Test
+    public void testPayloadFormat() {
+        GenericIgniteEventTransformer json = new GenericIgniteEventTransformer();
+        IgniteEvent event = json.fromBlob(EVENT.getBytes(StandardCharsets.UTF_8), Optional.empty());
+        assertFormat(PayloadFormat.JSON, EVENT.getBytes(StandardCharsets.UTF_8));
+        assertFormat(PayloadFormat.JSON, ("\uFEFF \r\n\t[" + EVENT + "]").getBytes(StandardCharsets.UTF_8));
+        assertFormat(PayloadFormat.SMILE, new SmileIgniteEventTransformer().toBlob(event));
+        assertFormat(PayloadFormat.CBOR, new CborIgniteEventTransformer().toBlob(event));
+        assertFormat(PayloadFormat.CBOR, new byte[] {(byte) 0xA3, 0x61, 0x61});
+        assertFormat(PayloadFormat.FST, Base64.getDecoder().decode(FST_EVENT));
+        assertFormat(PayloadFormat.UNKNOWN, new byte[0]);
+        assertFormat(PayloadFormat.UNKNOWN, "  ".getBytes(StandardCharsets.UTF_8));
+        assertFormat(PayloadFormat.UNKNOWN, "\"Speed\"".getBytes(StandardCharsets.UTF_8));
+        assertFormat(PayloadFormat.UNKNOWN, new byte[] {(byte) 0xEF, (byte) 0xBB, '{'});
+        assertFormat(PayloadFormat.UNKNOWN, new byte[] {0x40, 0x01});
+        Assert.assertEquals(PayloadFormat.UNKNOWN, PayloadFormat.of((byte[]) null, 0, 0));
+        Assert.assertEquals(PayloadFormat.UNKNOWN, PayloadFormat.of((ByteBuffer) null));
+    }
+
+    /**
+     * Events of every format are decoded by the transformer of their format, from a byte[], a region of a byte[]
+     * and a direct ByteBuffer, and encoded as JSON.
+     */
+    @Test
+    public void testDispatch() {
+        FormatDispatchingTransformer transformer = new FormatDispatchingTransformer();
+        byte[] jsonBytes = EVENT.getBytes(StandardCharsets.UTF_8);
+        IgniteEvent event = transformer.fromBlob(jsonBytes, Optional.empty());
+        assertSpeedEvent(event);
+        Assert.assertEquals(PayloadFormat.JSON, transformer.getEncodeFormat());
+        Assert.assertEquals(new GenericIgniteEventTransformer().getSource(), transformer.getSource());
+        Assert.assertEquals(PayloadFormat.JSON, PayloadFormat.of(ByteBuffer.wrap(transformer.toBlob(event))));
+
+        for (byte[] bytes : new byte[][] {jsonBytes, new SmileIgniteEventTransformer().toBlob(event),
+            new CborIgniteEventTransformer().toBlob(event)}) {
+            assertSpeedEvent(transformer.fromBlob(bytes, Optional.empty()));
+
+            byte[] framed = new byte[bytes.length + 2];
+            System.arraycopy(bytes, 0, framed, 1, bytes.length);
+            assertSpeedEvent(transformer.fromBlob(framed, 1, bytes.length, Optional.empty()));
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+            direct.put(bytes).flip();
+            assertSpeedEvent(transformer.fromBlob(direct, Optional.empty()));
+            Assert.assertEquals(0, direct.position());
+        }
+    }
+
+    /**
+     * The events are encoded in the configured format.
+     */
+    @Test
+    public void testEncodeFormat() {
+        Map<PayloadFormat, Transformer> transformers = new EnumMap<>(PayloadFormat.class);
+        transformers.put(PayloadFormat.JSON, new GenericIgniteEventTransformer());
+        transformers.put(PayloadFormat.SMILE, new SmileIgniteEventTransformer());
+        FormatDispatchingTransformer transformer = new FormatDispatchingTransformer(transformers, PayloadFormat.SMILE);
+        IgniteEvent event = transformer.fromBlob(EVENT.getBytes(StandardCharsets.UTF_8), Optional.empty());
+        byte[] bytes = transformer.toBlob(event);
+        Assert.assertEquals(PayloadFormat.SMILE, PayloadFormat.of(bytes, 0, bytes.length));
+        Assert.assertEquals(SmileIgniteEventTransformer.SOURCE, transformer.getSource());
+        assertSpeedEvent(transformer.fromBlob(bytes, Optional.empty()));
+    }
+
+    /**
+     * The payloads of a format without transformer are rejected.
+     */
+    @Test(expected = TransformerSerDeException.class)
+    public void testUnsupportedFormat() {
+        Map<PayloadFormat, Transformer> transformers = new EnumMap<>(PayloadFormat.class);
+        transformers.put(PayloadFormat.JSON, new GenericIgniteEventTransformer());
+        new FormatDispatchingTransformer(transformers, PayloadFormat.JSON)
+                .fromBlob(new CborIgniteEventTransformer().toBlob(new GenericIgniteEventTransformer()
+                        .fromBlob(EVENT.getBytes(StandardCharsets.UTF_8), Optional.empty())), Optional.empty());
+    }
+
+    /**
+     * The payloads of no known format are rejected.
+     */
+    @Test(expected = TransformerSerDeException.class)
+    public void testUnknownFormat() {
+        new FormatDispatchingTransformer().fromBlob("Speed".getBytes(StandardCharsets.UTF_8), Optional.empty());
+    }
+
+    /**
+     * The encode format must have a transformer.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingEncoder() {
+        Map<PayloadFormat, Transformer> transformers = new EnumMap<>(PayloadFormat.class);
+        transformers.put(PayloadFormat.JSON, new GenericIgniteEventTransformer());
+        new FormatDispatchingTransformer(transformers, PayloadFormat.CBOR);
+    }
+
+    /**
+     * Asserts the format of a payload, held by a byte[], a region of a larger byte[] and a direct ByteBuffer.
+     *
+     * @param expected the expected PayloadFormat
+     * @param bytes the payload
+     */
+    private static void assertFormat(PayloadFormat expected, byte[] bytes) {
+        Assert.assertEquals(expected, PayloadFormat.of(bytes, 0, bytes.length));
+        byte[] framed = new byte[bytes.length + 2];
+        framed[0] = '{';
+        System.arraycopy(bytes, 0, framed, 1, bytes.length);
+        Assert.assertEquals(expected, PayloadFormat.of(framed, 1, bytes.length));
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        Assert.assertEquals(expected, PayloadFormat.of(direct));
+        Assert.assertEquals(0, direct.position());
+    }
+
+    /**
+     * Asserts that the event is the Speed event of the tests.
+     *
+     * @param event the IgniteEvent
+     */
+    private static void assertSpeedEvent(IgniteEvent event) {
+        Assert.assertEquals("Speed", event.getEventId());
+        Assert.assertEquals(SPEED, ((SpeedV1_0) event.getEventData()).getValue(), DELTA);
+    }
+}
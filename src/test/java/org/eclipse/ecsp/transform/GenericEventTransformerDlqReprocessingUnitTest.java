@@ -48,7 +48,9 @@ import org.eclipse.ecsp.domain.SpeedV1_0;
 import org.eclipse.ecsp.domain.Version;
 import org.eclipse.ecsp.entities.GenericEventData;
 import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEventBase;
 import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.eclipse.ecsp.transform.config.JacksonMapperConfig;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Assert;
 import org.junit.Before;
@@ -59,9 +61,11 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
 
 /**
  * Unit Test class for GenericIgniteEventTransformer for DLQReprocessingUnit.
@@ -268,4 +272,120 @@ public class GenericEventTransformerDlqReprocessingUnitTest {
         Assert.assertEquals(nestedEventData.getData("eventType"), Optional.of("accountCreated"));
         Assert.assertEquals(nestedEventData.getData("id"), Optional.of("ae87f362-9f5e-4cb1-a48f-e8f148e2fajd"));
     }
+
+    /**
+     * Tests that with lazy DLQ decoding enabled the failed event and the exception of the DLQ payload are only
+     * bound on first access, while the triage attributes are available straight away.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testDlqLazyDeserialization() throws IOException {
+        Properties props = new Properties();
+        props.setProperty(GenericIgniteEventTransformer.DLQ_LAZY_ENABLED, "true");
+        GenericIgniteEventTransformer dlqTransformer = new GenericIgniteEventTransformer(props);
+        byte[] payload;
+        try (InputStream istream = GenericEventTransformerDlqReprocessingUnitTest.class.getClassLoader()
+                .getResourceAsStream("event.json")) {
+            assert istream != null;
+            payload = istream.readAllBytes();
+        }
+
+        IgniteEvent igniteEvent = dlqTransformer.fromBlob(payload, Optional.empty());
+
+        Assert.assertEquals("IgniteExceptionEvent", igniteEvent.getEventId());
+        Assert.assertEquals(TIMESTAMP, igniteEvent.getTimestamp());
+        LazyIgniteExceptionData igniteExceptionData = (LazyIgniteExceptionData) igniteEvent.getEventData();
+        Assert.assertEquals("VehicleInfoNotication", igniteExceptionData.getProcessorName());
+        Assert.assertEquals(TWO, igniteExceptionData.getRetryCount());
+        Assert.assertEquals(1, igniteExceptionData.getNestedDLQExceptionData().getIteration());
+        Assert.assertFalse(igniteExceptionData.isIgniteEventResolved());
+        Assert.assertFalse(igniteExceptionData.isExceptionResolved());
+
+        IgniteEventImpl nestedIgniteEvent = igniteExceptionData.getIgniteEvent();
+        Assert.assertTrue(igniteExceptionData.isIgniteEventResolved());
+        Assert.assertEquals("WebHook", nestedIgniteEvent.getEventId());
+        Assert.assertEquals(TIMESTAMP, nestedIgniteEvent.getTimestamp());
+        GenericEventData nestedEventData = (GenericEventData) nestedIgniteEvent.getEventData();
+        Assert.assertEquals(Optional.of("accountCreated"), nestedEventData.getData("eventType"));
+        Assert.assertNotNull(igniteExceptionData.getException());
+        Assert.assertTrue(igniteExceptionData.isExceptionResolved());
+
+        IgniteEvent speedEvent = dlqTransformer.fromBlob(transformer.toBlob(getFailedIgniteEvent()), Optional.empty());
+        Assert.assertEquals(EventID.SPEED, speedEvent.getEventId());
+        Assert.assertEquals("requestId", speedEvent.getRequestId());
+    }
+
+    /**
+     * Tests that the failed event embedded in the nested DLQ exception data is decoded from the base64 of the
+     * exception event, once into an array of its exact size or in place.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testNestedDlqFailedEventDecoding() throws IOException {
+        IgniteEventImpl failedIgniteEvent = getFailedIgniteEvent();
+        NestedDLQExceptionData nestedDlqExceptionData = new NestedDLQExceptionData(
+                transformer.toBlob(failedIgniteEvent), 1, "someprocessor", new RuntimeException("Connection Error"),
+                new HashMap<String, Object>());
+        IgniteExceptionDataV1_1 data = getIgniteExceptionDataV2(failedIgniteEvent, new HashMap<>());
+        data.setNestedDLQExceptionData(nestedDlqExceptionData);
+        byte[] payload = transformer.toBlob(getIgniteEvent((short) TEN, data));
+
+        IgniteEvent failedEvent = transformer.fromNestedDlqBlob(payload, 0, payload.length, Optional.empty());
+        Assert.assertEquals(EventID.SPEED, failedEvent.getEventId());
+        Assert.assertEquals("requestId", failedEvent.getRequestId());
+        Assert.assertEquals(failedIgniteEvent.getTimestamp(), failedEvent.getTimestamp());
+
+        // the failed event is handed over in an array of its exact size
+        Transformer exactSize = new Transformer() {
+            @Override
+            public IgniteEvent fromBlob(byte[] buf, int offset, int length, Optional<IgniteEventBase> header) {
+                Assert.assertEquals(0, offset);
+                Assert.assertEquals(buf.length, length);
+                return transformer.fromBlob(buf, offset, length, header);
+            }
+
+            @Override
+            public byte[] toBlob(IgniteEvent value) {
+                return transformer.toBlob(value);
+            }
+
+            @Override
+            public String getSource() {
+                return transformer.getSource();
+            }
+        };
+        Assert.assertEquals(EventID.SPEED, new NestedDlqEventDecoder(new JacksonMapperConfig().jsonObjectMapper())
+                .decode(payload, 0, payload.length, exactSize, Optional.empty()).getEventId());
+
+        failedEvent = transformer.fromNestedDlqBlobInPlace(payload, 0, payload.length, Optional.empty());
+        Assert.assertEquals("requestId", failedEvent.getRequestId());
+
+        byte[] dlqPayload;
+        try (InputStream istream = GenericEventTransformerDlqReprocessingUnitTest.class.getClassLoader()
+                .getResourceAsStream("event.json")) {
+            assert istream != null;
+            dlqPayload = istream.readAllBytes();
+        }
+        IgniteEvent webHookEvent = transformer.fromNestedDlqBlobInPlace(dlqPayload, 0, dlqPayload.length,
+                Optional.empty());
+        Assert.assertEquals("GigyaWebHook", webHookEvent.getEventId());
+        Assert.assertEquals(TIMESTAMP, webHookEvent.getTimestamp());
+    }
+
+    /**
+     * Tests that the size of the failed event is computed from its base64 text, padded or not.
+     */
+    @Test
+    public void testNestedDlqDecodedLength() {
+        for (int length = 0; length < TEN; length++) {
+            byte[] bytes = new byte[length];
+            for (Base64.Encoder encoder : new Base64.Encoder[] {Base64.getEncoder(),
+                Base64.getEncoder().withoutPadding()}) {
+                byte[] text = encoder.encode(bytes);
+                Assert.assertEquals(length, NestedDlqEventDecoder.decodedLength(text, 0, text.length));
+            }
+        }
+    }
 }
@@ -63,10 +63,21 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -89,6 +100,9 @@ public class GenericEventTransformerTest {
     /** The Constant DOUBLE_20. */
     private static final double DOUBLE_20 = 20.0d;
 
+    /** The number of nested events of the composite events decoded in parallel. */
+    private static final int NESTED_EVENTS = 20;
+
     static {
         JSON_MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         JSON_MAPPER.setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
@@ -346,6 +360,48 @@ public class GenericEventTransformerTest {
         JSONAssert.assertEquals(expectedDeserializedJsonString, JSON_MAPPER.writeValueAsString(event), false);
     }
 
+    /**
+     * The event is decoded from a region of a larger buffer.
+     */
+    @Test
+    public void testFromBlobWithOffsetAndLength() {
+        String speedEvent = "{\"EventID\": \"Speed\",\"Version\": \"1.0\",\"Data\": {\"value\":20.0}}";
+        byte[] buf = ("garbage" + speedEvent + "garbage").getBytes(StandardCharsets.UTF_8);
+        IgniteEvent event = transformer.fromBlob(buf, "garbage".length(), speedEvent.length(), Optional.empty());
+        Assert.assertEquals(DOUBLE_20, ((SpeedV1_0) event.getEventData()).getValue(), 0.0d);
+    }
+
+    /**
+     * The event is decoded from the remaining bytes of a heap and of a direct ByteBuffer, the
+     * position of the buffer is left untouched.
+     */
+    @Test
+    public void testFromBlobWithByteBuffer() {
+        byte[] speedEvent = "{\"EventID\": \"Speed\",\"Version\": \"1.0\",\"Data\": {\"value\":20.0}}"
+                .getBytes(StandardCharsets.UTF_8);
+        ByteBuffer heapBuffer = ByteBuffer.wrap(speedEvent);
+        IgniteEvent event = transformer.fromBlob(heapBuffer, Optional.empty());
+        Assert.assertEquals(DOUBLE_20, ((SpeedV1_0) event.getEventData()).getValue(), 0.0d);
+        Assert.assertEquals(0, heapBuffer.position());
+
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(speedEvent.length);
+        directBuffer.put(speedEvent).flip();
+        event = transformer.fromBlob(directBuffer, Optional.empty());
+        Assert.assertEquals(DOUBLE_20, ((SpeedV1_0) event.getEventData()).getValue(), 0.0d);
+        Assert.assertEquals(0, directBuffer.position());
+    }
+
+    /**
+     * Invalid content in a direct ByteBuffer fails the same way as a byte[].
+     */
+    @Test(expected = TransformerSerDeException.class)
+    public void testFromBlobWithInvalidDirectByteBuffer() {
+        byte[] invalid = "test".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(invalid.length);
+        directBuffer.put(invalid).flip();
+        transformer.fromBlob(directBuffer, Optional.empty());
+    }
+
     /**
      * Negative test case when the IgniteEvent is null.
      */
@@ -607,6 +663,182 @@ public class GenericEventTransformerTest {
         Assert.assertTrue(ievent.getEventData() instanceof GenericEventData);
     }
 
+    /**
+     * Test that a batch is decoded record by record and that failing records do not fail the batch.
+     */
+    @Test
+    public void testFromBlobs() {
+        String speedEvent = "{\"EventID\": \"Speed\",\"Version\": \"1.0\","
+                + "\"Data\": {\"value\":20.0},\"MessageId\": \"123456\"}";
+        List<TransformResult<IgniteEvent>> results = transformer.fromBlobs(Arrays.asList(
+                speedEvent.getBytes(StandardCharsets.UTF_8), "not json".getBytes(StandardCharsets.UTF_8), null,
+                speedEvent.getBytes(StandardCharsets.UTF_8)));
+
+        Assert.assertEquals(4, results.size());
+        Assert.assertTrue(results.get(0).isSuccess());
+        Assert.assertTrue(results.get(0).getValue().getEventData() instanceof SpeedV1_0);
+        Assert.assertFalse(results.get(1).isSuccess());
+        Assert.assertTrue(results.get(1).getError() instanceof TransformerSerDeException);
+        Assert.assertFalse(results.get(2).isSuccess());
+        Assert.assertNull(results.get(2).getValue());
+        Assert.assertTrue(results.get(3).isSuccess());
+    }
+
+    /**
+     * Test that a batch of events is serialized to the same bytes as by toBlob.
+     */
+    @Test
+    public void testToBlobs() {
+        String speedEvent = "{\"EventID\": \"Speed\",\"Version\": \"1.0\","
+                + "\"Data\": {\"value\":20.0},\"MessageId\": \"123456\"}";
+        IgniteEvent event = transformer.fromBlob(speedEvent.getBytes(StandardCharsets.UTF_8), Optional.empty());
+        List<TransformResult<byte[]>> results = transformer.toBlobs(Arrays.asList(event, null, event));
+
+        Assert.assertEquals(3, results.size());
+        Assert.assertArrayEquals(transformer.toBlob(event), results.get(0).getValue());
+        Assert.assertTrue(results.get(1).getError() instanceof TransformerSerDeException);
+        Assert.assertArrayEquals(transformer.toBlob(event), results.get(2).getValue());
+    }
+
+    /**
+     * Test that an event written to an OutputStream or a ByteBuffer has the bytes returned by toBlob, and that
+     * a ByteBuffer too small for the event is left unchanged.
+     */
+    @Test
+    public void testToBlobIntoOutputStreamAndByteBuffer() {
+        String speedEvent = "{\"EventID\": \"Speed\",\"Version\": \"1.0\","
+                + "\"Data\": {\"value\":20.0},\"MessageId\": \"123456\"}";
+        IgniteEvent event = transformer.fromBlob(speedEvent.getBytes(StandardCharsets.UTF_8), Optional.empty());
+        byte[] expected = transformer.toBlob(event);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Assert.assertEquals(expected.length, transformer.toBlob(event, out));
+        Assert.assertArrayEquals(expected, out.toByteArray());
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(expected.length + 2);
+        buffer.put((byte) 0);
+        Assert.assertEquals(expected.length, transformer.toBlob(event, buffer));
+        Assert.assertEquals(expected.length + 1, buffer.position());
+        byte[] written = new byte[expected.length];
+        buffer.flip().position(1);
+        buffer.get(written);
+        Assert.assertArrayEquals(expected, written);
+
+        ByteBuffer small = ByteBuffer.allocate(expected.length - 1);
+        Assert.assertThrows(BufferOverflowException.class, () -> transformer.toBlob(event, small));
+        Assert.assertEquals(0, small.position());
+    }
+
+    /**
+     * Test that a composite event streamed from its nested events has the bytes returned by toBlob for a
+     * composite event holding the same nested events.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testToCompositeBlob() throws IOException {
+        String compositeEvent = "[{\"EventID\": \"Speed\",\"Version\": \"1.0\",\"Data\": {\"value\":20.0}},"
+                + "{\"EventID\": \"Speed\",\"Version\": \"1.0\",\"Data\": {\"value\":30.0}}]";
+        IgniteEvent event = transformer.fromBlob(compositeEvent.getBytes(StandardCharsets.UTF_8), Optional.empty());
+        byte[] expected = transformer.toBlob(event);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Assert.assertEquals(2, transformer.toCompositeBlob(event.getNestedEvents().iterator(), out));
+        Assert.assertArrayEquals(expected, out.toByteArray());
+
+        Iterator<IgniteEvent> nestedEvents = event.getNestedEvents().iterator();
+        out.reset();
+        Assert.assertEquals(2, transformer.toCompositeBlob(() -> nestedEvents.hasNext() ? nestedEvents.next() : null,
+                out));
+        Assert.assertArrayEquals(expected, out.toByteArray());
+
+        out.reset();
+        try (CompositeIgniteEventWriter.Sink sink = transformer.openCompositeBlob(out)) {
+            for (IgniteEvent nestedEvent : event.getNestedEvents()) {
+                sink.write(nestedEvent);
+            }
+        }
+        Assert.assertArrayEquals(expected, out.toByteArray());
+    }
+
+    /**
+     * Test that with parallel decoding of composite events enabled the nested events keep their order.
+     *
+     * @throws NoSuchFieldException the no such field exception
+     * @throws IllegalAccessException the illegal access exception
+     */
+    @Test
+    public void testWithParallelCompositeEnabled() throws NoSuchFieldException, IllegalAccessException {
+        StringBuilder compositeEvent = new StringBuilder("[");
+        for (int i = 0; i < NESTED_EVENTS; i++) {
+            compositeEvent.append(i > 0 ? "," : "").append("{\"EventID\": \"Speed\",\"Version\": \"1.0\","
+                    + "\"Data\": {\"value\":").append(i).append("}}");
+        }
+        compositeEvent.append(']');
+        setField("isParallelCompositeEnabled", true);
+        setField("parallelCompositeMinElements", 2);
+        setField("parallelCompositeMinBytes", 0);
+        try {
+            List<IgniteEvent> nestedEvents = transformer.fromBlob(
+                    compositeEvent.toString().getBytes(StandardCharsets.UTF_8), Optional.empty()).getNestedEvents();
+            Assert.assertEquals(NESTED_EVENTS, nestedEvents.size());
+            for (int i = 0; i < nestedEvents.size(); i++) {
+                Assert.assertEquals(i, ((SpeedV1_0) nestedEvents.get(i).getEventData()).getValue(), 0.0d);
+            }
+        } finally {
+            setField("isParallelCompositeEnabled", false);
+        }
+    }
+
+    /**
+     * Test that the events of a stream of newline-delimited and concatenated JSON are read one by one, a record
+     * which fails being reported with its position without ending the iteration.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testOpenEventStream() throws IOException {
+        String events = "{\"EventID\": \"Speed\",\"Version\": \"1.0\",\"Data\": {\"value\":1.0}}\n"
+                + "{\"Version\": \"1.0\",\"Data\": {\"value\":2.0}}\n"
+                + "[{\"EventID\": \"Speed\",\"Version\": \"1.0\",\"Data\": {\"value\":3.0}}]"
+                + "{\"EventID\": \"Speed\",\"Version\": \"1.0\",\"Data\": {\"value\":4.0}}\n";
+        Path file = Files.createTempFile("events", ".ndjson");
+        Files.write(file, events.getBytes(StandardCharsets.UTF_8));
+        try (IgniteEventStreamReader reader = transformer.openEventStream(file)) {
+            Assert.assertEquals(1.0d, ((SpeedV1_0) reader.next().getEventData()).getValue(), 0.0d);
+            Assert.assertEquals(0, reader.getPosition().index());
+
+            IgniteEventStreamException failure = Assert.assertThrows(IgniteEventStreamException.class,
+                    reader::next);
+            Assert.assertEquals(1, failure.getPosition().index());
+            Assert.assertEquals(2, failure.getPosition().line());
+
+            List<IgniteEvent> nestedEvents = reader.next().getNestedEvents();
+            Assert.assertEquals(3.0d, ((SpeedV1_0) nestedEvents.get(0).getEventData()).getValue(), 0.0d);
+            Assert.assertEquals(3, reader.getPosition().line());
+
+            Assert.assertEquals(4.0d, ((SpeedV1_0) reader.next().getEventData()).getValue(), 0.0d);
+            Assert.assertEquals(3, reader.getPosition().index());
+            Assert.assertFalse(reader.hasNext());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Sets a private field of the transformer.
+     *
+     * @param name the name of the field
+     * @param value the value
+     * @throws NoSuchFieldException the no such field exception
+     * @throws IllegalAccessException the illegal access exception
+     */
+    private void setField(String name, Object value) throws NoSuchFieldException, IllegalAccessException {
+        Field field = GenericIgniteEventTransformer.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(transformer, value);
+    }
+
     /**
      * Test with propert event with input validation enabled.
      *
@@ -655,6 +887,214 @@ public class GenericEventTransformerTest {
 
     }
 
+    /**
+     * Test that with input validation enabled an event whose header attributes fail their rules is
+     * rejected while it is parsed, the same way as when the bound event fails validation.
+     *
+     * @throws NoSuchFieldException the no such field exception
+     * @throws IllegalAccessException the illegal access exception
+     */
+    @Test
+    public void testInvalidEventWithisInputValidationEnabledTrue()
+            throws NoSuchFieldException, IllegalAccessException {
+        String speedEvent = "{\"EventID\": \"Speed1\",\"Version\": \"1.0\","
+                + "\"Data\": {\"value\":20.0,\"customExtension\":{\"oemKey\":\"oemValue\"}},"
+                + "\"MessageId\": \"123456\"}";
+        Field isInputValidationEnabled = transformer.getClass().getDeclaredField("isInputValidationEnabled");
+        isInputValidationEnabled.setAccessible(true);
+        isInputValidationEnabled.setBoolean(transformer, true);
+        IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class,
+                () -> transformer.fromBlob(speedEvent.getBytes(), Optional.empty()));
+        Assert.assertEquals("Validation Failed.", e.getMessage());
+    }
+
+    /**
+     * Test that with lazy event data enabled the Data section is bound on first access and the
+     * event serializes back to the same JSON.
+     *
+     * @throws JSONException the JSON exception
+     * @throws NoSuchFieldException the no such field exception
+     * @throws IllegalAccessException the illegal access exception
+     */
+    @Test
+    public void testWithLazyEventDataEnabled()
+            throws JSONException, NoSuchFieldException, IllegalAccessException {
+        String speedEvent = "{\"EventID\": \"Speed\",\"Version\": \"1.0\","
+                + "\"Data\": {\"value\":20.0,\"customExtension\":{\"oemKey\":\"oemValue\"}},"
+                + "\"RequestId\":\"d575f05c-23db-4b4e-81d6-b69102bec61b\",\"MessageId\": \"123456\"}";
+        Field isLazyEventDataEnabled = transformer.getClass().getDeclaredField("isLazyEventDataEnabled");
+        isLazyEventDataEnabled.setAccessible(true);
+        isLazyEventDataEnabled.setBoolean(transformer, true);
+        try {
+            IgniteEvent event = transformer.fromBlob(speedEvent.getBytes(), Optional.empty());
+            Assert.assertTrue(event instanceof LazyIgniteEventImpl);
+            Assert.assertFalse(((LazyIgniteEventImpl) event).isEventDataResolved());
+            Assert.assertEquals("123456", event.getMessageId());
+
+            Assert.assertTrue(event.getEventData() instanceof SpeedV1_0);
+            Assert.assertTrue(((LazyIgniteEventImpl) event).isEventDataResolved());
+            Assert.assertEquals(DOUBLE_20, ((SpeedV1_0) event.getEventData()).getValue(), 0.0d);
+            JSONAssert.assertEquals(speedEvent, new String(transformer.toBlob(event)), false);
+        } finally {
+            isLazyEventDataEnabled.setBoolean(transformer, false);
+        }
+    }
+
+    /**
+     * Test a region out of the bounds of the byte[] is rejected before it is read.
+     */
+    @Test
+    public void testFromBlobRegionOutOfBounds() {
+        byte[] buf = "{\"EventID\": \"Speed\"}".getBytes(StandardCharsets.UTF_8);
+        Assert.assertThrows(IndexOutOfBoundsException.class,
+                () -> transformer.fromBlob(buf, 2, buf.length, Optional.empty()));
+        Assert.assertThrows(IndexOutOfBoundsException.class,
+                () -> transformer.fromBlob(buf, -1, 2, Optional.empty()));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> transformer.peekHeader(buf, 0, buf.length + 1));
+    }
+
+    /**
+     * Test peek header reads the envelope attributes of the event.
+     */
+    @Test
+    public void testPeekHeader() {
+        String speedEvent = "{\"EventID\": \"Speed\",\"Version\": \"1.0\","
+                + "\"Data\": {\"value\":20.0},\"VehicleId\":\"vehicle1\"}";
+        IgniteEventHeader header = transformer.peekHeader(speedEvent.getBytes());
+        Assert.assertEquals("Speed", header.getEventId());
+        Assert.assertEquals("1.0", header.getVersion());
+        Assert.assertEquals("vehicle1", header.getVehicleId());
+        Assert.assertFalse(header.isComposite());
+    }
+
+    /**
+     * Test peek header with a malformed event. Should throw TransformerSerDeException.
+     */
+    @Test(expected = TransformerSerDeException.class)
+    public void testPeekHeaderWithMalformedEvent() {
+        transformer.peekHeader("{\"EventID\": ".getBytes());
+    }
+
+    /**
+     * Test that with pass-through enabled an unmodified event is serialized to its source bytes and a modified
+     * event is serialized again.
+     *
+     * @throws JSONException the JSON exception
+     * @throws NoSuchFieldException the no such field exception
+     * @throws IllegalAccessException the illegal access exception
+     */
+    @Test
+    public void testWithPassThroughEnabled() throws JSONException, NoSuchFieldException, IllegalAccessException {
+        byte[] speedEvent = ("{\"EventID\": \"Speed\",\"Version\": \"1.0\","
+                + "\"Data\": {\"value\":20.0},\"RequestId\":\"request1\"}").getBytes(StandardCharsets.UTF_8);
+        Field isPassThroughEnabled = transformer.getClass().getDeclaredField("isPassThroughEnabled");
+        isPassThroughEnabled.setAccessible(true);
+        isPassThroughEnabled.setBoolean(transformer, true);
+        try {
+            IgniteEvent event = transformer.fromBlob(speedEvent, Optional.empty());
+            Assert.assertTrue(event instanceof PassThroughIgniteEventImpl);
+            Assert.assertFalse(((PassThroughIgniteEventImpl) event).isModified());
+            Assert.assertSame(speedEvent, transformer.toBlob(event));
+
+            ((PassThroughIgniteEventImpl) event).setRequestId("request2");
+            Assert.assertTrue(((PassThroughIgniteEventImpl) event).isModified());
+            byte[] reEncoded = transformer.toBlob(event);
+            Assert.assertNotSame(speedEvent, reEncoded);
+            JSONAssert.assertEquals("{\"EventID\":\"Speed\",\"RequestId\":\"request2\"}",
+                    new String(reEncoded, StandardCharsets.UTF_8), false);
+        } finally {
+            isPassThroughEnabled.setBoolean(transformer, false);
+        }
+    }
+
+    /**
+     * Test that pass-through retains only the region of the byte[] an event was decoded from, and that an
+     * event whose header is overridden is serialized again.
+     *
+     * @throws NoSuchFieldException the no such field exception
+     * @throws IllegalAccessException the illegal access exception
+     */
+    @Test
+    public void testWithPassThroughEnabledRegionAndHeader() throws NoSuchFieldException, IllegalAccessException {
+        String speedEvent = "{\"EventID\": \"Speed\",\"Version\": \"1.0\",\"Data\": {\"value\":20.0}}";
+        byte[] buf = ("xx" + speedEvent + "yy").getBytes(StandardCharsets.UTF_8);
+        Field isPassThroughEnabled = transformer.getClass().getDeclaredField("isPassThroughEnabled");
+        isPassThroughEnabled.setAccessible(true);
+        isPassThroughEnabled.setBoolean(transformer, true);
+        try {
+            IgniteEvent event = transformer.fromBlob(buf, 2, speedEvent.length(), Optional.empty());
+            Assert.assertEquals(speedEvent, new String(transformer.toBlob(event), StandardCharsets.UTF_8));
+
+            TestEvent header = new TestEvent("vehicle1", null, null);
+            event = transformer.fromBlob(buf, 2, speedEvent.length(), Optional.of(header));
+            Assert.assertTrue(((PassThroughIgniteEventImpl) event).isModified());
+            Assert.assertTrue(new String(transformer.toBlob(event), StandardCharsets.UTF_8).contains("vehicle1"));
+        } finally {
+            isPassThroughEnabled.setBoolean(transformer, false);
+        }
+    }
+
+    /**
+     * Test that every public setter of the event, including the ones added to IgniteEventImpl later on, marks a
+     * pass-through event modified.
+     *
+     * @throws IllegalAccessException the illegal access exception
+     * @throws InvocationTargetException the invocation target exception
+     */
+    @Test
+    public void testPassThroughSettersMarkModified() throws IllegalAccessException, InvocationTargetException {
+        int checked = 0;
+        for (Method method : PassThroughIgniteEventImpl.class.getMethods()) {
+            if (!method.getName().startsWith("set") || method.getParameterCount() != 1
+                    || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            Assert.assertEquals(method.getName() + " is not overridden to mark the event modified",
+                    PassThroughIgniteEventImpl.class, method.getDeclaringClass());
+            PassThroughIgniteEventImpl event = new PassThroughIgniteEventImpl();
+            event.retainSource(new byte[0]);
+            method.invoke(event, defaultValue(method.getParameterTypes()[0]));
+            Assert.assertTrue(method.getName() + " does not mark the event modified", event.isModified());
+            Assert.assertNull(event.unmodifiedSource());
+            checked++;
+        }
+        Assert.assertTrue(checked > 0);
+    }
+
+    /**
+     * Gets a value of the given setter parameter type.
+     *
+     * @param type the parameter type
+     * @return the value, the default value of primitive types and null for reference types other than String
+     */
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0d;
+        }
+        if (type == float.class) {
+            return 0.0f;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == char.class) {
+            return 'a';
+        }
+        return type == String.class ? "value" : null;
+    }
+
     /**
      * The Class TestEvent.
      */
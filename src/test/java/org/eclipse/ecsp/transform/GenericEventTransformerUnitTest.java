@@ -39,13 +39,14 @@
 
 package org.eclipse.ecsp.transform;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.JsonNodeFactory;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.eclipse.ecsp.entities.IgniteEvent;
 import org.eclipse.ecsp.entities.IgniteEventImpl;
 import org.junit.Assert;
@@ -102,7 +103,9 @@ public class GenericEventTransformerUnitTest {
     
     @Test(expected = TransformerSerDeException.class)
     public void testJsonException() throws JsonProcessingException {
-        Mockito.when(jsonMapper.writeValueAsBytes(Mockito.isA(IgniteEvent.class)))
+        ObjectWriter writer = Mockito.mock(ObjectWriter.class);
+        Mockito.when(jsonMapper.writer()).thenReturn(writer);
+        Mockito.when(writer.writeValueAsBytes(Mockito.isA(IgniteEvent.class)))
                 .thenThrow(JsonProcessingException.class);
         transformer.toBlob(event);
     }
@@ -133,11 +136,9 @@ public class GenericEventTransformerUnitTest {
     public void testHeaderSettingsWithNullHeaders() throws JsonParseException, JsonMappingException, IOException {
 
         IgniteEventImpl actualEvent = new IgniteEventImpl();
-        JsonNode node = new ObjectNode(JsonNodeFactory.instance);
 
-        Mockito.when(jsonMapper.readTree("test")).thenReturn(node);
-        Mockito.when(jsonMapper.readValue("test", IgniteEventImpl.class)).thenReturn(actualEvent);
-        transformer.fromBlob("test".getBytes(), Optional.empty());
+        mockDecodedEvent(actualEvent);
+        transformer.fromBlob("{}".getBytes(), Optional.empty());
 
         assertNull(actualEvent.getSourceDeviceId());
         assertNull(actualEvent.getVehicleId());
@@ -157,12 +158,10 @@ public class GenericEventTransformerUnitTest {
     public void testHeaderSettingsWithEmptyHeaders() throws JsonParseException, JsonMappingException, IOException {
 
         IgniteEventImpl actualEvent = new IgniteEventImpl();
-        JsonNode node = new ObjectNode(JsonNodeFactory.instance);
 
         IgniteEvent headerEvent = null;
-        Mockito.when(jsonMapper.readTree("test")).thenReturn(node);
-        Mockito.when(jsonMapper.readValue("test", IgniteEventImpl.class)).thenReturn(actualEvent);
-        transformer.fromBlob("test".getBytes(), Optional.ofNullable(headerEvent));
+        mockDecodedEvent(actualEvent);
+        transformer.fromBlob("{}".getBytes(), Optional.ofNullable(headerEvent));
 
         assertNull(actualEvent.getSourceDeviceId());
         assertNull(actualEvent.getVehicleId());
@@ -182,16 +181,14 @@ public class GenericEventTransformerUnitTest {
     public void testHeaderSettingsWithValidHeaders() throws JsonParseException, JsonMappingException, IOException {
 
         IgniteEventImpl actualEvent = new IgniteEventImpl();
-        JsonNode node = new ObjectNode(JsonNodeFactory.instance);
 
         IgniteEvent headerEvent = new IgniteEventImpl();
         ((IgniteEventImpl) headerEvent).setSourceDeviceId("testSource");
         ((IgniteEventImpl) headerEvent).setVehicleId("testVehicle");
         ((IgniteEventImpl) headerEvent).setRequestId("testRequest");
 
-        Mockito.when(jsonMapper.readTree("test")).thenReturn(node);
-        Mockito.when(jsonMapper.readValue("test", IgniteEventImpl.class)).thenReturn(actualEvent);
-        transformer.fromBlob("test".getBytes(), Optional.ofNullable(headerEvent));
+        mockDecodedEvent(actualEvent);
+        transformer.fromBlob("{}".getBytes(), Optional.ofNullable(headerEvent));
 
         Assert.assertEquals(actualEvent.getSourceDeviceId(), headerEvent.getSourceDeviceId());
         Assert.assertEquals(actualEvent.getVehicleId(), headerEvent.getVehicleId());
@@ -212,19 +209,31 @@ public class GenericEventTransformerUnitTest {
             throws JsonParseException, JsonMappingException, IOException {
    
         IgniteEventImpl actualEvent = new IgniteEventImpl();
-        JsonNode node = new ObjectNode(JsonNodeFactory.instance);
 
         IgniteEvent headerEvent = new IgniteEventImpl();
         ((IgniteEventImpl) headerEvent).setSourceDeviceId("testSource");
         ((IgniteEventImpl) headerEvent).setVehicleId(null);
         ((IgniteEventImpl) headerEvent).setRequestId("testRequest");
 
-        Mockito.when(jsonMapper.readTree("test")).thenReturn(node);
-        Mockito.when(jsonMapper.readValue("test", IgniteEventImpl.class)).thenReturn(actualEvent);
-        transformer.fromBlob("test".getBytes(), Optional.ofNullable(headerEvent));
+        mockDecodedEvent(actualEvent);
+        transformer.fromBlob("{}".getBytes(), Optional.ofNullable(headerEvent));
 
         Assert.assertEquals(actualEvent.getSourceDeviceId(), headerEvent.getSourceDeviceId());
         assertNull(actualEvent.getVehicleId());
         Assert.assertEquals(actualEvent.getRequestId(), headerEvent.getRequestId());
     }
+
+    /**
+     * Stubs the mocked ObjectMapper so that any decoded payload binds to the given event.
+     *
+     * @param actualEvent the event to be returned by the mapper
+     * @throws IOException I/O exception
+     */
+    private void mockDecodedEvent(IgniteEventImpl actualEvent) throws IOException {
+        Mockito.when(jsonMapper.createParser(Mockito.any(byte[].class), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(new JsonFactory().createParser("{}"));
+        ObjectReader reader = Mockito.mock(ObjectReader.class);
+        Mockito.when(jsonMapper.readerFor(IgniteEventImpl.class)).thenReturn(reader);
+        Mockito.when(reader.readValue(Mockito.any(JsonParser.class))).thenReturn(actualEvent);
+    }
 }
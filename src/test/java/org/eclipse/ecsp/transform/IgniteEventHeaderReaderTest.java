@@ -0,0 +1,159 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.eclipse.ecsp.domain.EventID;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test class for {@link IgniteEventHeaderReader}.
+ */
+public class IgniteEventHeaderReaderTest {
+
+    /** The Constant TIMESTAMP. */
+    private static final long TIMESTAMP = 1700000000000L;
+
+    /** The IgniteEventHeaderReader instance. */
+    private IgniteEventHeaderReader reader;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        reader = new IgniteEventHeaderReader(new JsonFactory());
+    }
+
+    /**
+     * The envelope attributes are read and nested values are skipped, even if they hold attributes with the
+     * same names.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testReadEnvelopeAttributes() throws IOException {
+        byte[] value = ("{\"Data\":{\"EventID\":\"Nested\",\"list\":[1,2]},\"EventID\":\"Speed\","
+                + "\"Version\":\"1.0\",\"Timestamp\":" + TIMESTAMP + ",\"VehicleId\":\"vehicle1\","
+                + "\"SourceDeviceId\":\"device1\",\"RequestId\":\"request1\"}").getBytes(StandardCharsets.UTF_8);
+        IgniteEventHeader header = reader.read(value, 0, value.length);
+        Assert.assertFalse(header.isComposite());
+        Assert.assertEquals("Speed", header.getEventId());
+        Assert.assertEquals("1.0", header.getVersion());
+        Assert.assertEquals(TIMESTAMP, header.getTimestamp());
+        Assert.assertEquals("vehicle1", header.getVehicleId());
+        Assert.assertEquals("device1", header.getSourceDeviceId());
+        Assert.assertEquals("request1", header.getRequestId());
+    }
+
+    /**
+     * The scan stops once all the envelope attributes are found, so the rest of the payload is not read.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testScanStopsWhenAllAttributesFound() throws IOException {
+        byte[] value = ("{\"EventID\":\"Speed\",\"Version\":\"1.0\",\"Timestamp\":1,\"VehicleId\":\"v\","
+                + "\"SourceDeviceId\":\"d\",\"RequestId\":\"r\",\"Data\": not json").getBytes(StandardCharsets.UTF_8);
+        IgniteEventHeader header = reader.read(value, 0, value.length);
+        Assert.assertEquals("Speed", header.getEventId());
+        Assert.assertEquals("r", header.getRequestId());
+    }
+
+    /**
+     * Repeated attributes do not count as more attributes found, the scan goes on to the ones not found yet.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testRepeatedAttributes() throws IOException {
+        byte[] value = ("{\"RequestId\":\"r1\",\"RequestId\":\"r2\",\"VehicleId\":\"v\",\"VehicleId\":\"v\","
+                + "\"Timestamp\":1,\"Timestamp\":2,\"EventID\":\"Speed\",\"Version\":\"1.0\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        IgniteEventHeader header = reader.read(value, 0, value.length);
+        Assert.assertEquals("Speed", header.getEventId());
+        Assert.assertEquals("1.0", header.getVersion());
+        Assert.assertEquals("r2", header.getRequestId());
+        Assert.assertEquals(2L, header.getTimestamp());
+    }
+
+    /**
+     * Missing attributes are null and the region of the byte[] is honoured.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testMissingAttributesWithOffset() throws IOException {
+        byte[] value = "xx{\"EventID\":\"Speed\"}yy".getBytes(StandardCharsets.UTF_8);
+        IgniteEventHeader header = reader.read(value, 2, value.length - 4);
+        Assert.assertEquals("Speed", header.getEventId());
+        Assert.assertNull(header.getVersion());
+        Assert.assertNull(header.getVehicleId());
+        Assert.assertEquals(0L, header.getTimestamp());
+    }
+
+    /**
+     * A JSON array is reported as a composite event.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testCompositePayload() throws IOException {
+        byte[] value = "[{\"EventID\":\"Speed\"}]".getBytes(StandardCharsets.UTF_8);
+        IgniteEventHeader header = reader.read(value, 0, value.length);
+        Assert.assertTrue(header.isComposite());
+        Assert.assertEquals(EventID.COMPOSITE_EVENT, header.getEventId());
+    }
+
+    /**
+     * A payload which is not a JSON object or array is rejected.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test(expected = TransformerSerDeException.class)
+    public void testScalarPayload() throws IOException {
+        byte[] value = "\"Speed\"".getBytes(StandardCharsets.UTF_8);
+        reader.read(value, 0, value.length);
+    }
+}
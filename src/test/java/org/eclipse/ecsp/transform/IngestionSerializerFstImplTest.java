@@ -44,11 +44,15 @@ import org.eclipse.ecsp.domain.DeviceConnStatusV1_0;
 import org.eclipse.ecsp.entities.IgniteBlobEvent;
 import org.eclipse.ecsp.entities.IgniteDeviceAwareBlobEvent;
 import org.eclipse.ecsp.serializer.IngestionSerializerFstImpl;
+import org.eclipse.ecsp.transform.buffer.PooledBuffer;
+import org.eclipse.ecsp.transform.buffer.SerializationBufferPool;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Base64;
 
 /**
@@ -243,4 +247,51 @@ public class IngestionSerializerFstImplTest {
         String payloadStrReceived = Base64.getEncoder().encodeToString(payloadReceived);
         Assert.assertEquals("dummypayload", payloadStrReceived);
     }
+
+    /**
+     * Test that serializing into a pooled buffer gives the bytes returned by serialize.
+     */
+    @Test
+    public void testSerializeIntoPooledBuffer() {
+        IngestionSerializerFstImpl serializer = new IngestionSerializerFstImpl();
+        IgniteBlobEvent event = new IgniteBlobEvent();
+        event.setEventId("testEvent");
+        event.setRequestId("Req1234");
+        byte[] expected = serializer.serialize(event);
+
+        SerializationBufferPool pool = new SerializationBufferPool();
+        try (PooledBuffer buffer = serializer.serialize(event, pool)) {
+            Assert.assertArrayEquals(expected, Arrays.copyOf(buffer.array(), buffer.length()));
+            Assert.assertEquals("testEvent", serializer.deserialize(buffer.toByteArray()).getEventId());
+        }
+        Assert.assertEquals(0, pool.getOutstandingLeases());
+    }
+
+    /**
+     * Test de-serialization from a region of a heap buffer and from a direct buffer, which both leave the position
+     * of the buffer unchanged.
+     */
+    @Test
+    public void testByteBufferDeserialization() {
+        IngestionSerializerFstImpl serializer = new IngestionSerializerFstImpl();
+        System.setProperty(DEVICE_AWARE_ENABLED, "false");
+        byte[] serializedData = Base64.getDecoder().decode("rO0AASpjb20uaGFybWFuLmlnbml0ZS5lbnRpdGllcy5JZ25pdGVCbG9iRX"
+                + "ZlbnQAAAEtY29tLmhhcm1hbi5pZ25pdGUuZG9tYWluLkRldmljZUNvbm5TdGF0dXNWMV8w+gE+Y"
+                + "29tLmhhcm1hbi5pZ25pdGUuZG9tYWluLkRldmljZUNvbm5TdGF0dXNWMV8wJENvbm5lY3Rpb25T"
+                + "dGF0dXMA//wMVGVzdFNlcnZpY2UxAPwJdGVzdEV2ZW50/AdSZXExMjM0/////AtWZWhpY2xlMTI"
+                + "zNPoBH29yZy5lY2xpcHNlLmVjc3AuZG9tYWluLlZlcnNpb24AAA==");
+
+        byte[] framed = new byte[serializedData.length + 2];
+        System.arraycopy(serializedData, 0, framed, 1, serializedData.length);
+        ByteBuffer heap = ByteBuffer.wrap(framed, 1, serializedData.length).slice();
+        ByteBuffer direct = ByteBuffer.allocateDirect(serializedData.length);
+        direct.put(serializedData).flip();
+        for (ByteBuffer buffer : new ByteBuffer[] {heap, direct}) {
+            IgniteBlobEvent deserializedEvent = serializer.deserialize(buffer);
+            Assert.assertEquals("testEvent", deserializedEvent.getEventId());
+            Assert.assertEquals("TestService1",
+                    ((DeviceConnStatusV1_0) deserializedEvent.getEventData()).getServiceName());
+            Assert.assertEquals(0, buffer.position());
+        }
+    }
 }
@@ -0,0 +1,232 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.eclipse.ecsp.domain.EventID;
+import org.eclipse.ecsp.domain.SpeedV1_0;
+import org.eclipse.ecsp.entities.CompositeIgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.eclipse.ecsp.transform.config.JacksonMapperConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for {@link ParallelCompositeIgniteEventDecoder}.
+ */
+public class ParallelCompositeIgniteEventDecoderTest {
+
+    /** The Constant DELTA. */
+    private static final double DELTA = 0.0d;
+
+    /** The number of nested events of the composite event. */
+    private static final int NESTED_EVENTS = 200;
+
+    /** The number of threads of the executor. */
+    private static final int THREADS = 4;
+
+    /** The time given to abandoned chunks to bind further nested events, in milliseconds. */
+    private static final long SETTLE_MILLIS = 100L;
+
+    /** The leading bytes before the composite event in the byte[]. */
+    private static final String PREFIX = "xx";
+
+    /** The ObjectMapper instance. */
+    private ObjectMapper mapper;
+
+    /** The ObjectReader binding the nested events. */
+    private ObjectReader eventReader;
+
+    /** The ParallelCompositeIgniteEventDecoder instance. */
+    private ParallelCompositeIgniteEventDecoder decoder;
+
+    /** The executor the nested events are bound on. */
+    private ExecutorService executor;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        mapper = new JacksonMapperConfig().jsonObjectMapper();
+        eventReader = mapper.readerFor(IgniteEventImpl.class);
+        decoder = new ParallelCompositeIgniteEventDecoder(mapper.getFactory());
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    /**
+     * Shuts the executor down.
+     */
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Builds a composite event of speed events whose value is their index.
+     *
+     * @return the composite event, after PREFIX
+     */
+    private static byte[] compositeEvent() {
+        StringBuilder events = new StringBuilder(PREFIX).append('[');
+        for (int i = 0; i < NESTED_EVENTS; i++) {
+            if (i > 0) {
+                events.append(", ");
+            }
+            events.append("{\"EventID\":\"Speed\",\"Version\":\"1.0\",\"Data\":{\"value\":").append(i).append("}}");
+        }
+        return events.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the composite event with the given minimum number of elements.
+     *
+     * @param minElements the number of elements from which they are bound in parallel
+     * @return the CompositeIgniteEvent
+     * @throws IOException I/O exception
+     */
+    private CompositeIgniteEvent decode(int minElements) throws IOException {
+        byte[] buf = compositeEvent();
+        try (JsonParser parser = mapper.createParser(buf, PREFIX.length(), buf.length - PREFIX.length())) {
+            parser.nextToken();
+            CompositeIgniteEvent event = decoder.decode(parser, buf, PREFIX.length(),
+                    (p, offset) -> eventReader.readValue(p), executor, minElements);
+            Assert.assertEquals(JsonToken.END_ARRAY, parser.currentToken());
+            return event;
+        }
+    }
+
+    /**
+     * Nested events decoded in parallel keep the order of the array.
+     *
+     * @throws IOException I/O exception
+     */
+    @Test
+    public void testParallelDecodeKeepsOrder() throws IOException {
+        CompositeIgniteEvent event = decode(2);
+        Assert.assertEquals(EventID.COMPOSITE_EVENT, event.getEventId());
+        List<IgniteEvent> nestedEvents = event.getNestedEvents();
+        Assert.assertEquals(NESTED_EVENTS, nestedEvents.size());
+        for (int i = 0; i < NESTED_EVENTS; i++) {
+            Assert.assertEquals(i, ((SpeedV1_0) nestedEvents.get(i).getEventData()).getValue(), DELTA);
+        }
+    }
+
+    /**
+     * Composite events with fewer elements than the minimum are decoded on the calling thread.
+     *
+     * @throws IOException I/O exception
+     */
+    @Test
+    public void testSmallCompositeDecodedSequentially() throws IOException {
+        executor.shutdown();
+        List<IgniteEvent> nestedEvents = decode(NESTED_EVENTS + 1).getNestedEvents();
+        Assert.assertEquals(NESTED_EVENTS, nestedEvents.size());
+        Assert.assertEquals(NESTED_EVENTS - 1,
+                ((SpeedV1_0) nestedEvents.get(NESTED_EVENTS - 1).getEventData()).getValue(), DELTA);
+    }
+
+    /**
+     * A nested event which cannot be bound fails the composite event.
+     *
+     * @throws IOException I/O exception
+     */
+    @Test(expected = IOException.class)
+    public void testInvalidNestedEvent() throws IOException {
+        byte[] buf = "[{\"EventID\":\"Speed\"}, {\"Timestamp\":\"abc\"}, {\"EventID\":\"Speed\"}]"
+                .getBytes(StandardCharsets.UTF_8);
+        try (JsonParser parser = mapper.createParser(buf)) {
+            parser.nextToken();
+            decoder.decode(parser, buf, 0, (p, offset) -> eventReader.readValue(p), executor, 1);
+        }
+    }
+
+    /**
+     * A failure of the chunk bound on the calling thread is thrown only once no other chunk is running, so that
+     * none of them binds nested events afterwards.
+     *
+     * @throws IOException I/O exception
+     * @throws InterruptedException interrupted exception
+     */
+    @Test
+    public void testFirstChunkFailureAwaitsOtherChunks() throws IOException, InterruptedException {
+        byte[] buf = compositeEvent();
+        int firstElementOffset = PREFIX.length() + 1;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger bound = new AtomicInteger();
+        try (JsonParser parser = mapper.createParser(buf, PREFIX.length(), buf.length - PREFIX.length())) {
+            parser.nextToken();
+            Assert.assertThrows(IOException.class, () -> decoder.decode(parser, buf, PREFIX.length(),
+                    (p, offset) -> {
+                        running.incrementAndGet();
+                        try {
+                            Thread.sleep(1);
+                            if (offset == firstElementOffset) {
+                                throw new IOException("Failed");
+                            }
+                            bound.incrementAndGet();
+                            return eventReader.readValue(p);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IOException(e);
+                        } finally {
+                            running.decrementAndGet();
+                        }
+                    }, executor, 2));
+        }
+        Assert.assertEquals(0, running.get());
+        int boundOnFailure = bound.get();
+        Thread.sleep(SETTLE_MILLIS);
+        Assert.assertEquals(boundOnFailure, bound.get());
+        Assert.assertTrue(boundOnFailure < NESTED_EVENTS);
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform;
+
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test class for {@link TransformProcessor}.
+ */
+public class TransformProcessorTest {
+
+    /** The number of records published. */
+    private static final int RECORDS = 100;
+
+    /** The maximum number of records of a micro-batch. */
+    private static final int BATCH_SIZE = 8;
+
+    /** The number of records requested by the subscriber at a time. */
+    private static final int REQUEST = 3;
+
+    /** The timeout of the test waits, in seconds. */
+    private static final int TIMEOUT = 10;
+
+    /**
+     * Test the records are decoded in order and the failed ones are handed to the error channel without
+     * terminating the stream.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testDecoding() throws Exception {
+        Transformer transformer = Mockito.mock(Transformer.class);
+        Mockito.when(transformer.fromBlobs(Mockito.anyList())).thenAnswer(invocation -> {
+            List<byte[]> values = invocation.getArgument(0);
+            List<TransformResult<IgniteEvent>> results = new ArrayList<>();
+            for (byte[] value : values) {
+                if (value[0] % 2 == 0) {
+                    IgniteEventImpl event = new IgniteEventImpl();
+                    event.setRequestId(String.valueOf(value[0]));
+                    results.add(TransformResult.success(event));
+                } else {
+                    results.add(TransformResult.failure(new TransformerSerDeException("Failed " + value[0])));
+                }
+            }
+            return results;
+        });
+        List<byte[]> failed = new CopyOnWriteArrayList<>();
+        TransformProcessor<byte[], IgniteEvent> processor = TransformProcessor.decoding(transformer, BATCH_SIZE,
+                (value, e) -> failed.add(value));
+        CollectingSubscriber<IgniteEvent> subscriber = new CollectingSubscriber<>();
+        try (SubmissionPublisher<byte[]> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            processor.subscribe(subscriber);
+            for (int i = 0; i < RECORDS; i++) {
+                publisher.submit(new byte[] {(byte) i});
+            }
+        }
+        Assert.assertTrue(subscriber.done.await(TIMEOUT, TimeUnit.SECONDS));
+        Assert.assertNull(subscriber.error);
+        Assert.assertEquals(RECORDS / 2, subscriber.items.size());
+        Assert.assertEquals(RECORDS / 2, failed.size());
+        for (int i = 0; i < subscriber.items.size(); i++) {
+            Assert.assertEquals(String.valueOf(2 * i), subscriber.items.get(i).getRequestId());
+        }
+    }
+
+    /**
+     * Test no more than a micro-batch is requested from upstream while the subscriber has no demand.
+     */
+    @Test
+    public void testBackpressure() {
+        AtomicLong requested = new AtomicLong();
+        List<Flow.Subscriber<? super Integer>> upstreamSubscribers = new ArrayList<>();
+        TransformProcessor<Integer, Integer> processor = new TransformProcessor<>(values -> {
+            List<TransformResult<Integer>> results = new ArrayList<>();
+            values.forEach(value -> results.add(TransformResult.success(value)));
+            return results;
+        }, BATCH_SIZE, (value, e) -> Assert.fail());
+        Flow.Publisher<Integer> publisher = subscriber -> {
+            upstreamSubscribers.add(subscriber);
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    long from = requested.getAndAdd(n);
+                    for (long i = from; i < from + n; i++) {
+                        subscriber.onNext((int) i);
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    // nothing to release
+                }
+            });
+        };
+        publisher.subscribe(processor);
+        List<Integer> items = new ArrayList<>();
+        processor.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                Assert.fail();
+            }
+
+            @Override
+            public void onComplete() {
+                Assert.fail();
+            }
+        });
+        Assert.assertEquals(1, upstreamSubscribers.size());
+        Assert.assertEquals(BATCH_SIZE, requested.get());
+        Assert.assertEquals(List.of(0), items);
+    }
+
+    /**
+     * Test a second subscriber is rejected.
+     */
+    @Test
+    public void testSingleSubscriber() {
+        TransformProcessor<byte[], IgniteEvent> processor = TransformProcessor.decoding(
+                Mockito.mock(Transformer.class), BATCH_SIZE, (value, e) -> { });
+        processor.subscribe(new CollectingSubscriber<>());
+        CollectingSubscriber<IgniteEvent> rejected = new CollectingSubscriber<>();
+        processor.subscribe(rejected);
+        Assert.assertTrue(rejected.error instanceof IllegalStateException);
+    }
+
+    /**
+     * Subscriber collecting the items, requesting a few of them at a time.
+     *
+     * @param <T> the type of the items
+     */
+    private static final class CollectingSubscriber<T> implements Flow.Subscriber<T> {
+
+        /** The items received. */
+        private final List<T> items = new CopyOnWriteArrayList<>();
+
+        /** Counted down once the stream terminates. */
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        /** The subscription. */
+        private Flow.Subscription subscription;
+
+        /** The error the stream terminated with. */
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(REQUEST);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+            if (items.size() % REQUEST == 0) {
+                subscription.request(REQUEST);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+}
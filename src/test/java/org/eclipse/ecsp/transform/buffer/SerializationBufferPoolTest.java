@@ -0,0 +1,142 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.buffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Test class for {@link SerializationBufferPool} and {@link PooledBuffer}.
+ */
+public class SerializationBufferPoolTest {
+
+    /** The number of bytes written by the tests growing a buffer. */
+    private static final int GROWN_LENGTH = 3000;
+
+    /** The size of the largest pooled arrays of the tests. */
+    private static final int MAX_POOLED_SIZE = 4096;
+
+    /**
+     * A released array is handed out again to the next lease of its size class.
+     */
+    @Test
+    public void testReleasedBufferIsReused() {
+        SerializationBufferPool pool = new SerializationBufferPool(2, MAX_POOLED_SIZE, false);
+        PooledBuffer first = pool.acquire(100);
+        byte[] array = first.array();
+        first.release();
+        PooledBuffer second = pool.acquire(200);
+        Assert.assertSame(array, second.array());
+        Assert.assertEquals(1, pool.getHits());
+        Assert.assertEquals(1, pool.getMisses());
+        Assert.assertEquals(1, pool.getOutstandingLeases());
+        second.close();
+        Assert.assertEquals(0, pool.getOutstandingLeases());
+    }
+
+    /**
+     * A buffer grows into larger arrays and keeps the bytes written.
+     */
+    @Test
+    public void testBufferGrows() {
+        SerializationBufferPool pool = new SerializationBufferPool();
+        try (PooledBuffer buffer = pool.acquire(1)) {
+            for (int i = 0; i < GROWN_LENGTH; i++) {
+                buffer.write(i);
+            }
+            Assert.assertEquals(GROWN_LENGTH, buffer.length());
+            ByteBuffer bytes = buffer.asByteBuffer();
+            Assert.assertEquals(GROWN_LENGTH, bytes.remaining());
+            for (int i = 0; i < GROWN_LENGTH; i++) {
+                Assert.assertEquals((byte) i, bytes.get(i));
+            }
+            Assert.assertArrayEquals(buffer.toByteArray(), Arrays.copyOf(buffer.array(), GROWN_LENGTH));
+        }
+    }
+
+    /**
+     * Arrays larger than the maximum pooled size are not pooled, and a lease can be released only once.
+     */
+    @Test
+    public void testOversizedBufferAndDoubleRelease() {
+        SerializationBufferPool pool = new SerializationBufferPool(2, MAX_POOLED_SIZE, false);
+        PooledBuffer buffer = pool.acquire(MAX_POOLED_SIZE + 1);
+        buffer.release();
+        buffer.release();
+        Assert.assertTrue(buffer.isReleased());
+        Assert.assertEquals(1, pool.getDiscards());
+        Assert.assertEquals(0, pool.getOutstandingLeases());
+        Assert.assertThrows(IllegalStateException.class, buffer::array);
+    }
+
+    /**
+     * Bytes produced straight into the leased array are counted as written once advanced over.
+     */
+    @Test
+    public void testWritableArray() {
+        SerializationBufferPool pool = new SerializationBufferPool(2, MAX_POOLED_SIZE, false);
+        try (PooledBuffer buffer = pool.acquire(10)) {
+            buffer.write(1);
+            byte[] array = buffer.writableArray(GROWN_LENGTH);
+            Assert.assertTrue(array.length >= GROWN_LENGTH + 1);
+            Assert.assertEquals(1, array[0]);
+            array[1] = 2;
+            buffer.advance(1);
+            Assert.assertArrayEquals(new byte[] { 1, 2 }, buffer.toByteArray());
+            Assert.assertThrows(IndexOutOfBoundsException.class, () -> buffer.advance(array.length));
+        }
+    }
+
+    /**
+     * The settings are read from the properties.
+     */
+    @Test
+    public void testProperties() {
+        Properties props = new Properties();
+        props.setProperty(SerializationBufferPool.LEAK_DETECTION_ENABLED, "true");
+        SerializationBufferPool pool = new SerializationBufferPool(props);
+        Assert.assertTrue(pool.isLeakDetectionEnabled());
+        pool.acquire().release();
+        Assert.assertEquals(0, pool.getLeaks());
+    }
+}
@@ -45,6 +45,7 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -129,6 +130,83 @@ public class JacksonMapperConfigTest {
         config.jsonObjectMapper();
     }
     
+    /**
+     * Test that the mapper built with the blackbird module enabled binds and writes the same values.
+     *
+     * @throws IOException I/O Exception
+     */
+    @Test
+    public void testBlackbirdModule() throws IOException {
+        Properties p = new Properties();
+        p.setProperty(JacksonMapperConfig.BLACKBIRD_ENABLED, "true");
+        JacksonMapperConfig config = new JacksonMapperConfig(p);
+        Assert.assertTrue(config.isBlackbirdEnabled());
+
+        ObjectMapper mapper = config.jsonObjectMapper();
+        Assert.assertTrue(mapper.getRegisteredModuleIds().stream()
+                .anyMatch(id -> String.valueOf(id).contains("Blackbird")));
+
+        String userString = "{\"name\":\"user2\"}";
+        User user = mapper.readValue(userString, User.class);
+        Assert.assertEquals("user2", user.getName());
+        Assert.assertEquals(userString, mapper.writeValueAsString(user));
+    }
+
+    /**
+     * Test that registering the blackbird module does not fail the mapper when it cannot be registered.
+     */
+    @Test
+    public void testBlackbirdModuleFallback() {
+        ObjectMapper mapper = Mockito.mock(ObjectMapper.class);
+        Mockito.when(mapper.registerModule(Mockito.any())).thenThrow(new IllegalStateException("unsupported"));
+        Assert.assertFalse(JacksonMapperConfig.registerBlackbirdModule(mapper));
+    }
+
+    /**
+     * Test that the stack traces of exceptions are capped and deduplicated when enabled, and read back by a
+     * mapper built with the default configuration.
+     *
+     * @throws IOException I/O Exception
+     */
+    @Test
+    public void testCompactStackTraces() throws IOException {
+        Properties p = new Properties();
+        p.setProperty(JacksonMapperConfig.EXCEPTION_STACK_MAX_DEPTH, "5");
+        p.setProperty(JacksonMapperConfig.EXCEPTION_STACK_DEDUP_ENABLED, "true");
+        ObjectMapper compactMapper = new JacksonMapperConfig(p).jsonObjectMapper();
+        ObjectMapper defaultMapper = new JacksonMapperConfig().jsonObjectMapper();
+        Properties readProps = new Properties();
+        readProps.setProperty(JacksonMapperConfig.EXCEPTION_STACK_DEDUP_READ_ENABLED, "true");
+        ObjectMapper readerMapper = new JacksonMapperConfig(readProps).jsonObjectMapper();
+        Assert.assertFalse(defaultMapper.getRegisteredModuleIds().contains(
+                CompactStackTraceModule.class.getSimpleName()));
+
+        IllegalStateException cause = new IllegalStateException("cause");
+        RuntimeException exception = new RuntimeException("failure", cause);
+        exception.setStackTrace(cause.getStackTrace());
+        String compact = compactMapper.writeValueAsString(exception);
+        String plain = defaultMapper.writeValueAsString(exception);
+        LOGGER.info("Compact exception:{}", compact);
+        Assert.assertTrue(compact.length() < plain.length());
+
+        RuntimeException read = readerMapper.readValue(compact, RuntimeException.class);
+        Assert.assertEquals("failure", read.getMessage());
+        Assert.assertEquals("cause", read.getCause().getMessage());
+        for (Throwable t : new Throwable[] { read, read.getCause() }) {
+            StackTraceElement[] frames = t.getStackTrace();
+            Assert.assertEquals(6, frames.length);
+            for (int i = 0; i < 5; i++) {
+                Assert.assertEquals(cause.getStackTrace()[i].getClassName(), frames[i].getClassName());
+                Assert.assertEquals(cause.getStackTrace()[i].getMethodName(), frames[i].getMethodName());
+                Assert.assertEquals(cause.getStackTrace()[i].getLineNumber(), frames[i].getLineNumber());
+            }
+            Assert.assertEquals(CompactStackTraceModule.TRIMMED_CLASS_NAME, frames[5].getClassName());
+        }
+
+        RuntimeException readPlain = readerMapper.readValue(plain, RuntimeException.class);
+        Assert.assertEquals(cause.getStackTrace().length, readPlain.getCause().getStackTrace().length);
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testInsufficientParamsSubtype() {
         Properties p = new Properties();
@@ -0,0 +1,190 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.replay;
+
+import org.eclipse.ecsp.entities.IgniteBlobEvent;
+import org.eclipse.ecsp.entities.IgniteEvent;
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.eclipse.ecsp.serializer.IngestionSerializerFstImpl;
+import org.eclipse.ecsp.transform.Transformer;
+import org.eclipse.ecsp.transform.TransformerSerDeException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Test class for {@link EventDumpReplayer}.
+ */
+public class EventDumpReplayerTest {
+
+    /** The number of records of the dump files. */
+    private static final int RECORDS = 1000;
+
+    /** The number of threads of the executor. */
+    private static final int THREADS = 4;
+
+    /** The index of every record which fails to decode. */
+    private static final int FAILING_EVERY = 100;
+
+    /** The executor the ranges are replayed on. */
+    private ExecutorService executor;
+
+    /** The dump file. */
+    private Path file;
+
+    /**
+     * Setup.
+     *
+     * @throws IOException the IO exception
+     */
+    @Before
+    public void setup() throws IOException {
+        executor = Executors.newFixedThreadPool(THREADS);
+        file = Files.createTempFile("events", ".dump");
+    }
+
+    /**
+     * Deletes the dump file and shuts the executor down.
+     *
+     * @throws IOException the IO exception
+     */
+    @After
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Test every line of a JSON lines file is decoded once, the lines which fail to decode being reported with
+     * their offset.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testReplayJsonLines() throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < RECORDS; i++) {
+            lines.append(i % FAILING_EVERY == 0 ? "bad" : String.valueOf(i)).append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        Files.write(file, lines.toString().getBytes(StandardCharsets.UTF_8));
+        Transformer transformer = Mockito.mock(Transformer.class);
+        Mockito.when(transformer.fromBlob(Mockito.any(ByteBuffer.class), Mockito.eq(Optional.empty())))
+                .thenAnswer(invocation -> {
+                    String line = StandardCharsets.UTF_8.decode(invocation.<ByteBuffer>getArgument(0)).toString();
+                    if ("bad".equals(line)) {
+                        throw new TransformerSerDeException("Unable to deserialize the ignite event:" + line);
+                    }
+                    IgniteEventImpl event = new IgniteEventImpl();
+                    event.setRequestId(line);
+                    return event;
+                });
+
+        Set<String> requestIds = ConcurrentHashMap.newKeySet();
+        List<Long> failedOffsets = new CopyOnWriteArrayList<>();
+        long decoded = new EventDumpReplayer(executor, THREADS).replayJsonLines(file, transformer,
+                (IgniteEvent event) -> requestIds.add(event.getRequestId()),
+                (offset, failure) -> failedOffsets.add(offset));
+
+        Assert.assertEquals(RECORDS - RECORDS / FAILING_EVERY, decoded);
+        Assert.assertEquals(decoded, requestIds.size());
+        Assert.assertTrue(requestIds.contains(String.valueOf(RECORDS - 1)));
+        Assert.assertEquals(RECORDS / FAILING_EVERY, failedOffsets.size());
+        Assert.assertTrue(failedOffsets.contains(0L));
+    }
+
+    /**
+     * Test every blob of a length-prefixed file serialized with FST is decoded once.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testReplayBlobs() throws IOException {
+        IngestionSerializerFstImpl serializer = new IngestionSerializerFstImpl();
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            for (int i = 0; i < RECORDS; i++) {
+                IgniteBlobEvent event = new IgniteBlobEvent();
+                event.setEventId("testEvent");
+                event.setRequestId(String.valueOf(i));
+                byte[] blob = serializer.serialize(event);
+                out.writeInt(blob.length);
+                out.write(blob);
+            }
+        }
+
+        Set<String> requestIds = ConcurrentHashMap.newKeySet();
+        long decoded = new EventDumpReplayer(executor, THREADS).replayBlobs(file, serializer,
+                event -> requestIds.add(event.getRequestId()), (offset, failure) -> Assert.fail());
+
+        Assert.assertEquals(RECORDS, decoded);
+        Assert.assertEquals(RECORDS, requestIds.size());
+    }
+
+    /**
+     * Test a length-prefixed file whose lengths do not add up to its size is rejected.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testReplayWithInvalidLength() throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(new byte[] {0, 0, 1, 0, 'x'});
+        }
+        EventDumpReplayer replayer = new EventDumpReplayer(executor, THREADS);
+        Assert.assertThrows(TransformerSerDeException.class, () -> replayer.replay(file,
+                EventDumpReplayer.RecordLayout.LENGTH_PREFIXED, ByteBuffer::remaining, length -> Assert.fail(),
+                (offset, failure) -> Assert.fail()));
+    }
+}
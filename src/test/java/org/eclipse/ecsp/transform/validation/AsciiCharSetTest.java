@@ -0,0 +1,106 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.validation;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test class for {@link AsciiCharSet}.
+ */
+public class AsciiCharSetTest {
+
+    /** Values covering ASCII, non ASCII letters and digits, whitespace and special characters. */
+    private static final String[] VALUES = {"", " ", "Speed", "Speed1", "123456", "12 34", "-1", "d575f05c-23db",
+        "\u00e9t\u00e9", "\u0663\u0664", "\u00b2", "a\tb", "#-#", "\ud835\udc00"};
+
+    /**
+     * The lookup tables hold exactly the ASCII letters and digits.
+     */
+    @Test
+    public void testTables() {
+        for (char c = 0; c < '\u0100'; c++) {
+            boolean asciiLetter = c < '\u0080' && Character.isLetter(c);
+            boolean asciiDigit = c < '\u0080' && Character.isDigit(c);
+            Assert.assertEquals(asciiLetter, AsciiCharSet.LETTERS.contains(c));
+            Assert.assertEquals(asciiDigit, AsciiCharSet.DIGITS.contains(c));
+            Assert.assertEquals(asciiLetter || asciiDigit, AsciiCharSet.ALPHANUMERIC.contains(c));
+        }
+    }
+
+    /**
+     * The value type checks give the same results as the StringUtils helpers and regex they replace.
+     */
+    @Test
+    public void testSameResultsAsStringUtils() {
+        for (String value : VALUES) {
+            Assert.assertEquals(value, StringUtils.isAlpha(value), AsciiCharSet.isAlpha(value));
+            Assert.assertEquals(value, StringUtils.isNumeric(value), AsciiCharSet.isNumeric(value));
+            Assert.assertEquals(value, StringUtils.isAlphanumeric(value.replaceAll("[^a-zA-Z0-9]", "")),
+                    AsciiCharSet.hasAlphanumeric(value));
+        }
+    }
+
+    /**
+     * All the characters of a set must be found in the value.
+     */
+    @Test
+    public void testAllFoundIn() {
+        AsciiCharSet set = AsciiCharSet.of("-_");
+        Assert.assertTrue(set.allFoundIn("a-b_c"));
+        Assert.assertFalse(set.allFoundIn("a-b"));
+        Assert.assertTrue(AsciiCharSet.of("").allFoundIn(""));
+        Assert.assertTrue(AsciiCharSet.of("-\u00e9").allFoundIn("-"));
+        Assert.assertTrue(AsciiCharSet.LETTERS.containsAll(AsciiCharSet.of("aZ")));
+        Assert.assertFalse(AsciiCharSet.LETTERS.containsAll(AsciiCharSet.of("a1")));
+        Assert.assertTrue(AsciiCharSet.of("").isEmpty());
+    }
+
+    /**
+     * Required characters which are not ASCII are looked up as well.
+     */
+    @Test
+    public void testRequiredCharacters() {
+        RequiredCharacters required = new RequiredCharacters("-\u00e9");
+        Assert.assertTrue(required.allFoundIn("\u00e9t\u00e9-1"));
+        Assert.assertFalse(required.allFoundIn("ete-1"));
+        Assert.assertFalse(required.allFoundIn("\u00e9t\u00e9"));
+    }
+}
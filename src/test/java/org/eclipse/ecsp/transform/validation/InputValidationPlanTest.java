@@ -0,0 +1,144 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.validation;
+
+import org.eclipse.ecsp.entities.IgniteEventImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Test class for {@link InputValidationPlan}.
+ */
+public class InputValidationPlanTest {
+
+    /** The Constant TIMESTAMP. */
+    private static final long TIMESTAMP = 1700000000000L;
+
+    /** The number of rules in inputvalidation-base.properties. */
+    private static final int BASE_RULES = 9;
+
+    /**
+     * Loads the base input validation rules shipped with the transformers.
+     *
+     * @return the properties
+     * @throws IOException the IO exception
+     */
+    private static Properties baseRules() throws IOException {
+        Properties props = new Properties();
+        try (InputStream in = InputValidationPlanTest.class.getClassLoader()
+                .getResourceAsStream("inputvalidation-base.properties")) {
+            props.load(in);
+        }
+        return props;
+    }
+
+    /**
+     * Creates a valid event.
+     *
+     * @return the event
+     */
+    private static IgniteEventImpl validEvent() {
+        IgniteEventImpl event = new IgniteEventImpl();
+        event.setEventId("Speed");
+        event.setTimestamp(TIMESTAMP);
+        event.setMessageId("123456");
+        event.setRequestId("d575f05c-23db-4b4e-81d6-b69102bec61b");
+        event.setBizTransactionId("Biz1234");
+        return event;
+    }
+
+    /**
+     * The base rules are compiled for all the header attributes.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testCompileBaseRules() throws IOException {
+        InputValidationPlan plan = InputValidationPlan.compile(baseRules());
+        Assert.assertEquals(BASE_RULES, plan.getRules().size());
+        Assert.assertTrue(InputValidationPlan.empty().getRules().isEmpty());
+    }
+
+    /**
+     * A valid event has no violations, attributes which are not set are not validated.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testValidEvent() throws IOException {
+        InputValidationPlan plan = InputValidationPlan.compile(baseRules());
+        Assert.assertTrue(plan.validate(validEvent()).isEmpty());
+    }
+
+    /**
+     * Each failed check of an invalid event is reported.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testInvalidEvent() throws IOException {
+        InputValidationPlan plan = InputValidationPlan.compile(baseRules());
+        IgniteEventImpl event = validEvent();
+        event.setEventId("Speed1");
+        event.setMessageId("1234");
+        List<String> violations = plan.validate(event);
+        Assert.assertEquals(2, violations.size());
+        Assert.assertTrue(violations.contains("Alpha Validation failed for Property:EventID"));
+        Assert.assertTrue(violations.contains("Input Validation Length Mismatch for Property:MessageId"));
+    }
+
+    /**
+     * Only the attributes with a rule are validated.
+     */
+    @Test
+    public void testAttributeWithoutRule() {
+        Properties props = new Properties();
+        props.setProperty("EventID.inputvalidation", "ALPHA");
+        InputValidationPlan plan = InputValidationPlan.compile(props);
+        IgniteEventImpl event = validEvent();
+        event.setMessageId("not numeric");
+        Assert.assertEquals(1, plan.getRules().size());
+        Assert.assertTrue(plan.validate(event).isEmpty());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.validation;
+
+import org.eclipse.ecsp.transform.TransformerSerDeException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Test class for {@link InputValidationRule}.
+ */
+public class InputValidationRuleTest {
+
+    /** The Constant MAX_LENGTH. */
+    private static final int MAX_LENGTH = 50;
+
+    /**
+     * Validates the value with the given rule.
+     *
+     * @param rule the rule
+     * @param value the value
+     * @return the violations, null if there are none
+     */
+    private static List<String> validate(String rule, String value) {
+        return new InputValidationRule("Attribute", rule).validate(value, null);
+    }
+
+    /**
+     * Test the ALPHA rule.
+     */
+    @Test
+    public void testAlpha() {
+        Assert.assertNull(validate("ALPHA", "DongleStatus"));
+        Assert.assertEquals(List.of("Alpha Validation failed for Property:Attribute"), validate("ALPHA", "Speed1"));
+        Assert.assertEquals(List.of("Alpha Validation failed for Property:Attribute"), validate("ALPHA", " "));
+    }
+
+    /**
+     * Test the ALPHA_NUMERIC rule, which only fails when the value has no ASCII letter or digit at all.
+     */
+    @Test
+    public void testAlphaNumeric() {
+        Assert.assertNull(validate("ALPHA_NUMERIC", "Biz1234"));
+        Assert.assertNull(validate("ALPHA_NUMERIC", "a b#c"));
+        Assert.assertEquals(List.of("Alphanumeric Validation failed for Property:Attribute"),
+                validate("ALPHA_NUMERIC", "#-#"));
+    }
+
+    /**
+     * Test the NUMERIC rule with a length.
+     */
+    @Test
+    public void testNumericWithLength() {
+        Assert.assertNull(validate("NUMERIC|6", " 123456 "));
+        Assert.assertNull(validate("NUMERIC|6", "0"));
+        Assert.assertEquals(List.of("Input Validation Length Mismatch for Property:Attribute"),
+                validate("NUMERIC|6", "1234"));
+    }
+
+    /**
+     * Test that a non numeric value fails a rule with a length with a NumberFormatException.
+     */
+    @Test(expected = NumberFormatException.class)
+    public void testNumericWithLengthAndInvalidValue() {
+        validate("NUMERIC|13", "abc");
+    }
+
+    /**
+     * Test the special characters of the second and third arguments.
+     */
+    @Test
+    public void testSpecialCharacters() {
+        Assert.assertNull(validate("ALPHA_NUMERIC|-", "d575f05c-23db"));
+        Assert.assertEquals(List.of("Input Validation Special Characters Mismatch for Property:Attribute"),
+                validate("ALPHA_NUMERIC|-", "d575f05c"));
+        Assert.assertNull(validate("ALPHA_NUMERIC|x|-", "ab-c"));
+        Assert.assertEquals(List.of("Input Validation Special Characters Mismatch for Property:Attribute"),
+                validate("NUMERIC|2|-", "12"));
+    }
+
+    /**
+     * Test that a value longer than the maximum length fails.
+     */
+    @Test
+    public void testMaxLength() {
+        Assert.assertEquals(List.of("Max Length exceeded for Property:Attribute"),
+                validate("ALPHA", "a".repeat(MAX_LENGTH + 1)));
+        Assert.assertNull(validate("ALPHA", "a".repeat(MAX_LENGTH)));
+    }
+
+    /**
+     * Test that an unknown value type fails with a TransformerSerDeException.
+     */
+    @Test(expected = TransformerSerDeException.class)
+    public void testUnknownType() {
+        validate("PROTOCOL", "http");
+    }
+
+    /**
+     * Test that a rule without arguments only checks the length.
+     */
+    @Test
+    public void testRuleWithoutArguments() {
+        Assert.assertNull(validate("|", "any value"));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ *
+ *
+ *   ******************************************************************************
+ *
+ *    Copyright (c) 2023-24 Harman International
+ *
+ *
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *
+ *    you may not use this file except in compliance with the License.
+ *
+ *    You may obtain a copy of the License at
+ *
+ *
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *
+ *    See the License for the specific language governing permissions and
+ *
+ *    limitations under the License.
+ *
+ *
+ *
+ *    SPDX-License-Identifier: Apache-2.0
+ *
+ *    *******************************************************************************
+ *
+ *
+ */
+package org.eclipse.ecsp.transform.validation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Test class for {@link ValidatingJsonParser}.
+ */
+public class ValidatingJsonParserTest {
+
+    /** The JsonFactory instance. */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Compiles the rules used by the tests.
+     *
+     * @return the InputValidationPlan
+     */
+    private static InputValidationPlan plan() {
+        Properties props = new Properties();
+        props.setProperty("EventID.inputvalidation", "ALPHA");
+        props.setProperty("Timestamp.inputvalidation", "NUMERIC|13");
+        props.setProperty("VehicleId.inputvalidation", "ALPHA_NUMERIC");
+        return InputValidationPlan.compile(props);
+    }
+
+    /**
+     * Reads all the tokens of the given JSON through a ValidatingJsonParser.
+     *
+     * @param json : the JSON
+     * @param skippedAttributes : the attributes which are not checked
+     * @return the number of tokens read
+     * @throws IOException the IO exception
+     */
+    private static int readAll(String json, Set<String> skippedAttributes) throws IOException {
+        int tokens = 0;
+        try (JsonParser parser = new ValidatingJsonParser(
+                JSON_FACTORY.createParser(json.getBytes(StandardCharsets.UTF_8)), plan(), skippedAttributes)) {
+            while (parser.nextToken() != null) {
+                tokens++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * A valid event is read through, nested values named like an attribute are not checked.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testValidEvent() throws IOException {
+        String json = "{\"EventID\":\"Speed\",\"Timestamp\":1700000000000,"
+                + "\"Data\":{\"EventID\":\"Speed1\",\"Timestamp\":1}}";
+        Assert.assertTrue(readAll(json, Set.of()) > 0);
+    }
+
+    /**
+     * The parse is aborted at the first attribute failing its rule, before the Data is read.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testInvalidEventAbortsParse() throws IOException {
+        String json = "{\"EventID\":\"Speed1\",\"Data\":{\"value\":20.0}}";
+        try (JsonParser parser = new ValidatingJsonParser(
+                JSON_FACTORY.createParser(json.getBytes(StandardCharsets.UTF_8)), plan(), Set.of())) {
+            Assert.assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            Assert.assertEquals("EventID", parser.nextFieldName());
+            InputValidationException e = Assert.assertThrows(InputValidationException.class, parser::nextToken);
+            Assert.assertEquals("Alpha Validation failed for Property:EventID", e.getViolations().get(0));
+        }
+    }
+
+    /**
+     * Integer values are checked as well.
+     */
+    @Test
+    public void testInvalidTimestamp() {
+        String json = "{\"EventID\":\"Speed\",\"Timestamp\":17000}";
+        Assert.assertThrows(InputValidationException.class, () -> readAll(json, Set.of()));
+    }
+
+    /**
+     * Skipped attributes and attributes of nested events of a composite event are not checked.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testSkippedAttributes() throws IOException {
+        Assert.assertTrue(readAll("{\"VehicleId\":\"--\"}", Set.of("VehicleId")) > 0);
+        Assert.assertTrue(readAll("[{\"EventID\":\"Speed1\"}]", Set.of()) > 0);
+    }
+
+    /**
+     * Rules failing with an exception are left to the validation of the bound event.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testRuleExceptionIsDeferred() throws IOException {
+        Properties props = new Properties();
+        props.setProperty("EventID.inputvalidation", "UNKNOWN");
+        String json = "{\"EventID\":\"Speed\"}";
+        try (JsonParser parser = new ValidatingJsonParser(
+                JSON_FACTORY.createParser(json.getBytes(StandardCharsets.UTF_8)),
+                InputValidationPlan.compile(props), Set.of())) {
+            while (parser.nextToken() != null) {
+                Assert.assertNotNull(parser.currentToken());
+            }
+        }
+    }
+}